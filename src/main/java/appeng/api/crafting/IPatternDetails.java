@@ -39,6 +39,9 @@
  * <p/>
  * <strong>Implementing classes need to properly implement equals/hashCode for crafting jobs to resume properly after
  * world or chunk reloads.</strong>
+ * <p/>
+ * <strong>Crafting calculations run in their own threads. The inputs, outputs and {@link IInput} methods of a pattern
+ * may be called by several threads at once, and outside of the server thread.</strong>
  */
 public interface IPatternDetails {
     /**
@@ -98,12 +101,17 @@ interface IInput {
 
         /**
          * Check if the passed stack is a valid input.
+         * <p/>
+         * May be called by several crafting calculations at once. Implementations must not modify shared state, such
+         * as a crafting grid used to test the recipe, without synchronization.
          */
         boolean isValid(AEKey input, Level level);
 
         /**
          * Optionally return a remaining key. This will generally be null for processing patterns, and return the
          * corresponding slot of {@link Recipe#getRemainingItems} for crafting patterns.
+         * <p/>
+         * May be called by several crafting calculations at once, like {@link #isValid}.
          */
         @Nullable
         AEKey getRemainingKey(AEKey template);
@@ -42,6 +42,7 @@
 import appeng.api.stacks.GenericStack;
 import appeng.core.definitions.AEItems;
 import appeng.crafting.pattern.AEPatternDecoder;
+import appeng.crafting.pattern.DecodedPatternCache;
 
 public final class PatternDetailsHelper {
     private static final List<IPatternDetailsDecoder> DECODERS = new CopyOnWriteArrayList<>();
@@ -70,8 +71,19 @@ public static IPatternDetails decodePattern(ItemStack stack, Level level) {
         return decodePattern(stack, level, false);
     }
 
+    /**
+     * Decodes the given pattern. Decoded patterns are cached until recipes are reloaded.
+     */
     @Nullable
     public static IPatternDetails decodePattern(AEItemKey what, Level level) {
+        if (level == null) {
+            return decodeUncached(what, level);
+        }
+        return DecodedPatternCache.get(level).getOrDecode(what, key -> decodeUncached(key, level));
+    }
+
+    @Nullable
+    private static IPatternDetails decodeUncached(AEItemKey what, Level level) {
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(what, level);
             if (decoded != null) {
@@ -83,6 +95,14 @@ public static IPatternDetails decodePattern(AEItemKey what, Level level) {
 
     @Nullable
     public static IPatternDetails decodePattern(ItemStack stack, Level level, boolean autoRecovery) {
+        if (level != null && !stack.isEmpty()) {
+            var decoded = decodePattern(AEItemKey.of(stack), level);
+            if (decoded != null || !autoRecovery) {
+                return decoded;
+            }
+        }
+
+        // Recovery may modify the stack, so it isn't cached
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(stack, level, autoRecovery);
             if (decoded != null) {
@@ -70,6 +70,20 @@ static ICraftingMachine of(Level level, BlockPos pos, Direction side) {
      */
     boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputs, Direction ejectionDirection);
 
+    /**
+     * inserts several copies of a crafting plan at once, together with the ingredients for all of them. Machines that
+     * can only work on one plan at a time should keep the default implementation, which only accepts a single copy.
+     *
+     * @param inputs The crafting ingredients for all copies. The array layout corresponds to
+     *               {@link IPatternDetails#getInputs()} of <code>patternDetails</code>.
+     * @param copies How many copies of the plan the ingredients are for.
+     * @return if all copies were accepted, all or nothing.
+     */
+    default boolean pushPatterns(IPatternDetails patternDetails, KeyCounter[] inputs, int copies,
+            Direction ejectionDirection) {
+        return copies == 1 && pushPattern(patternDetails, inputs, ejectionDirection);
+    }
+
     /**
      * check if the crafting machine is accepting pushes via pushPattern, if this is false, all calls to push will fail,
      * you can try inserting into the inventory instead.
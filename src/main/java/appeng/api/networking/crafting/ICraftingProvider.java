@@ -59,8 +59,27 @@ default int getPatternPriority() {
      */
     boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder);
 
+    /**
+     * Instruct a provider to craft several copies of one of the patterns at once. This lets the crafting engine hand
+     * over a whole batch with a single extraction of the inputs and a single call, instead of one call per copy.
+     * <p/>
+     * The push is all or nothing: if the provider can't accept all copies, it must return false without having
+     * consumed any of the inputs. The crafting engine will then fall back to pushing single copies via
+     * {@link #pushPattern}. The default implementation only accepts a single copy.
+     *
+     * @param patternDetails details
+     * @param inputHolder    the requested stacks for all copies, for each input slot of the pattern
+     * @param copies         how many copies of the pattern the inputs are for
+     *
+     * @return if all copies of the pattern were successfully pushed.
+     */
+    default boolean pushPatterns(IPatternDetails patternDetails, KeyCounter[] inputHolder, int copies) {
+        return copies == 1 && pushPattern(patternDetails, inputHolder);
+    }
+
     /**
      * @return if this is true, the crafting engine will refuse to send patterns to this provider.
+     * @see #requestBusyUpdate
      */
     boolean isBusy();
 
@@ -82,4 +101,16 @@ static void requestUpdate(IManagedGridNode managedNode) {
             node.getGrid().getCraftingService().refreshNodeCraftingProvider(node);
         }
     }
+
+    /**
+     * Providers can call this convenience method whenever {@link #isBusy()} changes, so that crafting CPUs skip them
+     * while they are busy instead of checking them every tick. Providers that call this when they become busy must
+     * also call it when they become free again. This only works if the given managed grid node provides this service.
+     */
+    static void requestBusyUpdate(IManagedGridNode managedNode) {
+        var node = managedNode.getNode();
+        if (node != null) {
+            node.getGrid().getCraftingService().refreshNodeBusyState(node);
+        }
+    }
 }
@@ -64,6 +64,13 @@ default boolean isCraftable(AEKey whatToCraft) {
      */
     void refreshNodeCraftingProvider(IGridNode node);
 
+    /**
+     * Refreshes whether the {@link ICraftingProvider} of a {@link IGridNode node} is {@link ICraftingProvider#isBusy()
+     * busy}. Busy providers are skipped by crafting CPUs until they are refreshed again.
+     */
+    default void refreshNodeBusyState(IGridNode node) {
+    }
+
     /**
      * Important: Never mutate the passed or returned stacks.
      *
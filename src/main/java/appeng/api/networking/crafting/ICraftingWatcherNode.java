@@ -23,6 +23,8 @@
 
 package appeng.api.networking.crafting;
 
+import java.util.Set;
+
 import appeng.api.networking.IGridNodeService;
 import appeng.api.networking.IStackWatcher;
 import appeng.api.stacks.AEKey;
@@ -54,4 +56,28 @@ public interface ICraftingWatcherNode extends IGridNodeService {
      * @param what changed key
      */
     void onCraftableChange(AEKey what);
+
+    /**
+     * Called once per update with all watched keys whose crafting status changed. The default implementation calls
+     * {@link #onRequestChange} for each of them.
+     *
+     * @param what changed keys, must not be modified or retained after the call
+     */
+    default void onRequestChanges(Set<AEKey> what) {
+        for (var key : what) {
+            onRequestChange(key);
+        }
+    }
+
+    /**
+     * Called once per update with all watched keys whose craftable status changed. The default implementation calls
+     * {@link #onCraftableChange} for each of them.
+     *
+     * @param what changed keys, must not be modified or retained after the call
+     */
+    default void onCraftableChanges(Set<AEKey> what) {
+        for (var key : what) {
+            onCraftableChange(key);
+        }
+    }
 }
@@ -26,6 +26,7 @@
 import appeng.api.networking.IGridNodeService;
 import appeng.api.networking.IStackWatcher;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
 
 /**
  * A node that is notified of changes to the currently stored items in the network. Implementors should store the
@@ -48,4 +49,17 @@ public interface IStorageWatcherNode extends IGridNodeService {
      * @param amount New amount in the network
      */
     void onStackChange(AEKey what, long amount);
+
+    /**
+     * Called once per update with all watched items that changed amounts. The default implementation calls
+     * {@link #onStackChange} for each of them.
+     *
+     * @param changes The changed keys and their new amount in the network, which is 0 for keys that are no longer
+     *                stored. Must not be modified or retained after the call.
+     */
+    default void onStackChanges(KeyCounter changes) {
+        for (var entry : changes) {
+            onStackChange(entry.getKey(), entry.getLongValue());
+        }
+    }
 }
@@ -102,6 +102,18 @@ public void set(AEKey key, long amount) {
         getSubIndex(key).set(key, amount);
     }
 
+    /**
+     * Removes the entry for the given key entirely. In contrast to {@link #remove(AEKey, long)}, this does not leave an
+     * entry with an amount of zero behind.
+     */
+    public void removeKey(AEKey key) {
+        Objects.requireNonNull(key);
+        var subIndex = lists.get(key.getPrimaryKey());
+        if (subIndex != null) {
+            subIndex.removeKey(key);
+        }
+    }
+
     public long get(AEKey key) {
         Objects.requireNonNull(key);
         var subIndex = lists.get(key.getPrimaryKey());
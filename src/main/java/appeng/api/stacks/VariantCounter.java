@@ -42,6 +42,10 @@ public void set(AEKey key, long amount) {
         }
     }
 
+    public void removeKey(AEKey key) {
+        getRecords().removeLong(key);
+    }
+
     public void addAll(VariantCounter other) {
         for (var entry : other.getRecords().object2LongEntrySet()) {
             add(entry.getKey(), entry.getLongValue());
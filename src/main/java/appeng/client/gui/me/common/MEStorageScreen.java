@@ -39,6 +39,8 @@
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 import appeng.api.behaviors.ContainerItemStrategies;
 import appeng.api.client.AEKeyRendering;
 import appeng.api.config.ActionItems;
@@ -78,6 +80,7 @@
 import appeng.core.network.NetworkHandler;
 import appeng.core.network.bidirectional.ConfigValuePacket;
 import appeng.core.network.serverbound.MEInteractionPacket;
+import appeng.core.network.serverbound.MEViewportPacket;
 import appeng.core.network.serverbound.SwitchGuisPacket;
 import appeng.helpers.InventoryAction;
 import appeng.integration.abstraction.ItemListMod;
@@ -108,6 +111,8 @@
     private TabButton craftingStatusBtn;
     private final AETextField searchField;
     private int rows = 0;
+    @Nullable
+    private LongSet lastViewport;
     private SettingToggleButton<ViewItems> viewModeToggle;
     private SettingToggleButton<TypeFilter> filterTypesToggle;
     private SettingToggleButton<SortOrder> sortByToggle;
@@ -346,6 +351,7 @@ protected void updateBeforeRender() {
 
         repo.setPaused(hasShiftDown());
         updateSearch();
+        updateViewport();
 
         // Override the dialog title found in the screen JSON with the user-supplied name
         if (!this.title.getString().isEmpty()) {
@@ -356,6 +362,17 @@ protected void updateBeforeRender() {
         }
     }
 
+    /**
+     * Tells the server which entries are shown, so it can hold back changes to the others.
+     */
+    private void updateViewport() {
+        var serials = repo.getVisibleSerials(this.rows, 1);
+        if (!serials.equals(lastViewport)) {
+            lastViewport = serials;
+            NetworkHandler.instance().sendToServer(new MEViewportPacket(menu.containerId, serials.toLongArray()));
+        }
+    }
+
     private void updateSearch() {
         if (config.isUseExternalSearch()) {
             this.searchField.setVisible(false);
@@ -35,13 +35,17 @@
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 
 import appeng.api.config.SortDir;
 import appeng.api.config.SortOrder;
+import appeng.api.config.TypeFilter;
 import appeng.api.config.ViewItems;
 import appeng.api.stacks.AEKey;
+import appeng.api.storage.AEKeyFilter;
 import appeng.client.gui.me.search.RepoSearch;
 import appeng.client.gui.widgets.IScrollSource;
 import appeng.client.gui.widgets.ISortSource;
@@ -62,6 +66,11 @@ public class Repo implements IClientRepo {
 
     public static final Comparator<GridInventoryEntry> AMOUNT_DESC = AMOUNT_ASC.reversed();
 
+    /**
+     * Minimum number of changed entries from which the view is rebuilt instead of updated.
+     */
+    private static final int MIN_INCREMENTAL_CHANGES = 64;
+
     private static final Comparator<GridInventoryEntry> PINNED_ROW_COMPARATOR = Comparator.comparing(entry -> {
         var pinInfo = PinnedKeys.getPinInfo(entry.getWhat());
         return pinInfo != null ? pinInfo.since : Instant.MAX;
@@ -72,6 +81,11 @@ public class Repo implements IClientRepo {
     private boolean hasPower;
 
     private final BiMap<Long, GridInventoryEntry> entries = HashBiMap.create();
+    /**
+     * The entries changed since the view was last updated, by serial, mapped to the entry as it was before the change.
+     * Entries that didn't exist before are mapped to null.
+     */
+    private final Long2ObjectMap<GridInventoryEntry> changedEntries = new Long2ObjectOpenHashMap<>();
     private final ArrayList<GridInventoryEntry> view = new ArrayList<>();
     private final ArrayList<GridInventoryEntry> pinnedRow = new ArrayList<>();
     private final RepoSearch search = new RepoSearch();
@@ -82,6 +96,19 @@ public class Repo implements IClientRepo {
     private final ISortSource sortSrc;
     private boolean paused;
 
+    /**
+     * The settings the view was last built with, or null if it has to be rebuilt. As long as they don't change, the
+     * view is updated incrementally.
+     */
+    @Nullable
+    private ViewSettings viewSettings;
+    private Comparator<GridInventoryEntry> viewComparator = AMOUNT_ASC;
+    /**
+     * True if the search string was extended since the view was last updated, so the shown entries can just be
+     * narrowed down.
+     */
+    private boolean searchRefined;
+
     public Repo(IScrollSource src, ISortSource sortSrc) {
         this.src = src;
         this.sortSrc = sortSrc;
@@ -90,6 +117,7 @@ public Repo(IScrollSource src, ISortSource sortSrc) {
     public void setPartitionList(IPartitionList partitionList) {
         if (partitionList != this.partitionList) {
             this.partitionList = partitionList;
+            this.viewSettings = null;
             this.updateView();
         }
     }
@@ -116,12 +144,19 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
                 AELog.warn("First time seeing serial %s, but incomplete info received", serverEntry.getSerial());
                 return;
             }
+            if (!changedEntries.containsKey(serverEntry.getSerial())) {
+                changedEntries.put(serverEntry.getSerial(), null);
+            }
             if (serverEntry.isMeaningful()) {
                 entries.put(serverEntry.getSerial(), serverEntry);
             }
             return;
         }
 
+        if (!changedEntries.containsKey(serverEntry.getSerial())) {
+            changedEntries.put(serverEntry.getSerial(), localEntry);
+        }
+
         // Update the local entry
         if (!serverEntry.isMeaningful()) {
             entries.remove(serverEntry.getSerial());
@@ -169,62 +204,104 @@ public final void updateView() {
             }
 
             addEntriesToView(entriesToAdd);
+
+            // The view is no longer sorted, and is rebuilt once unpaused
+            this.viewSettings = null;
         } else {
-            this.view.clear();
-            this.pinnedRow.clear();
+            var settings = new ViewSettings(this.sortSrc.getSortBy(), this.sortSrc.getSortDir(),
+                    this.sortSrc.getSortDisplay(), this.sortSrc.getTypeFilter(), Set.copyOf(PinnedKeys.getPinnedKeys()));
+            if (!settings.equals(this.viewSettings) || !updateViewIncrementally()) {
+                rebuildView(settings);
+            }
+        }
 
-            this.view.ensureCapacity(this.entries.size());
-            this.pinnedRow.ensureCapacity(rowSize);
+        this.changedEntries.clear();
+        this.searchRefined = false;
 
-            addEntriesToView(this.entries.values());
+        if (this.updateViewListener != null) {
+            this.updateViewListener.run();
         }
+    }
 
-        // Don't re-sort while being paused
-        if (!isPaused()) {
-            // Sort older entries first in the pinned row
-            pinnedRow.sort(PINNED_ROW_COMPARATOR);
+    private void rebuildView(ViewSettings settings) {
+        this.view.clear();
+        this.pinnedRow.clear();
 
-            var sortOrder = this.sortSrc.getSortBy();
-            var sortDir = this.sortSrc.getSortDir();
+        this.view.ensureCapacity(this.entries.size());
+        this.pinnedRow.ensureCapacity(rowSize);
 
-            this.view.sort(getComparator(sortOrder, sortDir));
+        addEntriesToView(this.entries.values());
+
+        // Sort older entries first in the pinned row
+        pinnedRow.sort(PINNED_ROW_COMPARATOR);
+
+        // Entries that are otherwise equal are ordered by serial, so every entry has a unique position in the view
+        this.viewComparator = getComparator(settings.sortOrder(), settings.sortDir())
+                .thenComparingLong(GridInventoryEntry::getSerial);
+        this.view.sort(this.viewComparator);
+        this.viewSettings = settings;
+    }
+
+    /**
+     * Moves the changed entries to their new position in the sorted view, instead of rebuilding it.
+     *
+     * @return False if the view has to be rebuilt instead.
+     */
+    private boolean updateViewIncrementally() {
+        if (this.searchRefined) {
+            this.view.removeIf(entry -> !this.search.matches(entry));
         }
 
-        if (this.updateViewListener != null) {
-            this.updateViewListener.run();
+        // Each change moves part of the view, so many changes are faster to apply by sorting everything again
+        if (changedEntries.size() > Math.max(MIN_INCREMENTAL_CHANGES, this.view.size() / 8)) {
+            return false;
         }
-    }
 
-    private void addEntriesToView(Collection<GridInventoryEntry> entries) {
         var viewMode = this.sortSrc.getSortDisplay();
         var typeFilter = this.sortSrc.getTypeFilter().getFilter();
 
-        var hasPinnedRow = !PinnedKeys.isEmpty();
+        for (var change : changedEntries.long2ObjectEntrySet()) {
+            var previousEntry = change.getValue();
+            var entry = this.entries.get(change.getLongKey());
 
-        for (var entry : entries) {
-            // Pinned keys ignore all filters & search
-            if (hasPinnedRow && pinnedRow.size() < rowSize && PinnedKeys.isPinned(entry.getWhat())) {
-                pinnedRow.add(entry);
-                continue;
+            // The pinned row doesn't follow the sort order
+            if ((previousEntry != null && PinnedKeys.isPinned(previousEntry.getWhat()))
+                    || (entry != null && PinnedKeys.isPinned(entry.getWhat()))) {
+                return false;
             }
 
-            if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
-                continue;
+            if (previousEntry != null) {
+                var index = Collections.binarySearch(this.view, previousEntry, this.viewComparator);
+                if (index >= 0) {
+                    this.view.remove(index);
+                }
             }
 
-            if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
-                continue;
+            if (entry != null && isShown(entry, viewMode, typeFilter)) {
+                var index = Collections.binarySearch(this.view, entry, this.viewComparator);
+                if (index < 0) {
+                    this.view.add(-index - 1, entry);
+                }
             }
+        }
 
-            if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
-                continue;
-            }
+        return true;
+    }
+
+    private void addEntriesToView(Collection<GridInventoryEntry> entries) {
+        var viewMode = this.sortSrc.getSortDisplay();
+        var typeFilter = this.sortSrc.getTypeFilter().getFilter();
+
+        var hasPinnedRow = !PinnedKeys.isEmpty();
 
-            if (!typeFilter.matches(entry.getWhat())) {
+        for (var entry : entries) {
+            // Pinned keys ignore all filters & search
+            if (hasPinnedRow && pinnedRow.size() < rowSize && PinnedKeys.isPinned(entry.getWhat())) {
+                pinnedRow.add(entry);
                 continue;
             }
 
-            if (search.matches(entry)) {
+            if (isShown(entry, viewMode, typeFilter)) {
                 this.view.add(entry);
             }
         }
@@ -244,6 +321,26 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
         }
     }
 
+    private boolean isShown(GridInventoryEntry entry, ViewItems viewMode, AEKeyFilter typeFilter) {
+        if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
+            return false;
+        }
+
+        if (!typeFilter.matches(entry.getWhat())) {
+            return false;
+        }
+
+        return search.matches(entry);
+    }
+
     private void updateEntriesWhilePaused(List<GridInventoryEntry> shownEntries, LongSet visibleSerials) {
         for (int i = 0; i < shownEntries.size(); i++) {
             var entry = shownEntries.get(i);
@@ -305,7 +402,7 @@ private static boolean takeOverSlotOccupiedByRemovedItem(GridInventoryEntry serv
         return true;
     }
 
-    private Comparator<? super GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+    private Comparator<GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
         if (sortOrder == SortOrder.AMOUNT) {
             return sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
         }
@@ -338,14 +435,37 @@ public final GridInventoryEntry get(int idx) {
         return this.view.get(idx);
     }
 
+    /**
+     * @param rows   The number of rows shown, including the pinned row.
+     * @param margin The number of rows before and after the shown rows to include.
+     * @return The serials of the pinned entries and of the entries in or near the shown rows.
+     */
+    public final LongSet getVisibleSerials(int rows, int margin) {
+        var serials = new LongOpenHashSet();
+        for (var entry : this.pinnedRow) {
+            serials.add(entry.getSerial());
+        }
+
+        var firstRow = Math.max(0, this.src.getCurrentScroll() - margin);
+        var start = Math.min(this.view.size(), firstRow * this.rowSize);
+        var end = Math.min(this.view.size(), (this.src.getCurrentScroll() + rows + margin) * this.rowSize);
+        for (int i = start; i < end; i++) {
+            serials.add(this.view.get(i).getSerial());
+        }
+        return serials;
+    }
+
     public final int size() {
         return this.view.size() + this.pinnedRow.size();
     }
 
     public final void clear() {
         this.entries.clear();
+        this.changedEntries.clear();
+        this.viewSettings = null;
         this.view.clear();
         this.pinnedRow.clear();
+        this.search.clearCache();
     }
 
     public final boolean hasPinnedRow() {
@@ -365,6 +485,10 @@ public final int getRowSize() {
     }
 
     public final void setRowSize(int rowSize) {
+        if (rowSize != this.rowSize) {
+            // The number of entries in the pinned row depends on the row size
+            this.viewSettings = null;
+        }
         this.rowSize = rowSize;
     }
 
@@ -373,7 +497,15 @@ public final String getSearchString() {
     }
 
     public final void setSearchString(String searchString) {
-        this.search.setSearchString(searchString);
+        var previousSearchString = this.search.getSearchString();
+        if (!searchString.equals(previousSearchString)) {
+            this.search.setSearchString(searchString);
+            if (RepoSearch.isRefinement(previousSearchString, searchString)) {
+                this.searchRefined = true;
+            } else {
+                this.viewSettings = null;
+            }
+        }
     }
 
     private Comparator<AEKey> getKeyComparator(SortOrder sortBy, SortDir sortDir) {
@@ -414,4 +546,8 @@ public boolean isCraftable(AEKey what) {
         }
         return false;
     }
+
+    private record ViewSettings(SortOrder sortOrder, SortDir sortDir, ViewItems viewMode, TypeFilter typeFilter,
+            Set<AEKey> pinnedKeys) {
+    }
 }
@@ -45,6 +45,7 @@
 import appeng.menu.me.crafting.CraftingCPUMenu;
 import appeng.menu.me.crafting.CraftingStatus;
 import appeng.menu.me.crafting.CraftingStatusEntry;
+import appeng.util.Platform;
 
 /**
  * This screen shows the current crafting job that a crafting CPU is working on (if any).
@@ -105,6 +106,17 @@ protected void updateBeforeRender() {
         }
         setTextContent(TEXT_ID_DIALOG_TITLE, title);
 
+        // Show how much server time the CPU spends on its job
+        if (!getVisualEntries().isEmpty()) {
+            setTextContent("cpu_stats", GuiText.CraftingCpuStats.text(
+                    Platform.formatTimeMeasurement(menu.getAverageTickTime() * 1000),
+                    menu.getPushedPatternsPerSecond(),
+                    Platform.formatTimeMeasurement(menu.getJobCpuTime() * 1000000)));
+            setTextHidden("cpu_stats", false);
+        } else {
+            setTextHidden("cpu_stats", true);
+        }
+
         final int size = this.status != null ? this.status.getEntries().size() : 0;
         scrollbar.setRange(0, this.table.getScrollableRows(size), 1);
 
@@ -1,10 +1,14 @@
 package appeng.client.gui.me.search;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.WeakHashMap;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.ChatFormatting;
 
@@ -18,14 +22,36 @@
 import appeng.util.Platform;
 
 public class RepoSearch {
+    /**
+     * The number of previous search strings whose results are kept. This makes deleting characters from the search
+     * string instant.
+     */
+    private static final int MAX_CACHED_SEARCHES = 8;
+
+    private static final Pattern REGEX_SYNTAX = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
 
     private String searchString = "";
 
     // Cached information
-    private final Long2BooleanMap cache = new Long2BooleanOpenHashMap();
+    private Long2BooleanMap cache = new Long2BooleanOpenHashMap();
+    /**
+     * The results of a previous search string that the current one refines. Entries that didn't match it can't match
+     * the current search string either.
+     */
+    @Nullable
+    private Long2BooleanMap refinedCache;
+    private final Map<String, Long2BooleanMap> previousSearches = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long2BooleanMap> eldest) {
+            return size() > MAX_CACHED_SEARCHES;
+        }
+    };
     private Predicate<GridInventoryEntry> search = (e) -> true;
+    @Nullable
+    private SearchSettings searchSettings;
 
     private final Map<AEKey, String> tooltipCache = new WeakHashMap<>();
+    private final Map<AEKey, String> displayNameCache = new WeakHashMap<>();
 
     public RepoSearch() {
     }
@@ -36,18 +62,72 @@ public String getSearchString() {
 
     public void setSearchString(String searchString) {
         if (!searchString.equals(this.searchString)) {
+            // Results of previous searches are only valid for the same search settings
+            var settings = new SearchSettings(AEConfig.instance().isSearchTooltips(),
+                    AEConfig.instance().isSearchModNameInTooltips());
+            if (!settings.equals(this.searchSettings)) {
+                this.searchSettings = settings;
+                this.previousSearches.clear();
+                this.tooltipCache.clear();
+                this.refinedCache = null;
+            } else {
+                previousSearches.put(this.searchString, this.cache);
+                this.refinedCache = isRefinement(this.searchString, searchString) ? this.cache : null;
+            }
+
             this.search = SearchPredicates.fromString(searchString, this);
             this.searchString = searchString;
-            this.cache.clear();
+            this.cache = previousSearches.computeIfAbsent(searchString, s -> new Long2BooleanOpenHashMap());
         }
     }
 
+    /**
+     * Drops the cached results of all searches. Called when the repo is cleared, after which serials may refer to other
+     * keys.
+     */
+    public void clearCache() {
+        this.previousSearches.clear();
+        this.cache.clear();
+        this.refinedCache = null;
+    }
+
     public boolean matches(GridInventoryEntry entry) {
-        return cache.computeIfAbsent(entry.getSerial(), s -> search.test(entry));
+        return cache.computeIfAbsent(entry.getSerial(),
+                s -> (refinedCache == null || refinedCache.getOrDefault(s, true)) && search.test(entry));
+    }
+
+    /**
+     * Checks if everything matching the new search string also matches the previous one. This holds when plain text is
+     * appended, but not in general since search strings are regular expressions.
+     */
+    public static boolean isRefinement(String previousSearchString, String searchString) {
+        if (previousSearchString.isEmpty()) {
+            return true;
+        }
+        if (!searchString.startsWith(previousSearchString)) {
+            return false;
+        }
+        // Skip the prefix that selects what is searched
+        var text = searchString;
+        if (text.startsWith("@") || text.startsWith("*") || text.startsWith("#")) {
+            text = text.substring(1);
+        }
+        return !hasRegexSyntax(text);
+    }
+
+    static boolean hasRegexSyntax(String searchText) {
+        return REGEX_SYNTAX.matcher(searchText).find();
     }
 
     /**
-     * Gets the concatenated text of a keys tooltip for search purposes.
+     * Gets the lower-case display name of a key for search purposes.
+     */
+    public String getDisplayNameText(AEKey what) {
+        return displayNameCache.computeIfAbsent(what, key -> key.getDisplayName().getString().toLowerCase());
+    }
+
+    /**
+     * Gets the concatenated lower-case text of a keys tooltip for search purposes.
      */
     public String getTooltipText(AEKey what) {
         return tooltipCache.computeIfAbsent(what, key -> {
@@ -85,7 +165,10 @@ public String getTooltipText(AEKey what) {
                 }
             }
 
-            return tooltipText.toString();
+            return tooltipText.toString().toLowerCase();
         });
     }
+
+    private record SearchSettings(boolean searchTooltips, boolean searchModNameInTooltips) {
+    }
 }
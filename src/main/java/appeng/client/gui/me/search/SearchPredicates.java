@@ -21,54 +21,62 @@ static Predicate<GridInventoryEntry> fromString(String searchString, RepoSearch
             var pattern = createPattern(searchString.substring(1));
             return new TagPredicate(pattern);
         } else {
-            var pattern = createPattern(searchString);
+            var matcher = createTextMatcher(searchString);
 
             if (AEConfig.instance().isSearchTooltips()) {
                 // The tooltip obviously includes the display name too
-                return createTooltipPredicate(pattern, repoSearch);
+                return createTooltipPredicate(matcher, repoSearch);
             } else {
-                return createNamePredicate(pattern);
+                return createNamePredicate(matcher, repoSearch);
             }
         }
     }
 
     private static Predicate<GridInventoryEntry> createModIdPredicate(String searchText) {
-        var searchPattern = createPattern(searchText);
+        var matcher = createTextMatcher(searchText);
         return entry -> {
             var what = Objects.requireNonNull(entry.getWhat());
-            return searchPattern.matcher(what.getModId()).find();
+            return matcher.test(what.getModId());
         };
     }
 
     private static Predicate<GridInventoryEntry> createModNamePredicate(String searchText) {
-        var searchPattern = createPattern(searchText);
+        var matcher = createTextMatcher(searchText);
         return entry -> {
             var what = Objects.requireNonNull(entry.getWhat());
-            return searchPattern.matcher(Platform.getModName(what.getModId())).find();
+            return matcher.test(Platform.getModName(what.getModId()).toLowerCase());
         };
     }
 
     private static Predicate<GridInventoryEntry> createIdPredicate(String searchText) {
-        var searchPattern = createPattern(searchText);
+        var matcher = createTextMatcher(searchText);
         return entry -> {
             var what = Objects.requireNonNull(entry.getWhat());
-            return searchPattern.matcher(what.getId().toString()).find();
+            return matcher.test(what.getId().toString());
         };
     }
 
-    private static Predicate<GridInventoryEntry> createNamePredicate(Pattern searchPattern) {
-        return entry -> {
-            var what = Objects.requireNonNull(entry.getWhat());
-            String displayName = what.getDisplayName().getString();
-            return searchPattern.matcher(displayName).find();
-        };
+    private static Predicate<GridInventoryEntry> createNamePredicate(Predicate<String> matcher,
+            RepoSearch repoSearch) {
+        return entry -> matcher.test(repoSearch.getDisplayNameText(entry.getWhat()));
     }
 
-    private static Predicate<GridInventoryEntry> createTooltipPredicate(Pattern searchPattern, RepoSearch repoSearch) {
-        return entry -> {
-            var tooltipText = repoSearch.getTooltipText(entry.getWhat());
-            return searchPattern.matcher(tooltipText).find();
-        };
+    private static Predicate<GridInventoryEntry> createTooltipPredicate(Predicate<String> matcher,
+            RepoSearch repoSearch) {
+        return entry -> matcher.test(repoSearch.getTooltipText(entry.getWhat()));
+    }
+
+    /**
+     * Creates a case-insensitive matcher for lower-case text. Search text without regular expression syntax is matched
+     * as a plain substring, which is considerably faster than a regular expression.
+     */
+    private static Predicate<String> createTextMatcher(String searchText) {
+        var lowerCaseText = searchText.toLowerCase();
+        if (!RepoSearch.hasRegexSyntax(lowerCaseText)) {
+            return text -> text.contains(lowerCaseText);
+        }
+        var pattern = createPattern(searchText);
+        return text -> pattern.matcher(text).find();
     }
 
     private static Pattern createPattern(String searchText) {
@@ -366,6 +366,18 @@ public boolean isCraftingSimulatedExtraction() {
         return this.craftingSimulatedExtraction;
     }
 
+    public int getCraftingCalculationThreads() {
+        return COMMON.craftingCalculationThreads.get();
+    }
+
+    public int getCraftingCpuTickBudget() {
+        return COMMON.craftingCpuTickBudget.get();
+    }
+
+    public boolean isCraftingCalculationTimeSliced() {
+        return COMMON.craftingCalculationTimeSliced.get();
+    }
+
     public boolean isSpatialAnchorEnablesRandomTicks() {
         return this.spatialAnchorEnablesRandomTicks;
     }
@@ -454,8 +466,32 @@ public void setChannelModel(ChannelMode mode) {
         COMMON.channels.set(mode);
     }
 
-    public int getPathfindingStepsPerTick() {
-        return COMMON.pathfindingStepsPerTick.get();
+    public int getStorageConsistencySweepInterval() {
+        return COMMON.storageConsistencySweepInterval.get();
+    }
+
+    public int getParallelStorageEnumerationThreshold() {
+        return COMMON.parallelStorageEnumerationThreshold.get();
+    }
+
+    public int getGridTickBudget() {
+        return COMMON.gridTickBudget.get();
+    }
+
+    public int getWatchedKeyLookupLimit() {
+        return COMMON.watchedKeyLookupLimit.get();
+    }
+
+    public int getStorageBusScansPerTick() {
+        return COMMON.storageBusScansPerTick.get();
+    }
+
+    public int getTerminalSyncPageSize() {
+        return COMMON.terminalSyncPageSize.get();
+    }
+
+    public int getTerminalOffscreenUpdateInterval() {
+        return COMMON.terminalOffscreenUpdateInterval.get();
     }
 
     /**
@@ -630,13 +666,22 @@ private static class CommonConfig {
         // Misc
         public final IntegerOption formationPlaneEntityLimit;
         public final IntegerOption craftingCalculationTimePerTick;
+        public final IntegerOption craftingCalculationThreads;
+        public final BooleanOption craftingCalculationTimeSliced;
         public final BooleanOption craftingSimulatedExtraction;
+        public final IntegerOption craftingCpuTickBudget;
         public final BooleanOption allowBlockEntityFacades;
         public final BooleanOption debugTools;
         public final BooleanOption matterCannonBlockDamage;
         public final BooleanOption tinyTntBlockDamage;
         public final EnumOption<ChannelMode> channels;
-        public final IntegerOption pathfindingStepsPerTick;
+        public final IntegerOption storageConsistencySweepInterval;
+        public final IntegerOption parallelStorageEnumerationThreshold;
+        public final IntegerOption watchedKeyLookupLimit;
+        public final IntegerOption gridTickBudget;
+        public final IntegerOption storageBusScansPerTick;
+        public final IntegerOption terminalSyncPageSize;
+        public final IntegerOption terminalOffscreenUpdateInterval;
         public final BooleanOption spatialAnchorEnableRandomTicks;
 
         public final BooleanOption disassemblyCrafting;
@@ -705,9 +750,22 @@ public CommonConfig(ConfigSection root) {
                     "Enables the ability of Tiny TNT to break blocks.");
             channels = general.addEnum("channels", ChannelMode.DEFAULT,
                     "Changes the channel capacity that cables provide in AE2.");
-            pathfindingStepsPerTick = general.addInt("pathfindingStepsPerTick", 4,
-                    1, 1024,
-                    "The number of pathfinding steps that are taken per tick and per grid that is booting. Lower numbers will mean booting takes longer, but less work is done per tick.");
+            storageConsistencySweepInterval = general.addInt("storageConsistencySweepInterval", 100,
+                    1, 72000,
+                    "The number of ticks between full re-enumerations of a network's storage, while changes to it are otherwise tracked incrementally. A value of 1 re-enumerates the storage every tick.");
+            parallelStorageEnumerationThreshold = general.addInt("parallelStorageEnumerationThreshold", 32, 0,
+                    Integer.MAX_VALUE,
+                    "The number of storage cells mounted in a network (i.e. in drives and chests) from which its full inventory is enumerated on multiple threads. 0 disables parallel enumeration.");
+            gridTickBudget = general.addInt("gridTickBudget", 0, 0, 50000,
+                    "The time in microseconds that all networks together may spend ticking their devices per server tick. It is split among the networks, preferring networks near players. Devices that don't fit into the budget are ticked in the next tick. 0 means no limit.");
+            watchedKeyLookupLimit = general.addInt("watchedKeyLookupLimit", 64, 0, Integer.MAX_VALUE,
+                    "The maximum number of distinct items watched in a network (i.e. by level emitters and storage monitors) for which their amounts are looked up individually, instead of re-enumerating all of the network's storage every tick when its changes can't be tracked. 0 always re-enumerates the storage.");
+            storageBusScansPerTick = general.addInt("storageBusScansPerTick", 0, 0, Integer.MAX_VALUE,
+                    "The maximum number of storage buses per network that scan the external inventory they are attached to in the same tick. Storage buses over the limit delay their scan. 0 means no limit.");
+            terminalSyncPageSize = general.addInt("terminalSyncPageSize", 0, 0, Integer.MAX_VALUE,
+                    "The maximum number of entries sent to a terminal per tick when it is opened, spreading the transfer of large networks over multiple ticks. 0 sends all entries at once.");
+            terminalOffscreenUpdateInterval = general.addInt("terminalOffscreenUpdateInterval", 0, 0, 1200,
+                    "The maximum number of ticks that changes to entries a player can't currently see in a terminal are held back and combined. 0 sends all changes right away.");
             spatialAnchorEnableRandomTicks = general.addBoolean("spatialAnchorEnableRandomTicks", true,
                     "Whether Spatial Anchors should force random chunk ticks and entity spawning.");
 
@@ -720,8 +778,14 @@ public CommonConfig(ConfigSection root) {
 
             ConfigSection craftingCPU = root.subsection("craftingCPU");
             this.craftingCalculationTimePerTick = craftingCPU.addInt("craftingCalculationTimePerTick", 5);
+            this.craftingCalculationThreads = craftingCPU.addInt("craftingCalculationThreads", 0, 0, 64,
+                    "The maximum number of crafting job calculations that run at the same time. Further calculations are queued. 0 uses half of the available processors.");
+            this.craftingCalculationTimeSliced = craftingCPU.addBoolean("craftingCalculationTimeSliced", false,
+                    "When true: crafting job calculations only run while the server tick is paused for them, for craftingCalculationTimePerTick ms per tick and level. When false: calculations run in parallel with the server tick against a snapshot of the network's patterns and contents.");
             this.craftingSimulatedExtraction = craftingCPU.addBoolean("craftingSimulatedExtraction", false,
                     "When true: simulate extraction of all the network's contents when starting a crafting job calculation. When false: use the cached available content list (same as terminals). Enabling might work a bit better, but it will significantly reduce performance.");
+            this.craftingCpuTickBudget = craftingCPU.addInt("craftingCpuTickBudget", 0, 0, 50000,
+                    "The time in microseconds that the crafting CPUs of a network may spend pushing patterns per server tick. Jobs requested by players are served before jobs requested by automation. CPUs that don't fit into the budget are ticked first in the next tick. 0 means no limit.");
 
             var crafting = root.subsection("crafting");
             disassemblyCrafting = crafting.addBoolean("disassemblyCrafting", true,
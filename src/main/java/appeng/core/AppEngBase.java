@@ -44,6 +44,7 @@
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
 import net.neoforged.neoforge.event.RegisterGameTestsEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerInteractEvent;
 import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
@@ -63,6 +64,7 @@
 import appeng.core.network.ClientboundPacket;
 import appeng.core.network.InitNetwork;
 import appeng.core.network.NetworkHandler;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.hooks.SkyStoneBreakSpeed;
 import appeng.hooks.WrenchHook;
 import appeng.hooks.ticking.TickHandler;
@@ -170,6 +172,12 @@ public AppEngBase() {
         NeoForge.EVENT_BUS.addListener(this::serverStopped);
         NeoForge.EVENT_BUS.addListener(this::serverStopping);
         NeoForge.EVENT_BUS.addListener(this::registerCommands);
+        NeoForge.EVENT_BUS.addListener((OnDatapackSyncEvent event) -> {
+            // Without a player, the event is fired after the datapacks were reloaded
+            if (event.getPlayer() == null) {
+                DecodedPatternCache.server().clear();
+            }
+        });
 
         NeoForge.EVENT_BUS.addListener(WrenchHook::onPlayerUseBlockEvent);
         NeoForge.EVENT_BUS.addListener(SkyStoneBreakSpeed::handleBreakFaster);
@@ -240,6 +248,7 @@ private void serverStopping(final ServerStoppingEvent event) {
 
     private void serverStopped(final ServerStoppedEvent event) {
         TickHandler.instance().shutdown();
+        DecodedPatternCache.server().clear();
     }
 
     public void registerCreativeTabs(Registry<CreativeModeTab> registry) {
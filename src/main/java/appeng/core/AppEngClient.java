@@ -46,6 +46,7 @@
 import net.neoforged.neoforge.client.event.InputEvent;
 import net.neoforged.neoforge.client.event.ModelEvent;
 import net.neoforged.neoforge.client.event.ModelEvent.RegisterGeometryLoaders;
+import net.neoforged.neoforge.client.event.RecipesUpdatedEvent;
 import net.neoforged.neoforge.client.event.RegisterClientCommandsEvent;
 import net.neoforged.neoforge.client.event.RegisterClientTooltipComponentFactoriesEvent;
 import net.neoforged.neoforge.client.event.RegisterColorHandlersEvent;
@@ -78,6 +79,7 @@
 import appeng.client.render.overlay.OverlayManager;
 import appeng.core.network.NetworkHandler;
 import appeng.core.network.serverbound.MouseWheelPacket;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.helpers.IMouseWheelItem;
 import appeng.hooks.BlockAttackHook;
 import appeng.hooks.RenderBlockOutlineHook;
@@ -154,6 +156,8 @@ public AppEngClient() {
             PinnedKeys.clearPinnedKeys();
         });
 
+        NeoForge.EVENT_BUS.addListener((RecipesUpdatedEvent evt) -> DecodedPatternCache.client().clear());
+
         NeoForge.EVENT_BUS.addListener((TickEvent.ClientTickEvent e) -> {
             if (e.phase == TickEvent.Phase.END) {
                 tickPinnedKeys(Minecraft.getInstance());
@@ -72,6 +72,7 @@ public enum GuiText implements LocalizationEnum {
     CraftErrorRetry("Retry"),
     Crafting("Crafting: %s"),
     CraftingCPUs("Crafting CPUs"),
+    CraftingCpuStats("CPU time: %s/t, %s patterns/s, %s for this job"),
     CraftingInterface("ME Pattern Provider"),
     CraftingPattern("Crafting Patterns"),
     CraftingPlan("Crafting Plan - %s"),
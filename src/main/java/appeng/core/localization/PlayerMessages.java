@@ -26,6 +26,14 @@ public enum PlayerMessages implements LocalizationEnum {
     ClickToShowDetails("Click to show details"),
     ClickToTeleport("Click to teleport into plot"),
     CommunicationError("Error Communicating with Network."),
+    CraftingCalculationStats(
+            "Crafting calculations: %d running, %d queued on %d threads. %d completed, waited %d ms and ran %d ms on average, longest ran %d ms."),
+    CraftingCpuGridStats(
+            "Network with %d crafting CPUs: ticked in %s last tick, %d CPUs deferred. Time budget used up in %d ticks."),
+    CraftingCpuStats(
+            "%s at %s in %s: %s/t, %d patterns/s, deferred in %d ticks/s. Current job: %s, %d patterns pushed."),
+    CraftingCpusNone("No network has any crafting CPUs."),
+    CraftingProviderSaturation("%s: %d of %d providers busy, all were busy for %d crafting tasks."),
     DeviceNotLinked("Device is not linked."),
     LinkedNetworkNotFound("Linked network cannot be found"),
     DeviceNotPowered("Device is low on power."),
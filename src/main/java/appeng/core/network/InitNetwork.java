@@ -30,6 +30,7 @@
 import appeng.core.network.serverbound.HotkeyPacket;
 import appeng.core.network.serverbound.InventoryActionPacket;
 import appeng.core.network.serverbound.MEInteractionPacket;
+import appeng.core.network.serverbound.MEViewportPacket;
 import appeng.core.network.serverbound.MouseWheelPacket;
 import appeng.core.network.serverbound.PartLeftClickPacket;
 import appeng.core.network.serverbound.SwapSlotsPacket;
@@ -66,6 +67,7 @@ public static void init(RegisterPayloadHandlerEvent event) {
         serverbound(registrar, HotkeyPacket.class, HotkeyPacket::decode);
         serverbound(registrar, InventoryActionPacket.class, InventoryActionPacket::decode);
         serverbound(registrar, MEInteractionPacket.class, MEInteractionPacket::decode);
+        serverbound(registrar, MEViewportPacket.class, MEViewportPacket::decode);
         serverbound(registrar, MouseWheelPacket.class, MouseWheelPacket::decode);
         serverbound(registrar, PartLeftClickPacket.class, PartLeftClickPacket::decode);
         serverbound(registrar, SwapSlotsPacket.class, SwapSlotsPacket::decode);
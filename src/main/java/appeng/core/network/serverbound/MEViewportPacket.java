@@ -0,0 +1,38 @@
+package appeng.core.network.serverbound;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+import appeng.core.network.ServerboundPacket;
+import appeng.menu.me.common.MEStorageMenu;
+
+/**
+ * Packet sent by clients to report the serials of the entries they show in an ME terminal, so that changes to other
+ * entries can be held back.
+ */
+public record MEViewportPacket(int containerId, long[] serials) implements ServerboundPacket {
+    /**
+     * Far more than any terminal can show at once.
+     */
+    private static final int MAX_SERIALS = 4096;
+
+    public static MEViewportPacket decode(FriendlyByteBuf buffer) {
+        var containerId = buffer.readInt();
+        var serials = buffer.readLongArray(null, MAX_SERIALS);
+        return new MEViewportPacket(containerId, serials);
+    }
+
+    @Override
+    public void write(FriendlyByteBuf data) {
+        data.writeInt(containerId);
+        data.writeLongArray(serials);
+    }
+
+    @Override
+    public void handleOnServer(ServerPlayer player) {
+        // The open screen has changed since the client sent the packet
+        if (player.containerMenu instanceof MEStorageMenu menu && menu.containerId == containerId) {
+            menu.setViewport(serials);
+        }
+    }
+}
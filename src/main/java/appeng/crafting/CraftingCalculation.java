@@ -19,7 +19,9 @@
 package appeng.crafting;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -29,6 +31,7 @@
 
 import net.minecraft.world.level.Level;
 
+import appeng.api.crafting.IPatternDetails;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.CalculationStrategy;
 import appeng.api.networking.crafting.ICraftingPlan;
@@ -44,6 +47,7 @@
 
 public class CraftingCalculation {
     private final NetworkCraftingSimulationState networkInv;
+    private final CraftingPatternSnapshot patterns;
     private final Level level;
     private final KeyCounter missing = new KeyCounter();
     private final Object monitor = new Object();
@@ -57,9 +61,15 @@ public class CraftingCalculation {
     final ICraftingSimulationRequester simRequester;
     private boolean running = false;
     private boolean done = false;
+    private boolean timeSliced = true;
     private int time = 5;
     private int incTime = Integer.MAX_VALUE;
     private final List<CraftAttempt> attempts = AELog.isCraftingLogEnabled() ? new ArrayList<>() : null;
+    /**
+     * Memoizes {@link IPatternDetails.IInput#isValid} across all nodes and attempts, since checking substitutes can
+     * involve recipe lookups and the same inputs are checked again in every attempt.
+     */
+    private final Map<ValidInputKey, Boolean> validInputs = new HashMap<>();
 
     public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
             GenericStack output, CalculationStrategy strategy) {
@@ -72,18 +82,37 @@ public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester
         var storage = grid.getStorageService();
         var craftingService = grid.getCraftingService();
         this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource());
+        this.patterns = CraftingPatternSnapshot.of(craftingService);
 
-        this.tree = new CraftingTreeNode(craftingService, this, this.output, 1, null, -1);
+        this.tree = new CraftingTreeNode(this.patterns, this, this.output, 1, null, -1);
     }
 
     void addMissing(AEKey what, long amount) {
         missing.add(what, amount);
     }
 
+    /**
+     * Runs the calculation in the slices of time that the server tick grants it through {@link #simulateFor}.
+     */
     public ICraftingPlan run() {
+        return run(true);
+    }
+
+    /**
+     * Runs the calculation without waiting for the server tick. The calculation only works on the snapshots of the
+     * network's contents and patterns it took when it was created, so it can safely run in parallel to the tick.
+     */
+    public ICraftingPlan runConcurrently() {
+        return run(false);
+    }
+
+    private ICraftingPlan run(boolean timeSliced) {
+        this.timeSliced = timeSliced;
         try {
-            TickHandler.instance().registerCraftingSimulation(this.level, this);
-            this.handlePausing();
+            if (timeSliced) {
+                TickHandler.instance().registerCraftingSimulation(this.level, this);
+                this.handlePausing();
+            }
 
             var plan = computePlan();
             this.logCraftingJob(plan);
@@ -103,10 +132,15 @@ private ICraftingPlan computePlan() throws InterruptedException {
             return fullAmountPlan;
         }
 
-        if (strategy == CalculationStrategy.CRAFT_LESS) {
-            // Try crafting less if possible using binary search.
-            long successfulAmount = 0;
-            ICraftingPlan successfulPlan = null;
+        if (strategy == CalculationStrategy.CRAFT_LESS && requestedAmount > 1) {
+            // If not even 1 can be crafted, there's no point in searching for a larger amount.
+            ICraftingPlan successfulPlan = runCraftAttempt(false, 1);
+            if (successfulPlan == null) {
+                return runCraftAttempt(true, requestedAmount);
+            }
+
+            // Try crafting more using binary search, starting from the amount known to be possible.
+            long successfulAmount = 1;
             for (long increment = Long.highestOneBit(requestedAmount); increment > 0; increment /= 2) {
                 long testAmount = successfulAmount + increment;
                 if (testAmount < requestedAmount) {
@@ -119,10 +153,7 @@ private ICraftingPlan computePlan() throws InterruptedException {
                 }
             }
 
-            // Found a successful plan! :)
-            if (successfulPlan != null) {
-                return successfulPlan;
-            }
+            return successfulPlan;
         }
 
         // Couldn't find a successful plan -> simulate.
@@ -172,21 +203,23 @@ void handlePausing() throws InterruptedException {
         if (this.incTime > 100) {
             this.incTime = 0;
 
-            synchronized (this.monitor) {
-                if (this.watch.elapsed(TimeUnit.MICROSECONDS) > this.time) {
-                    this.running = false;
-                    this.watch.stop();
-                    this.monitor.notify();
-                }
+            if (this.timeSliced) {
+                synchronized (this.monitor) {
+                    if (this.watch.elapsed(TimeUnit.MICROSECONDS) > this.time) {
+                        this.running = false;
+                        this.watch.stop();
+                        this.monitor.notify();
+                    }
 
-                if (!this.running) {
-                    AELog.craftingDebug("crafting job will now sleep");
+                    if (!this.running) {
+                        AELog.craftingDebug("crafting job will now sleep");
 
-                    while (!this.running) {
-                        this.monitor.wait();
-                    }
+                        while (!this.running) {
+                            this.monitor.wait();
+                        }
 
-                    AELog.craftingDebug("crafting job now active");
+                        AELog.craftingDebug("crafting job now active");
+                    }
                 }
             }
 
@@ -217,8 +250,13 @@ public KeyCounter getMissingItems() {
         return missing;
     }
 
-    Level getLevel() {
-        return this.level;
+    CraftingPatternSnapshot getPatterns() {
+        return this.patterns;
+    }
+
+    boolean isValidInput(IPatternDetails.IInput input, AEKey what) {
+        return this.validInputs.computeIfAbsent(new ValidInputKey(input, what),
+                key -> input.isValid(what, this.level));
     }
 
     /**
@@ -292,4 +330,7 @@ public boolean hasMultiplePaths() {
 
     private record CraftAttempt(String description, Stopwatch stopwatch) {
     }
+
+    private record ValidInputKey(IPatternDetails.IInput input, AEKey what) {
+    }
 }
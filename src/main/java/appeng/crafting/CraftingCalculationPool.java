@@ -0,0 +1,141 @@
+package appeng.crafting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.core.AEConfig;
+
+/**
+ * Runs {@link CraftingCalculation crafting calculations} on a bounded pool of threads, sized by
+ * {@link AEConfig#getCraftingCalculationThreads()}. Calculations that exceed the pool size are queued. Also keeps track
+ * of how long calculations wait in the queue and how long they run.
+ */
+public final class CraftingCalculationPool {
+    @Nullable
+    private static ForkJoinPool pool;
+
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static final AtomicInteger running = new AtomicInteger();
+    private static final LongAdder completed = new LongAdder();
+    private static final LongAdder totalWaitNanos = new LongAdder();
+    private static final LongAdder totalRunNanos = new LongAdder();
+    private static final AtomicLong maxRunNanos = new AtomicLong();
+
+    private CraftingCalculationPool() {
+    }
+
+    public static Future<ICraftingPlan> submit(CraftingCalculation calculation) {
+        var task = new CalculationTask(calculation, AEConfig.instance().isCraftingCalculationTimeSliced());
+        queued.incrementAndGet();
+        getPool().execute(task);
+        return task;
+    }
+
+    public static Stats getStats() {
+        long completedCount = completed.sum();
+        long avgWaitMs = 0;
+        long avgRunMs = 0;
+        if (completedCount > 0) {
+            avgWaitMs = TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / completedCount);
+            avgRunMs = TimeUnit.NANOSECONDS.toMillis(totalRunNanos.sum() / completedCount);
+        }
+        return new Stats(getThreadCount(), running.get(), queued.get(), completedCount, avgWaitMs, avgRunMs,
+                TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()));
+    }
+
+    /**
+     * (Re-)creates the pool if the configured number of threads has changed. Calculations that are already running on
+     * a previous pool are allowed to finish.
+     */
+    private static synchronized ForkJoinPool getPool() {
+        var threads = getThreadCount();
+        if (pool == null || pool.getParallelism() != threads) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(threads, CraftingCalculationPool::createThread, null, true);
+        }
+        return pool;
+    }
+
+    private static int getThreadCount() {
+        var threads = AEConfig.instance().getCraftingCalculationThreads();
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        return threads;
+    }
+
+    private static ForkJoinWorkerThread createThread(ForkJoinPool pool) {
+        var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("AE Crafting Calculator #" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A {@link FutureTask} rather than a ForkJoinTask, since only the former interrupts the calculation when it is
+     * cancelled.
+     */
+    private static class CalculationTask extends FutureTask<ICraftingPlan> {
+        private static final int QUEUED = 0;
+        private static final int STARTED = 1;
+        private static final int CANCELLED_WHILE_QUEUED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private final long submittedAt = System.nanoTime();
+        private volatile long startedAt;
+
+        CalculationTask(CraftingCalculation calculation, boolean timeSliced) {
+            super(timeSliced ? calculation::run : calculation::runConcurrently);
+        }
+
+        @Override
+        public void run() {
+            startedAt = System.nanoTime();
+            if (!state.compareAndSet(QUEUED, STARTED)) {
+                return; // Cancelled while queued
+            }
+            queued.decrementAndGet();
+            running.incrementAndGet();
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            if (state.compareAndSet(QUEUED, CANCELLED_WHILE_QUEUED)) {
+                queued.decrementAndGet();
+                return;
+            }
+
+            var runNanos = System.nanoTime() - startedAt;
+            running.decrementAndGet();
+            completed.increment();
+            totalWaitNanos.add(startedAt - submittedAt);
+            totalRunNanos.add(runNanos);
+            maxRunNanos.accumulateAndGet(runNanos, Math::max);
+        }
+    }
+
+    /**
+     * @param threads   Size of the pool.
+     * @param running   Number of calculations currently running.
+     * @param queued    Number of calculations waiting for a free thread.
+     * @param completed Number of calculations that have finished since the server started.
+     * @param avgWaitMs Average time that finished calculations waited for a free thread.
+     * @param avgRunMs  Average time that finished calculations ran for.
+     * @param maxRunMs  Longest time a calculation ran for.
+     */
+    public record Stats(int threads, int running, int queued, long completed, long avgWaitMs, long avgRunMs,
+            long maxRunMs) {
+    }
+}
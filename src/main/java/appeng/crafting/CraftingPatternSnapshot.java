@@ -0,0 +1,83 @@
+package appeng.crafting;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.ICraftingService;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
+import appeng.me.service.CraftingService;
+
+/**
+ * Immutable copy of the patterns and emitable items of a network. It is taken on the server thread when a crafting
+ * calculation is started, so that the calculation can look up patterns while running in parallel to the server tick.
+ */
+public final class CraftingPatternSnapshot {
+    /**
+     * Patterns for each craftable key, sorted by descending priority.
+     */
+    private final Map<AEKey, List<IPatternDetails>> patterns;
+    private final Set<AEKey> emitableItems;
+    /**
+     * Used for looking up craftable alternatives using fuzzy search (i.e. ignore NBT).
+     */
+    private final KeyCounter craftableItemsList = new KeyCounter();
+
+    /**
+     * @param patterns The patterns for each craftable key. The lists must not be modified afterwards.
+     */
+    public CraftingPatternSnapshot(Map<AEKey, List<IPatternDetails>> patterns, Set<AEKey> emitableItems) {
+        this.patterns = Map.copyOf(patterns);
+        this.emitableItems = Set.copyOf(emitableItems);
+        for (var what : this.patterns.keySet()) {
+            this.craftableItemsList.add(what, 1);
+        }
+    }
+
+    public static CraftingPatternSnapshot of(ICraftingService craftingService) {
+        if (craftingService instanceof CraftingService service) {
+            return service.getPatternSnapshot();
+        }
+
+        // Other implementations can only be queried through the API
+        var patterns = new HashMap<AEKey, List<IPatternDetails>>();
+        var emitableItems = new HashSet<AEKey>();
+        for (var what : craftingService.getCraftables(what -> true)) {
+            if (craftingService.canEmitFor(what)) {
+                emitableItems.add(what);
+            }
+            var patternsForKey = craftingService.getCraftingFor(what);
+            if (!patternsForKey.isEmpty()) {
+                patterns.put(what, List.copyOf(patternsForKey));
+            }
+        }
+        return new CraftingPatternSnapshot(patterns, emitableItems);
+    }
+
+    public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+        return this.patterns.getOrDefault(whatToCraft, List.of());
+    }
+
+    @Nullable
+    public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+        for (var fuzzy : this.craftableItemsList.findFuzzy(whatToCraft, FuzzyMode.IGNORE_ALL)) {
+            if (filter.matches(fuzzy.getKey())) {
+                return fuzzy.getKey();
+            }
+        }
+        return null;
+    }
+
+    public boolean canEmitFor(AEKey what) {
+        return this.emitableItems.contains(what);
+    }
+}
@@ -25,11 +25,8 @@
 
 import org.jetbrains.annotations.Nullable;
 
-import net.minecraft.world.level.Level;
-
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
@@ -54,7 +51,6 @@ public class CraftingTreeNode {
     private final CraftingCalculation job;
     // parent node.
     private final CraftingTreeProcess parent;
-    private final Level level;
     /**
      * "Template" of the item this node is making. For top-level node: the count is always 1. For child nodes: the count
      * is that of the template of the corresponding input.
@@ -67,11 +63,10 @@ public class CraftingTreeNode {
     private ArrayList<CraftingTreeProcess> nodes = null;
     private final boolean canEmit;
 
-    public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what, long amount,
+    public CraftingTreeNode(CraftingPatternSnapshot cc, CraftingCalculation job, AEKey what, long amount,
             CraftingTreeProcess par, int slot) {
         this.parent = par;
         this.parentInput = slot == -1 ? null : par.details.getInputs()[slot];
-        this.level = job.getLevel();
         this.job = job;
         this.what = findCraftedStack(cc, what);
         this.amount = amount;
@@ -79,7 +74,7 @@ public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what
         this.canEmit = cc.canEmitFor(what);
     }
 
-    private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
+    private AEKey findCraftedStack(CraftingPatternSnapshot cc, AEKey wat) {
         if (cc.canEmitFor(wat)) {
             return wat; // if we can emit for something, use that.
         }
@@ -97,7 +92,7 @@ private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
                 }
 
                 var fuzzy = cc.getFuzzyCraftable(possibleInput.what(), fuzzyCandidate -> {
-                    return this.parentInput.isValid(fuzzyCandidate, level);
+                    return job.isValidInput(this.parentInput, fuzzyCandidate);
                 });
 
                 if (fuzzy != null) {
@@ -118,16 +113,12 @@ private void buildChildPatterns() {
         if (this.nodes == null) {
             this.nodes = new ArrayList<>();
 
-            var gridNode = this.job.simRequester.getGridNode();
-
-            // If the node is null, we just skip patterns and let the request (likely) fail.
-            if (gridNode != null) {
-                var craftingService = gridNode.getGrid().getCraftingService();
+            // Use the snapshot taken by the job, the grid itself must not be accessed from the calculation thread.
+            var patterns = this.job.getPatterns();
 
-                for (var details : craftingService.getCraftingFor(this.what)) {
-                    if (this.parent == null || this.parent.notRecursive(details)) {
-                        this.nodes.add(new CraftingTreeProcess(craftingService, job, details, this));
-                    }
+            for (var details : patterns.getCraftingFor(this.what)) {
+                if (this.parent == null || this.parent.notRecursive(details)) {
+                    this.nodes.add(new CraftingTreeProcess(patterns, job, details, this));
                 }
             }
         }
@@ -305,7 +296,8 @@ private void addContainerItems(AEKey template, long multiplier,
     private Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv) {
         if (this.parentInput == null)
             return List.of(new InputTemplate(what, 1));
-        return CraftingCpuHelper.getValidItemTemplates(inv, this.parentInput, level);
+        return CraftingCpuHelper.getValidItemTemplates(inv, this.parentInput,
+                what -> job.isValidInput(this.parentInput, what));
     }
 
     long getNodeCount() {
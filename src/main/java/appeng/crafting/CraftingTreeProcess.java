@@ -23,7 +23,6 @@
 
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.inv.CraftingSimulationState;
@@ -47,7 +46,7 @@ public class CraftingTreeProcess {
      */
     private boolean limitQty;
 
-    public CraftingTreeProcess(ICraftingService cc, CraftingCalculation job,
+    public CraftingTreeProcess(CraftingPatternSnapshot cc, CraftingCalculation job,
             IPatternDetails details,
             CraftingTreeNode craftingTreeNode) {
         this.parent = craftingTreeNode;
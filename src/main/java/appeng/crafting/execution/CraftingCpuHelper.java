@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import com.google.common.collect.Iterables;
 
@@ -33,6 +34,7 @@
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.ICraftingPlan;
 import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.inv.ICraftingInventory;
@@ -103,6 +105,22 @@ public static KeyCounter[] extractPatternInputs(
             ICraftingInventory sourceInv,
             Level level,
             KeyCounter expectedOutputs) {
+        return extractPatternInputs(details, sourceInv, level, expectedOutputs, 1);
+    }
+
+    /**
+     * Extracts the inputs for the given number of copies of a pattern at once.
+     *
+     * @return The inputs for all copies, or null if the inputs for all copies could not be extracted, in which case
+     *         nothing was extracted.
+     */
+    @Nullable
+    public static KeyCounter[] extractPatternInputs(
+            IPatternDetails details,
+            ICraftingInventory sourceInv,
+            Level level,
+            KeyCounter expectedOutputs,
+            long copies) {
 
         // Extract inputs into the container.
         var inputs = details.getInputs();
@@ -112,7 +130,7 @@ public static KeyCounter[] extractPatternInputs(
 
         for (int x = 0; x < inputs.length; x++) {
             var list = inputHolder[x] = new KeyCounter();
-            long remainingMultiplier = inputs[x].getMultiplier();
+            long remainingMultiplier = inputs[x].getMultiplier() * copies;
             for (var template : getValidItemTemplates(sourceInv, inputs[x], level)) {
                 long extracted = extractTemplates(sourceInv, template, remainingMultiplier);
                 list.add(template.key(), extracted * template.amount());
@@ -143,7 +161,7 @@ public static KeyCounter[] extractPatternInputs(
 
         // Add pattern outputs.
         for (var output : details.getOutputs()) {
-            expectedOutputs.add(output.what(), output.amount());
+            expectedOutputs.add(output.what(), output.amount() * copies);
         }
 
         return inputHolder;
@@ -167,6 +185,15 @@ public static void reinjectPatternInputs(ICraftingInventory sourceInv,
      */
     public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv,
             IPatternDetails.IInput input, Level level) {
+        return getValidItemTemplates(inv, input, what -> input.isValid(what, level));
+    }
+
+    /**
+     * @see #getValidItemTemplates(ICraftingInventory, IPatternDetails.IInput, Level)
+     * @param isValid Replaces {@link IPatternDetails.IInput#isValid}, for example to memoize it.
+     */
+    public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv,
+            IPatternDetails.IInput input, Predicate<AEKey> isValid) {
         var possibleInputs = input.getPossibleInputs();
 
         var substitutes = new ArrayList<InputTemplate>(possibleInputs.length);
@@ -177,7 +204,7 @@ public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory i
             }
         }
 
-        return Iterables.filter(substitutes, stack -> input.isValid(stack.key(), level));
+        return Iterables.filter(substitutes, stack -> isValid.test(stack.key()));
     }
 
     /**
@@ -30,8 +30,11 @@
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
 import appeng.api.config.Actionable;
 import appeng.api.config.PowerMultiplier;
+import appeng.api.crafting.IPatternDetails;
 import appeng.api.features.IPlayerRegistry;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.ICraftingLink;
@@ -55,6 +58,16 @@
  * Stores the crafting logic of a crafting CPU.
  */
 public class CraftingCpuLogic {
+    /**
+     * How long to wait before trying to push a batch of a pattern again after no provider accepted one, in ticks.
+     */
+    private static final long BATCH_RETRY_DELAY = 20;
+    /**
+     * Over how many ticks the scheduling statistics are averaged. This is one second, so the statistics are rates per
+     * second.
+     */
+    static final int STATS_WINDOW = 20;
+
     final CraftingCPUCluster cluster;
     /**
      * Current job.
@@ -69,10 +82,27 @@ public class CraftingCpuLogic {
      */
     private final int[] usedOps = new int[3];
     private final Set<Consumer<AEKey>> listeners = new HashSet<>();
+    /**
+     * Game time until which no batches are pushed for a pattern, because no provider accepted one.
+     */
+    private final Object2LongOpenHashMap<IPatternDetails> batchRetryTime = new Object2LongOpenHashMap<>();
     /**
      * True if the CPU is currently trying to clear its inventory but is not able to.
      */
     private boolean cantStoreItems = false;
+    /**
+     * Scheduling statistics of the current window, see {@link CraftingCpuScheduler}.
+     */
+    private long windowTickTime;
+    private int windowPushedPatterns;
+    private int windowDeferredTicks;
+    private int windowTicks;
+    /**
+     * Scheduling statistics of the last complete window.
+     */
+    private long averageTickTime;
+    private int pushedPatternsPerSecond;
+    private int deferredTicks;
 
     public CraftingCpuLogic(CraftingCPUCluster cluster) {
         this.cluster = cluster;
@@ -126,10 +156,13 @@ public ICraftingSubmitResult trySubmitJob(IGrid grid, ICraftingPlan plan, IActio
         }
     }
 
-    public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
+    /**
+     * @return How many patterns were pushed.
+     */
+    public int tickCraftingLogic(IEnergyService eg, CraftingService cc) {
         // Don't tick if we're not active.
         if (!cluster.isActive())
-            return;
+            return 0;
         cantStoreItems = false;
         // If we don't have a job, just try to dump our items.
         if (this.job == null) {
@@ -137,12 +170,12 @@ public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
             if (!this.inventory.list.isEmpty()) {
                 cantStoreItems = true;
             }
-            return;
+            return 0;
         }
         // Check if the job was cancelled.
         if (job.link.isCanceled()) {
             cancel();
-            return;
+            return 0;
         }
 
         var remainingOperations = cluster.getCoProcessors() + 1 - (this.usedOps[0] + this.usedOps[1] + this.usedOps[2]);
@@ -162,6 +195,40 @@ public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
         this.usedOps[2] = this.usedOps[1];
         this.usedOps[1] = this.usedOps[0];
         this.usedOps[0] = started - remainingOperations;
+        return started - remainingOperations;
+    }
+
+    /**
+     * Records the time spent ticking this CPU and the patterns it pushed.
+     */
+    void recordTick(long nanos, int pushedPatterns) {
+        if (this.job != null) {
+            this.job.cpuTime += nanos;
+            this.job.pushedPatterns += pushedPatterns;
+        }
+        this.windowTickTime += nanos;
+        this.windowPushedPatterns += pushedPatterns;
+        advanceStatsWindow();
+    }
+
+    /**
+     * Records that this CPU wasn't ticked, because the time budget of the grid was used up.
+     */
+    void recordDeferredTick() {
+        this.windowDeferredTicks++;
+        advanceStatsWindow();
+    }
+
+    private void advanceStatsWindow() {
+        if (++this.windowTicks >= STATS_WINDOW) {
+            this.averageTickTime = this.windowTickTime / this.windowTicks;
+            this.pushedPatternsPerSecond = this.windowPushedPatterns * STATS_WINDOW / this.windowTicks;
+            this.deferredTicks = this.windowDeferredTicks;
+            this.windowTickTime = 0;
+            this.windowPushedPatterns = 0;
+            this.windowDeferredTicks = 0;
+            this.windowTicks = 0;
+        }
     }
 
     /**
@@ -186,6 +253,27 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
             }
 
             var details = task.getKey();
+
+            // Don't extract the inputs if all providers of the pattern are busy.
+            if (craftingService.recordSaturatedLookup(details)) {
+                continue;
+            }
+
+            // Try to push several copies to each provider in one go before pushing them one at a time.
+            var batchBudget = (int) Math.min(task.getValue().value, maxPatterns - pushedPatterns);
+            if (batchBudget > 1) {
+                var batched = pushPatternBatches(details, batchBudget, craftingService, energyService, level);
+                pushedPatterns += batched;
+                task.getValue().value -= batched;
+                if (task.getValue().value <= 0) {
+                    it.remove();
+                    continue;
+                }
+                if (pushedPatterns == maxPatterns) {
+                    break;
+                }
+            }
+
             var expectedOutputs = new KeyCounter();
             // Contains the inputs for the pattern.
             @Nullable
@@ -242,6 +330,85 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
         return pushedPatterns;
     }
 
+    /**
+     * Try to push batches of a pattern to its providers, extracting the inputs and charging the energy once per batch.
+     * The budget is split evenly among the providers that aren't busy, so that a single provider can't take all of it.
+     *
+     * @return How many copies were pushed.
+     */
+    private int pushPatternBatches(IPatternDetails details, int maxCopies, CraftingService craftingService,
+            IEnergyService energyService, Level level) {
+        var job = this.job;
+        var gameTime = level.getGameTime();
+        if (batchRetryTime.getLong(details) > gameTime) {
+            return 0;
+        }
+
+        var readyProviders = 0;
+        for (var provider : craftingService.getProviders(details)) {
+            if (!provider.isBusy()) {
+                readyProviders++;
+            }
+        }
+        var batchSize = readyProviders > 0 ? maxCopies / readyProviders : 0;
+        if (batchSize <= 1) {
+            return 0;
+        }
+
+        var pushedCopies = 0;
+        var expectedOutputs = new KeyCounter();
+        KeyCounter[] craftingContainer = null;
+        var copies = 0;
+        var patternPower = 0.0;
+        for (var provider : craftingService.getProviders(details)) {
+            if (provider.isBusy())
+                continue;
+
+            // Extract the next batch, unless the previous provider didn't take the current one.
+            if (craftingContainer == null) {
+                copies = Math.min(batchSize, maxCopies - pushedCopies);
+                if (copies <= 1)
+                    break;
+
+                expectedOutputs.reset();
+                craftingContainer = CraftingCpuHelper.extractPatternInputs(details, inventory, level,
+                        expectedOutputs, copies);
+                if (craftingContainer == null)
+                    break;
+
+                patternPower = CraftingCpuHelper.calculatePatternPower(craftingContainer);
+                if (energyService.extractAEPower(patternPower, Actionable.SIMULATE,
+                        PowerMultiplier.CONFIG) < patternPower - 0.01)
+                    break;
+            }
+
+            if (provider.pushPatterns(details, craftingContainer, copies)) {
+                energyService.extractAEPower(patternPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
+                pushedCopies += copies;
+
+                for (var expectedOutput : expectedOutputs) {
+                    job.waitingFor.insert(expectedOutput.getKey(), expectedOutput.getLongValue(),
+                            Actionable.MODULATE);
+                }
+
+                cluster.markDirty();
+                craftingContainer = null;
+            }
+        }
+
+        if (craftingContainer != null) {
+            CraftingCpuHelper.reinjectPatternInputs(inventory, craftingContainer);
+        }
+
+        if (pushedCopies > 0) {
+            batchRetryTime.removeLong(details);
+        } else {
+            // Most providers only take one copy at a time, don't extract a batch for them every tick.
+            batchRetryTime.put(details, gameTime + BATCH_RETRY_DELAY);
+        }
+        return pushedCopies;
+    }
+
     /**
      * Called by the CraftingService with an Integer.MAX_VALUE priority to inject items that are being waited for.
      *
@@ -334,6 +501,7 @@ private void finishJob(boolean success) {
 
         // Finish job.
         this.job = null;
+        this.batchRetryTime.clear();
 
         // Store all remaining items.
         this.storeItems();
@@ -391,6 +559,49 @@ public boolean hasJob() {
         return this.job != null;
     }
 
+    /**
+     * @return True if the current job was requested by a player rather than by automation, i.e. interfaces or level
+     *         emitters.
+     */
+    public boolean isPlayerRequested() {
+        return this.job != null && this.job.link.isStandalone();
+    }
+
+    /**
+     * @return The average time spent ticking this CPU per tick over the last second, in nanoseconds.
+     */
+    public long getAverageTickTime() {
+        return averageTickTime;
+    }
+
+    /**
+     * @return The number of patterns pushed by this CPU over the last second.
+     */
+    public int getPushedPatternsPerSecond() {
+        return pushedPatternsPerSecond;
+    }
+
+    /**
+     * @return The number of ticks over the last second in which this CPU didn't fit into the time budget of its grid.
+     */
+    public int getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    /**
+     * @return The total time spent ticking this CPU for the current job, in nanoseconds.
+     */
+    public long getJobCpuTime() {
+        return this.job != null ? this.job.cpuTime : 0;
+    }
+
+    /**
+     * @return The total number of patterns pushed for the current job.
+     */
+    public long getJobPushedPatterns() {
+        return this.job != null ? this.job.pushedPatterns : 0;
+    }
+
     @Nullable
     public GenericStack getFinalJobOutput() {
         return this.job != null ? this.job.finalOutput : null;
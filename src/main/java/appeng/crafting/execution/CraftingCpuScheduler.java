@@ -0,0 +1,141 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Decides in which order the crafting CPUs of a grid are ticked, and stops ticking them once the grid's time budget
+ * for the current tick is used up.
+ * <p/>
+ * CPUs running a job requested by a player are ticked first, then CPUs running a job requested by automation (i.e.
+ * interfaces or level emitters), and idle CPUs last. CPUs that didn't fit into the budget are ticked first among their
+ * peers during the next tick, and CPUs that were deferred for too long are ticked before all others, so that
+ * automation jobs don't stall while players keep the CPUs busy.
+ * <p/>
+ * The time spent and the patterns pushed by each CPU are recorded in the CPU and its job.
+ */
+public final class CraftingCpuScheduler {
+    /**
+     * After how many consecutive deferred ticks a CPU is ticked regardless of its priority. This is the window of the
+     * CPU statistics, so a CPU is ticked at least once in every window they cover.
+     */
+    private static final int MAX_DEFERRED_TICKS = CraftingCpuLogic.STATS_WINDOW;
+
+    private static final int PRIORITY_STARVED = 0;
+    private static final int PRIORITY_PLAYER = 1;
+    private static final int PRIORITY_AUTOMATION = 2;
+    private static final int PRIORITY_IDLE = 3;
+
+    private final List<CraftingCpuLogic> cpus = new ArrayList<>();
+    /**
+     * The number of consecutive ticks that each CPU was deferred, for CPUs that were deferred in the last tick.
+     */
+    private final Reference2IntOpenHashMap<CraftingCpuLogic> deferrals = new Reference2IntOpenHashMap<>();
+    private final Comparator<CraftingCpuLogic> order = Comparator.comparingInt(this::getPriority)
+            .thenComparing(Comparator.comparingInt(deferrals::getInt).reversed());
+
+    private long lastTickTime;
+    private int lastTickDeferredCpus;
+    private long budgetOverruns;
+
+    /**
+     * Sets the CPUs to schedule.
+     */
+    public void setCpus(Collection<CraftingCpuLogic> cpus) {
+        this.cpus.clear();
+        this.cpus.addAll(cpus);
+        this.deferrals.keySet().retainAll(new ReferenceOpenHashSet<>(cpus));
+    }
+
+    /**
+     * Ticks the CPUs in order of priority until the budget is used up. At least one CPU is ticked per tick.
+     *
+     * @param budgetNanos The time the CPUs may spend in nanoseconds, or 0 for no limit.
+     * @param ticker      Ticks a CPU and returns the number of patterns it pushed.
+     */
+    public void tick(long budgetNanos, ToIntFunction<CraftingCpuLogic> ticker) {
+        // The sort is stable, so CPUs with the same priority keep their relative order between ticks
+        this.cpus.sort(order);
+
+        var startTime = System.nanoTime();
+        var tickedCpus = 0;
+        var deferredCpus = 0;
+        for (var cpu : this.cpus) {
+            if (budgetNanos > 0 && tickedCpus > 0 && System.nanoTime() - startTime >= budgetNanos) {
+                cpu.recordDeferredTick();
+                this.deferrals.addTo(cpu, 1);
+                deferredCpus++;
+                continue;
+            }
+
+            var cpuStartTime = System.nanoTime();
+            var pushedPatterns = ticker.applyAsInt(cpu);
+            cpu.recordTick(System.nanoTime() - cpuStartTime, pushedPatterns);
+            this.deferrals.removeInt(cpu);
+            tickedCpus++;
+        }
+
+        this.lastTickTime = System.nanoTime() - startTime;
+        this.lastTickDeferredCpus = deferredCpus;
+        if (deferredCpus > 0) {
+            this.budgetOverruns++;
+        }
+    }
+
+    private int getPriority(CraftingCpuLogic cpu) {
+        if (this.deferrals.getInt(cpu) >= MAX_DEFERRED_TICKS) {
+            return PRIORITY_STARVED;
+        } else if (!cpu.hasJob()) {
+            return PRIORITY_IDLE;
+        } else if (cpu.isPlayerRequested()) {
+            return PRIORITY_PLAYER;
+        } else {
+            return PRIORITY_AUTOMATION;
+        }
+    }
+
+    /**
+     * @return The time spent ticking the CPUs during the last tick in nanoseconds.
+     */
+    public long getLastTickTime() {
+        return lastTickTime;
+    }
+
+    /**
+     * @return The number of CPUs that didn't fit into the budget of the last tick.
+     */
+    public int getLastTickDeferredCpus() {
+        return lastTickDeferredCpus;
+    }
+
+    /**
+     * @return The number of ticks in which the budget was used up before all CPUs were ticked.
+     */
+    public long getBudgetOverruns() {
+        return budgetOverruns;
+    }
+}
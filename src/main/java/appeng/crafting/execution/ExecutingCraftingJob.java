@@ -48,6 +48,8 @@ public class ExecutingCraftingJob {
     private static final String NBT_REMAINING_AMOUNT = "remainingAmount";
     private static final String NBT_TASKS = "tasks";
     private static final String NBT_CRAFTING_PROGRESS = "#craftingProgress";
+    private static final String NBT_CPU_TIME = "cpuTime";
+    private static final String NBT_PUSHED_PATTERNS = "pushedPatterns";
 
     final CraftingLink link;
     final ListCraftingInventory waitingFor;
@@ -57,6 +59,11 @@ public class ExecutingCraftingJob {
     long remainingAmount;
     @Nullable
     Integer playerId;
+    /**
+     * Time spent ticking the CPU for this job in nanoseconds.
+     */
+    long cpuTime;
+    long pushedPatterns;
 
     @FunctionalInterface
     interface CraftingDifferenceListener {
@@ -103,6 +110,8 @@ interface CraftingDifferenceListener {
         } else {
             this.playerId = null;
         }
+        this.cpuTime = data.getLong(NBT_CPU_TIME);
+        this.pushedPatterns = data.getLong(NBT_PUSHED_PATTERNS);
 
         ListTag tasksTag = data.getList(NBT_TASKS, Tag.TAG_COMPOUND);
         for (int i = 0; i < tasksTag.size(); ++i) {
@@ -141,6 +150,8 @@ CompoundTag writeToNBT() {
         if (this.playerId != null) {
             data.putInt(NBT_PLAYER_ID, this.playerId);
         }
+        data.putLong(NBT_CPU_TIME, cpuTime);
+        data.putLong(NBT_PUSHED_PATTERNS, pushedPatterns);
 
         return data;
     }
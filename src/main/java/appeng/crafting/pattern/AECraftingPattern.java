@@ -18,8 +18,7 @@
 
 package appeng.crafting.pattern;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 
 import org.jetbrains.annotations.Nullable;
@@ -29,7 +28,6 @@
 import net.minecraft.world.inventory.CraftingContainer;
 import net.minecraft.world.inventory.TransientCraftingContainer;
 import net.minecraft.world.item.BucketItem;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.MilkBucketItem;
@@ -58,7 +56,6 @@ public class AECraftingPattern implements IPatternDetails, IMolecularAssemblerSu
     public final boolean canSubstitute;
     public final boolean canSubstituteFluids;
     private final CraftingRecipe recipe;
-    private final CraftingContainer testFrame;
     private final CraftingContainer specialRecipeTestFrame;
     private final GenericStack[] sparseInputs;
     private final int[] sparseToCompressed = new int[9];
@@ -66,10 +63,9 @@ public class AECraftingPattern implements IPatternDetails, IMolecularAssemblerSu
     private final ItemStack output;
     private final GenericStack[] outputsArray;
     /**
-     * We cache results of isValid(...) calls for stacks that don't have NBT.
+     * Results of isValid(...) calls, shared with all patterns for the same recipe and inputs.
      */
-    @SuppressWarnings("unchecked")
-    private final Map<Item, Boolean>[] isValidCache = new Map[9];
+    private final IngredientValidityCache validityCache;
 
     public AECraftingPattern(AEItemKey definition, Level level) {
         this.definition = definition;
@@ -84,14 +80,8 @@ public AECraftingPattern(AEItemKey definition, Level level) {
         this.recipe = level.getRecipeManager().byType(RecipeType.CRAFTING).get(recipeId).value();
 
         // Build frame and find output
-        this.testFrame = new TransientCraftingContainer(new AutoCraftingMenu(), 3, 3);
+        var testFrame = createTestFrame();
         this.specialRecipeTestFrame = new TransientCraftingContainer(new AutoCraftingMenu(), 3, 3);
-        for (int i = 0; i < 9; ++i) {
-            if (sparseInputs[i] != null) {
-                var itemKey = (AEItemKey) sparseInputs[i].what();
-                testFrame.setItem(i, itemKey.toStack());
-            }
-        }
         if (!this.recipe.matches(testFrame, level)) {
             throw new IllegalStateException("The recipe " + recipe + " no longer matches the encoded input.");
         }
@@ -101,6 +91,7 @@ public AECraftingPattern(AEItemKey definition, Level level) {
             throw new IllegalStateException("The recipe " + recipeId + " produced an empty item stack result.");
         }
         this.outputsArray = new GenericStack[] { Objects.requireNonNull(GenericStack.fromItemStack(this.output)) };
+        this.validityCache = IngredientValidityCache.get(recipe, sparseInputs);
 
         // Compress inputs
         var condensedInputs = AEPatternHelper.condenseStacks(sparseInputs);
@@ -122,6 +113,21 @@ public AECraftingPattern(AEItemKey definition, Level level) {
         }
     }
 
+    /**
+     * Creates a crafting grid filled with the encoded inputs. Each test uses its own grid, so that patterns can be
+     * tested from several threads at once.
+     */
+    private CraftingContainer createTestFrame() {
+        var frame = new TransientCraftingContainer(new AutoCraftingMenu(), 3, 3);
+        for (int i = 0; i < 9; ++i) {
+            if (sparseInputs[i] != null) {
+                var itemKey = (AEItemKey) sparseInputs[i].what();
+                frame.setItem(i, itemKey.toStack());
+            }
+        }
+        return frame;
+    }
+
     @Override
     public int hashCode() {
         return definition.hashCode();
@@ -246,22 +252,19 @@ public boolean isItemValid(int slot, AEItemKey key, Level level) {
             return sparseInputs[slot] == null;
         }
 
-        var result = getTestResult(slot, key);
+        var result = validityCache.get(slot, key);
         if (result != null) {
             return result;
         }
 
         // Fill frame and check result
-        var previousStack = testFrame.removeItemNoUpdate(slot);
-        testFrame.setItem(slot, key.toStack());
+        var frame = createTestFrame();
+        frame.setItem(slot, key.toStack());
 
-        var newResult = recipe.matches(testFrame, level)
-                && ItemStack.matches(output, recipe.assemble(testFrame, level.registryAccess()));
+        var newResult = recipe.matches(frame, level)
+                && ItemStack.matches(output, recipe.assemble(frame, level.registryAccess()));
 
-        setTestResult(slot, key, newResult);
-
-        // Restore old stack in the frame
-        testFrame.setItem(slot, previousStack);
+        validityCache.put(slot, key, newResult);
 
         return newResult;
     }
@@ -276,42 +279,10 @@ private ItemStack getRecipeRemainder(int slot, AEItemKey key) {
         // Consider making this more efficient in the future? (e.g. cache the produced remainders)
 
         // Fill frame
-        var previousStack = testFrame.removeItemNoUpdate(slot);
-        testFrame.setItem(slot, key.toStack());
+        var frame = createTestFrame();
+        frame.setItem(slot, key.toStack());
         // Get remainder
-        var remainder = recipe.getRemainingItems(testFrame).get(slot);
-        // Restore old stack in the frame
-        testFrame.setItem(slot, previousStack);
-
-        return remainder;
-    }
-
-    /**
-     * Retrieve a previous result of testing whether <code>what</code> is a valid ingredient for <code>slot</code>.
-     *
-     * @return null if the result is unknown, otherwise indicates whether the key is valid or not.
-     */
-    @Nullable
-    private Boolean getTestResult(int slot, AEItemKey what) {
-        if (what == null || what.hasTag()) {
-            return null;
-        }
-        var cache = isValidCache[slot];
-        if (cache == null) {
-            return null;
-        } else {
-            return cache.get(what.getItem());
-        }
-    }
-
-    private void setTestResult(int slot, AEItemKey what, boolean result) {
-        if (what != null && !what.hasTag()) {
-            var cache = isValidCache[slot];
-            if (cache == null) {
-                cache = isValidCache[slot] = new IdentityHashMap<>();
-            }
-            cache.put(what.getItem(), result);
-        }
+        return recipe.getRemainingItems(frame).get(slot);
     }
 
     public GenericStack[] getSparseInputs() {
@@ -460,10 +431,7 @@ private GenericStack getItemOrFluidInput(int slot, GenericStack item) {
             // We only support buckets since we can't predict the behavior of other kinds of containers (ender tanks...)
 
             // Check that the remaining item is indeed the emptied container.
-            var testFrameCopy = new TransientCraftingContainer(new AutoCraftingMenu(), 3, 3);
-            for (int i = 0; i < 9; ++i) {
-                testFrameCopy.setItem(i, testFrame.getItem(i).copy());
-            }
+            var testFrameCopy = createTestFrame();
             // Note: the following call might do a performed extraction with mods that have native fluid container
             // support (such as immersive engineering "fluid aware" recipes). This is only safe because we restrict this
             // code path to buckets.
@@ -491,13 +459,14 @@ private Input(int slot, GenericStack condensedInput) {
             if (!canSubstitute) {
                 this.possibleInputs = new GenericStack[] { itemOrFluidInput };
             } else {
-                ItemStack[] matchingStacks = getRecipeIngredient(slot).getItems();
-                this.possibleInputs = new GenericStack[matchingStacks.length + 1];
-                // Ensure that the stack chosen by the user gets precedence.
-                this.possibleInputs[0] = itemOrFluidInput;
-                for (int i = 0; i < matchingStacks.length; ++i) {
-                    this.possibleInputs[i + 1] = GenericStack.fromItemStack(matchingStacks[i]);
+                // Ensure that the stack chosen by the user gets precedence. The ingredient usually contains the stack
+                // chosen by the user too, only list it once so that it isn't looked up twice for every craft.
+                var candidates = new LinkedHashSet<GenericStack>();
+                candidates.add(itemOrFluidInput);
+                for (var matchingStack : getRecipeIngredient(slot).getItems()) {
+                    candidates.add(GenericStack.fromItemStack(matchingStack));
                 }
+                this.possibleInputs = candidates.toArray(GenericStack[]::new);
             }
         }
 
@@ -55,7 +55,6 @@ public class AESmithingTablePattern implements IPatternDetails, IMolecularAssemb
     public final boolean canSubstitute;
     private final ResourceLocation recipeId;
     private final SmithingRecipe recipe;
-    private final Container testFrame;
     private final ItemStack output;
     private final AEItemKey template;
     private final AEItemKey base;
@@ -77,10 +76,7 @@ public AESmithingTablePattern(AEItemKey definition, Level level) {
         this.recipe = level.getRecipeManager().byType(RecipeType.SMITHING).get(recipeId).value();
 
         // Build frame and find output
-        this.testFrame = new SimpleContainer(3);
-        this.testFrame.setItem(0, template.toStack());
-        this.testFrame.setItem(1, base.toStack());
-        this.testFrame.setItem(2, addition.toStack());
+        var testFrame = createTestFrame();
 
         if (!this.recipe.matches(testFrame, level)) {
             throw new IllegalStateException("The recipe " + recipeId + " no longer matches the encoded input.");
@@ -205,16 +201,20 @@ public boolean isItemValid(int gridSlot, AEItemKey key, Level level) {
             return false;
         }
 
-        var previousStack = testFrame.removeItemNoUpdate(containerSlot);
+        // Use a new frame, since this may be called by several threads at once
+        var testFrame = createTestFrame();
         testFrame.setItem(containerSlot, key.toStack());
 
-        var newResult = recipe.matches(testFrame, level)
+        return recipe.matches(testFrame, level)
                 && ItemStack.matches(output, recipe.assemble(testFrame, level.registryAccess()));
+    }
 
-        // Restore old stack in the frame
-        testFrame.setItem(containerSlot, previousStack);
-
-        return newResult;
+    private Container createTestFrame() {
+        var testFrame = new SimpleContainer(3);
+        testFrame.setItem(0, template.toStack());
+        testFrame.setItem(1, base.toStack());
+        testFrame.setItem(2, addition.toStack());
+        return testFrame;
     }
 
     @Override
@@ -18,9 +18,9 @@
 
 package appeng.crafting.pattern;
 
-import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -54,16 +54,16 @@ public class AEStonecuttingPattern implements IPatternDetails, IMolecularAssembl
     public final boolean canSubstitute;
     private final ResourceLocation recipeId;
     private final StonecutterRecipe recipe;
-    private final Container testFrame;
     private final AEItemKey input;
     private final ItemStack output;
     private final IInput[] inputs;
     private final GenericStack[] outputs;
 
     /**
-     * We cache results of isValid(...) calls for stacks that don't have NBT.
+     * We cache results of isValid(...) calls for stacks that don't have NBT. Crafting calculations run in their own
+     * threads, so the cache can be read and filled concurrently.
      */
-    private final Map<Item, Boolean> isValidCache = new IdentityHashMap<>();
+    private final Map<Item, Boolean> isValidCache = new ConcurrentHashMap<>();
 
     public AEStonecuttingPattern(AEItemKey definition, Level level) {
         this.definition = definition;
@@ -77,8 +77,8 @@ public AEStonecuttingPattern(AEItemKey definition, Level level) {
         this.recipe = level.getRecipeManager().byType(RecipeType.STONECUTTING).get(recipeId).value();
 
         // Build frame and find output
-        this.testFrame = new SimpleContainer(1);
-        this.testFrame.setItem(0, input.toStack());
+        var testFrame = new SimpleContainer(1);
+        testFrame.setItem(0, input.toStack());
 
         if (!this.recipe.matches(testFrame, level)) {
             throw new IllegalStateException("The recipe " + recipeId + " no longer matches the encoded input.");
@@ -148,8 +148,8 @@ public boolean isItemValid(AEItemKey key, Level level) {
             return result;
         }
 
-        // Fill frame and check result
-        var previousStack = testFrame.removeItemNoUpdate(0);
+        // Fill a new frame and check the result, since this may be called by several threads at once
+        var testFrame = new SimpleContainer(1);
         testFrame.setItem(0, key.toStack());
 
         var newResult = recipe.matches(testFrame, level)
@@ -157,9 +157,6 @@ public boolean isItemValid(AEItemKey key, Level level) {
 
         setTestResult(key, newResult);
 
-        // Restore old stack in the frame
-        testFrame.setItem(0, previousStack);
-
         return newResult;
     }
 
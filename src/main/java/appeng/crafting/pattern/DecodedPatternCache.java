@@ -0,0 +1,130 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting.pattern;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.crafting.PatternDetailsHelper;
+import appeng.api.stacks.AEItemKey;
+
+/**
+ * Caches decoded patterns by their encoded pattern item. Decoding can be expensive (crafting patterns look up and test
+ * their recipe), and the same pattern is decoded by every pattern provider, molecular assembler and crafting job that
+ * uses it.
+ * <p/>
+ * Decoded patterns depend on the loaded recipes, so the cache is cleared when recipes are reloaded. Client and server
+ * levels have their own recipes and thus their own cache. Only the least recently used patterns are kept once the cache
+ * is full. Patterns that fail to decode aren't cached, since {@link PatternDetailsHelper} may try to recover them.
+ */
+public final class DecodedPatternCache {
+    private static final int MAX_SIZE = 16384;
+
+    private static final DecodedPatternCache SERVER = new DecodedPatternCache(MAX_SIZE);
+    private static final DecodedPatternCache CLIENT = new DecodedPatternCache(MAX_SIZE);
+
+    private final Map<AEItemKey, IPatternDetails> patterns;
+    /**
+     * Incremented when the cache is cleared, so that patterns decoded with the old recipes aren't added afterwards.
+     */
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    DecodedPatternCache(int maxSize) {
+        this.patterns = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AEItemKey, IPatternDetails> eldest) {
+                if (size() > maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static DecodedPatternCache get(Level level) {
+        return level.isClientSide() ? CLIENT : SERVER;
+    }
+
+    public static DecodedPatternCache server() {
+        return SERVER;
+    }
+
+    public static DecodedPatternCache client() {
+        return CLIENT;
+    }
+
+    /**
+     * Returns the cached pattern for the given encoded pattern, or decodes and caches it.
+     */
+    @Nullable
+    public IPatternDetails getOrDecode(AEItemKey what, Function<AEItemKey, IPatternDetails> decoder) {
+        long decodedGeneration;
+        synchronized (this) {
+            var cached = patterns.get(what);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            decodedGeneration = generation;
+        }
+
+        // Decode outside the lock. If two threads decode the same pattern, the result is the same.
+        var decoded = decoder.apply(what);
+        if (decoded != null) {
+            synchronized (this) {
+                if (generation == decodedGeneration) {
+                    patterns.put(what, decoded);
+                }
+            }
+        }
+        return decoded;
+    }
+
+    public synchronized void clear() {
+        patterns.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return patterns.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting.pattern;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+
+/**
+ * Remembers which substitutes are valid for the slots of a crafting pattern. Whether a substitute is valid depends on
+ * the recipe and on the other ingredients in the grid, so all crafting patterns that encode the same recipe with the
+ * same ingredients share one cache, no matter how many copies of the pattern exist.
+ * <p/>
+ * The caches are keyed by recipe instance rather than by recipe id. Reloading recipes creates new recipe instances, so
+ * patterns decoded afterwards start with fresh caches, and the old caches go away together with the old recipes.
+ * <p/>
+ * Only the results for items without NBT are cached, by item. Items with NBT come in too many variants, which would
+ * otherwise be kept alive by the caches for as long as the recipe exists.
+ * <p/>
+ * Crafting calculations run in their own threads, so the caches can be read and filled concurrently.
+ */
+final class IngredientValidityCache {
+    /**
+     * The caches for each recipe, by the encoded inputs of the patterns.
+     */
+    private static final Map<CraftingRecipe, Map<List<?>, IngredientValidityCache>> CACHES = new WeakHashMap<>();
+
+    private final Map<Item, Boolean>[] results;
+
+    @SuppressWarnings("unchecked")
+    private IngredientValidityCache(int slots) {
+        this.results = new Map[slots];
+        for (int i = 0; i < slots; i++) {
+            this.results[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * @param sparseInputs The ingredients encoded in the pattern, for each slot of the crafting grid.
+     */
+    static synchronized IngredientValidityCache get(CraftingRecipe recipe, GenericStack[] sparseInputs) {
+        var byInputs = CACHES.computeIfAbsent(recipe, r -> new HashMap<>());
+        // The encoded inputs contain nulls for empty slots
+        return byInputs.computeIfAbsent(Arrays.asList(sparseInputs.clone()),
+                inputs -> new IngredientValidityCache(sparseInputs.length));
+    }
+
+    /**
+     * @return null if the result is unknown, otherwise indicates whether the key is valid or not.
+     */
+    @Nullable
+    Boolean get(int slot, AEItemKey what) {
+        if (what.hasTag()) {
+            return null;
+        }
+        return results[slot].get(what.getItem());
+    }
+
+    void put(int slot, AEItemKey what, boolean valid) {
+        if (!what.hasTag()) {
+            results[slot].put(what.getItem(), valid);
+        }
+    }
+}
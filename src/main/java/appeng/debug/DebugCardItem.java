@@ -132,6 +132,11 @@ public InteractionResult onItemUseFirst(ItemStack stack, UseOnContext context) {
                 this.outputSecondaryMessage(player, "Grid Pivot Node", String.valueOf(center));
 
                 var tmc = (TickManagerService) g.getTickManager();
+                if (tmc.getTickBudget() > 0) {
+                    this.outputSecondaryMessage(player, "Tick Budget",
+                            Platform.formatTimeMeasurement(tmc.getTickBudget()) + "; deferred: "
+                                    + tmc.getDeferredNodes() + "; overruns: " + tmc.getBudgetOverruns());
+                }
                 for (var c : g.getMachineClasses()) {
                     int o = 0;
                     long totalAverageTime = 0;
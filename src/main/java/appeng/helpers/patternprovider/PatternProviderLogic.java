@@ -290,10 +290,24 @@ private <T> void rearrangeRoundRobin(List<T> list) {
 
     @Override
     public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder) {
+        return pushPatterns(patternDetails, inputHolder, 1);
+    }
+
+    @Override
+    public boolean pushPatterns(IPatternDetails patternDetails, KeyCounter[] inputHolder, int copies) {
         if (!sendList.isEmpty() || !this.mainNode.isActive() || !this.patterns.contains(patternDetails)) {
             return false;
         }
 
+        // Blocking mode and locking until a pulse or result are about single copies of a pattern.
+        if (copies > 1) {
+            var lockMode = configManager.getSetting(Settings.LOCK_CRAFTING_MODE);
+            if (this.isBlocking() || lockMode == LockCraftingMode.LOCK_UNTIL_PULSE
+                    || lockMode == LockCraftingMode.LOCK_UNTIL_RESULT) {
+                return false;
+            }
+        }
+
         var be = host.getBlockEntity();
         var level = be.getLevel();
 
@@ -312,7 +326,7 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
 
             var craftingMachine = ICraftingMachine.of(level, adjPos, adjBeSide);
             if (craftingMachine != null && craftingMachine.acceptsPlans()) {
-                if (craftingMachine.pushPattern(patternDetails, inputHolder, adjBeSide)) {
+                if (craftingMachine.pushPatterns(patternDetails, inputHolder, copies, adjBeSide)) {
                     onPushPatternSuccess(patternDetails);
                     return true;
                 }
@@ -338,13 +352,7 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
                 continue;
             }
 
-            if (this.adapterAcceptsAll(adapter, inputHolder)) {
-                patternDetails.pushInputsToExternalInventory(inputHolder, (what, amount) -> {
-                    var inserted = adapter.insert(what, amount, Actionable.MODULATE);
-                    if (inserted < amount) {
-                        this.addToSendList(what, amount - inserted);
-                    }
-                });
+            if (pushInputsToTarget(adapter, patternDetails, inputHolder, copies, this::addToSendList)) {
                 onPushPatternSuccess(patternDetails);
                 this.sendDirection = direction;
                 this.sendStacksOut();
@@ -452,7 +460,33 @@ private PatternProviderTarget findAdapter(Direction side) {
         return targetCaches[side.get3DDataValue()].find();
     }
 
-    private boolean adapterAcceptsAll(PatternProviderTarget target, KeyCounter[] inputHolder) {
+    /**
+     * Pushes the inputs of the given number of copies of a pattern to an inventory, if it accepts them. Whatever the
+     * inventory doesn't take once the inputs are actually inserted is passed to the overflow sink.
+     *
+     * @return false if the inventory doesn't accept the inputs, in which case nothing was pushed.
+     */
+    static boolean pushInputsToTarget(PatternProviderTarget adapter, IPatternDetails patternDetails,
+            KeyCounter[] inputHolder, int copies, IPatternDetails.PatternInputSink overflow) {
+        if (copies == 1 ? !adapterAcceptsAll(adapter, inputHolder) : !adapterAcceptsBatch(adapter, inputHolder)) {
+            return false;
+        }
+
+        IPatternDetails.PatternInputSink inputSink = (what, amount) -> {
+            var inserted = adapter.insert(what, amount, Actionable.MODULATE);
+            if (inserted < amount) {
+                overflow.pushInput(what, amount - inserted);
+            }
+        };
+        if (copies == 1) {
+            patternDetails.pushInputsToExternalInventory(inputHolder, inputSink);
+        } else {
+            pushBatchInputs(patternDetails, inputHolder, copies, inputSink);
+        }
+        return true;
+    }
+
+    private static boolean adapterAcceptsAll(PatternProviderTarget target, KeyCounter[] inputHolder) {
         for (var inputList : inputHolder) {
             for (var input : inputList) {
                 var inserted = target.insert(input.getKey(), input.getLongValue(), Actionable.SIMULATE);
@@ -464,11 +498,80 @@ private boolean adapterAcceptsAll(PatternProviderTarget target, KeyCounter[] inp
         return true;
     }
 
+    /**
+     * Unlike {@link #adapterAcceptsAll}, a batch is only pushed if the target could accept the full amount of each
+     * input. The inputs are simulated one by one, so a target whose inputs compete for the same space may still reject
+     * part of the batch once it is actually inserted. That part waits in the send list, like for single copies.
+     */
+    private static boolean adapterAcceptsBatch(PatternProviderTarget target, KeyCounter[] inputHolder) {
+        var allInputs = new KeyCounter();
+        for (var inputList : inputHolder) {
+            allInputs.addAll(inputList);
+        }
+        for (var input : allInputs) {
+            var inserted = target.insert(input.getKey(), input.getLongValue(), Actionable.SIMULATE);
+            if (inserted < input.getLongValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pushes the inputs of several copies of a pattern. Patterns that reorder the inputs may only push the inputs of
+     * one copy per call, so the pattern is called again with what's left, up to once per copy.
+     */
+    private static void pushBatchInputs(IPatternDetails patternDetails, KeyCounter[] inputHolder, int copies,
+            IPatternDetails.PatternInputSink inputSink) {
+        var remaining = inputHolder;
+        for (int i = 0; i < copies && !isEmpty(remaining); i++) {
+            // The pattern owns the counters it is given
+            var pending = new KeyCounter[remaining.length];
+            for (int x = 0; x < remaining.length; x++) {
+                pending[x] = new KeyCounter();
+                pending[x].addAll(remaining[x]);
+            }
+
+            patternDetails.pushInputsToExternalInventory(pending, (what, amount) -> {
+                inputSink.pushInput(what, amount);
+                for (var inputList : remaining) {
+                    var removed = Math.min(amount, inputList.get(what));
+                    inputList.remove(what, removed);
+                    amount -= removed;
+                }
+            });
+
+            for (var inputList : remaining) {
+                inputList.removeZeros();
+            }
+        }
+
+        // Whatever the pattern didn't push is pushed as-is.
+        for (var inputList : remaining) {
+            for (var input : inputList) {
+                inputSink.pushInput(input.getKey(), input.getLongValue());
+            }
+        }
+    }
+
+    private static boolean isEmpty(KeyCounter[] inputHolder) {
+        for (var inputList : inputHolder) {
+            if (!inputList.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void addToSendList(AEKey what, long amount) {
         if (amount > 0) {
+            var wasBusy = isBusy();
             this.sendList.add(new GenericStack(what, amount));
 
             this.mainNode.ifPresent((grid, node) -> grid.getTickManager().alertDevice(node));
+            if (!wasBusy) {
+                ICraftingProvider.requestBusyUpdate(mainNode);
+            }
         }
     }
 
@@ -486,6 +589,7 @@ private boolean sendStacksOut() {
         }
 
         boolean didSomething = false;
+        var wasBusy = isBusy();
 
         for (var it = sendList.listIterator(); it.hasNext();) {
             var stack = it.next();
@@ -504,6 +608,9 @@ private boolean sendStacksOut() {
 
         if (sendList.isEmpty()) {
             sendDirection = null;
+            if (wasBusy) {
+                ICraftingProvider.requestBusyUpdate(mainNode);
+            }
         }
 
         return didSomething;
@@ -551,8 +658,12 @@ public void addDrops(List<ItemStack> drops) {
     }
 
     public void clearContent() {
+        var wasBusy = isBusy();
         this.patternInventory.clear();
         this.sendList.clear();
+        if (wasBusy) {
+            ICraftingProvider.requestBusyUpdate(mainNode);
+        }
         this.returnInv.clear();
     }
 
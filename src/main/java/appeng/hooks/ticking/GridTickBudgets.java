@@ -0,0 +1,94 @@
+package appeng.hooks.ticking;
+
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+
+import appeng.blockentity.spatial.SpatialAnchorBlockEntity;
+import appeng.me.Grid;
+import appeng.me.InWorldGridNode;
+import appeng.me.service.TickManagerService;
+
+/**
+ * Splits the time all grids may spend ticking their nodes in one server tick among the grids, so that a single busy
+ * grid can't take up the whole server tick. Each grid gets a share weighted by how much its players would notice it
+ * lagging behind:
+ * <ul>
+ * <li>Grids with a player nearby get the largest share.</li>
+ * <li>Grids that are only kept loaded by a spatial anchor get the smallest share.</li>
+ * </ul>
+ * Nodes that a grid can't tick within its share stay due, and are ticked first in the next tick.
+ */
+final class GridTickBudgets {
+    /**
+     * How often the weights of the grids are determined, in ticks.
+     */
+    private static final int WEIGHT_UPDATE_INTERVAL = 20;
+    private static final float WEIGHT_PLAYER_NEARBY = 4;
+    private static final float WEIGHT_DEFAULT = 2;
+    private static final float WEIGHT_ANCHORED = 1;
+    private static final double PLAYER_DISTANCE = 64;
+
+    private Reference2FloatOpenHashMap<Grid> weights = new Reference2FloatOpenHashMap<>();
+    private long lastWeightUpdate = Long.MIN_VALUE;
+    private boolean budgeted;
+
+    /**
+     * Assigns each grid its share of the budget for the upcoming tick.
+     *
+     * @param budgetMicros The time all grids may spend ticking nodes per tick in microseconds, or 0 for no limit.
+     */
+    void allocate(Iterable<Grid> grids, long budgetMicros, long currentTick) {
+        if (budgetMicros <= 0) {
+            if (budgeted) {
+                budgeted = false;
+                weights.clear();
+                for (var grid : grids) {
+                    getTickManager(grid).setTickBudget(0);
+                }
+            }
+            return;
+        }
+        budgeted = true;
+
+        if (currentTick - lastWeightUpdate >= WEIGHT_UPDATE_INTERVAL) {
+            lastWeightUpdate = currentTick;
+            var newWeights = new Reference2FloatOpenHashMap<Grid>(weights.size());
+            for (var grid : grids) {
+                newWeights.put(grid, getWeight(grid));
+            }
+            weights = newWeights;
+        }
+
+        var totalWeight = 0f;
+        for (var grid : grids) {
+            totalWeight += weights.getOrDefault(grid, WEIGHT_DEFAULT);
+        }
+
+        var budgetNanos = budgetMicros * 1000;
+        for (var grid : grids) {
+            var share = weights.getOrDefault(grid, WEIGHT_DEFAULT) / totalWeight;
+            // Never pass 0, which would disable the limit
+            getTickManager(grid).setTickBudget(Math.max(1, (long) (budgetNanos * share)));
+        }
+    }
+
+    private static float getWeight(Grid grid) {
+        var pivot = grid.getPivot();
+        if (pivot instanceof InWorldGridNode inWorldNode) {
+            var pos = inWorldNode.getLocation();
+            if (inWorldNode.getLevel().hasNearbyAlivePlayer(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5,
+                    PLAYER_DISTANCE)) {
+                return WEIGHT_PLAYER_NEARBY;
+            }
+        }
+
+        if (!grid.getActiveMachines(SpatialAnchorBlockEntity.class).isEmpty()) {
+            return WEIGHT_ANCHORED;
+        }
+
+        return WEIGHT_DEFAULT;
+    }
+
+    private static TickManagerService getTickManager(Grid grid) {
+        return (TickManagerService) grid.getTickManager();
+    }
+}
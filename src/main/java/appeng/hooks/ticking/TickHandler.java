@@ -74,6 +74,7 @@ public class TickHandler {
     private final Map<LevelAccessor, Queue<ILevelRunnable>> callQueue = new HashMap<>();
     private final ServerBlockEntityRepo blockEntities = new ServerBlockEntityRepo();
     private final ServerGridRepo grids = new ServerGridRepo();
+    private final GridTickBudgets gridTickBudgets = new GridTickBudgets();
 
     /**
      * A stop watch to limit processing the additional queues to honor
@@ -183,6 +184,7 @@ public void shutdown() {
         Platform.assertServerThread();
         this.blockEntities.clear();
         this.grids.clear();
+        Grid.clearIds();
     }
 
     /**
@@ -275,6 +277,8 @@ private void onServerLevelTickStart(ServerLevel level) {
     private void onServerLevelTickEnd(ServerLevel level) {
         this.simulateCraftingJobs(level);
         this.readyBlockEntities(level);
+        // Nodes that have been readied above may have joined grids they're no longer connected to
+        Grid.validateJoinedGrids();
 
         // tick networks
         for (var g : this.grids.getNetworks()) {
@@ -306,6 +310,9 @@ private void onServerTickStart() {
         this.processQueueElementsRemaining = 0;
         this.stopWatch.reset();
 
+        this.gridTickBudgets.allocate(this.grids.getNetworks(), AEConfig.instance().getGridTickBudget(),
+                this.tickCounter);
+
         // tick networks
         for (var g : this.grids.getNetworks()) {
             try {
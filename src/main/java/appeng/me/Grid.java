@@ -24,6 +24,7 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableSet;
@@ -34,8 +35,14 @@
 
 import net.minecraft.CrashReportCategory;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.world.level.Level;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
 import appeng.api.networking.GridServicesInternal;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
@@ -52,12 +59,25 @@ public class Grid implements IGrid {
      */
     private static final List<IGridNode> ITERATION_BUFFER = new ArrayList<>();
     private static int nextSerial = 0;
+    /**
+     * The id of the grid a node belonged to when it was saved, see {@link #createOrJoin}.
+     */
+    static final String TAG_GRID_ID = "g";
+    /**
+     * All grids that currently have nodes, by their id.
+     */
+    private static final Long2ObjectMap<Grid> GRIDS_BY_ID = new Long2ObjectOpenHashMap<>();
+    /**
+     * Grids that nodes have joined by their saved id since the last {@link #validateJoinedGrids()}.
+     */
+    private static final Set<Grid> JOINED_GRIDS = new ReferenceLinkedOpenHashSet<>();
 
     private final SetMultimap<Class<?>, IGridNode> machines = MultimapBuilder.hashKeys().hashSetValues().build();
     private final Map<Class<?>, IGridServiceProvider> services;
     private GridNode pivot;
     private int priority; // how import is this network?
     private final int serialNumber = nextSerial++; // useful to keep track of grids in toString() for debugging purposes
+    private long id;
 
     /**
      * Creates a new grid, sends the necessary events, and registers it to the tickhandler or other objects.
@@ -65,7 +85,17 @@ public class Grid implements IGrid {
      * @param center the pivot point of the new grid
      */
     public static Grid create(GridNode center) {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (GRIDS_BY_ID.containsKey(id));
+        return create(center, id);
+    }
+
+    private static Grid create(GridNode center, long id) {
         Grid grid = new Grid(center);
+        grid.id = id;
+        GRIDS_BY_ID.put(id, grid);
 
         TickHandler.instance().addNetwork(grid);
         center.setGrid(grid);
@@ -75,6 +105,74 @@ public static Grid create(GridNode center) {
         return grid;
     }
 
+    /**
+     * Gives a node that isn't connected yet (i.e. when it is loaded with its chunk) a grid. If another node of the grid
+     * the node was saved with has already been loaded, the node joins that grid right away. Otherwise, the node would
+     * create a grid of its own that would have to be merged with the other one node by node as soon as they're
+     * connected, notifying all grid services of every move. Grids that nodes have joined this way are later checked by
+     * {@link #validateJoinedGrids()}, since the node might no longer be connected to the rest of the grid.
+     */
+    static Grid createOrJoin(GridNode node) {
+        var savedData = node.getSavedData();
+        if (savedData != null && savedData.contains(TAG_GRID_ID, Tag.TAG_LONG)) {
+            var id = savedData.getLong(TAG_GRID_ID);
+            var grid = GRIDS_BY_ID.get(id);
+            if (grid == null) {
+                return create(node, id);
+            } else if (!grid.isEmpty()) {
+                node.setGrid(grid);
+                JOINED_GRIDS.add(grid);
+                return grid;
+            }
+        }
+        return create(node);
+    }
+
+    /**
+     * Splits nodes that have joined a grid by their saved id, but are not actually connected to it, off into their own
+     * grids. Called after block entities have been readied, when their connections have been made.
+     */
+    public static void validateJoinedGrids() {
+        if (JOINED_GRIDS.isEmpty()) {
+            return;
+        }
+
+        var grids = new ArrayList<>(JOINED_GRIDS);
+        JOINED_GRIDS.clear();
+        for (var grid : grids) {
+            if (!grid.isEmpty()) {
+                grid.splitDisconnectedNodes();
+            }
+        }
+    }
+
+    private void splitDisconnectedNodes() {
+        var connected = new ReferenceOpenHashSet<IGridNode>(size());
+        this.pivot.beginVisit(node -> {
+            connected.add(node);
+            return true;
+        });
+        if (connected.size() == size()) {
+            return;
+        }
+
+        for (var node : new ArrayList<>(getNodes())) {
+            var gridNode = (GridNode) node;
+            // Splitting off a node also moves all nodes connected to it
+            if (!connected.contains(gridNode) && gridNode.getMyGrid() == this) {
+                gridNode.validateGrid();
+            }
+        }
+    }
+
+    /**
+     * Forgets all grids when the server stops.
+     */
+    public static void clearIds() {
+        GRIDS_BY_ID.clear();
+        JOINED_GRIDS.clear();
+    }
+
     private Grid(GridNode center) {
         this.pivot = Objects.requireNonNull(center);
         this.services = GridServicesInternal.createServices(this);
@@ -107,6 +205,7 @@ void remove(GridNode gridNode) {
                 this.pivot = (GridNode) nodesIt.next();
             } else {
                 this.pivot = null;
+                GRIDS_BY_ID.remove(this.id, this);
                 TickHandler.instance().removeNetwork(this);
 
                 AELog.grid("Removed grid %s", this);
@@ -124,6 +223,7 @@ void add(GridNode gridNode, @Nullable CompoundTag savedData) {
     }
 
     void saveNodeData(GridNode gridNode, CompoundTag savedData) {
+        savedData.putLong(TAG_GRID_ID, this.id);
         for (var service : this.services.values()) {
             service.saveNodeData(gridNode, savedData);
         }
@@ -33,6 +33,7 @@
 import appeng.api.networking.IGridNodeListener;
 import appeng.api.networking.pathing.ChannelMode;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 
 public class GridConnection implements IGridConnection, IPathItem {
 
@@ -214,9 +215,9 @@ public static GridConnection create(IGridNode aNode, IGridNode bNode,
 
         mergeGrids(a, b);
 
-        // a connection was destroyed RE-PATH!!
-        var p = connection.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        // a connection was created RE-PATH!! (or only give the new node a channel, if it is a leaf)
+        var p = (PathingService) connection.sideA.getInternalGrid().getPathingService();
+        p.onConnectionCreated(connection);
 
         connection.sideA.addConnection(connection);
         connection.sideB.addConnection(connection);
@@ -236,7 +237,7 @@ private static void mergeGrids(GridNode a, GridNode b) {
             // Neither A nor B has a grid, create a new grid spanning both
             assertNodeIsStandalone(a);
             assertNodeIsStandalone(b);
-            var grid = Grid.create(a);
+            var grid = Grid.createOrJoin(a);
             a.setGrid(grid);
             b.setGrid(grid);
         } else if (gridA == null) {
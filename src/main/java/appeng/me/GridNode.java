@@ -61,6 +61,7 @@
 import appeng.api.util.AEColor;
 import appeng.core.AELog;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 
 public class GridNode implements IGridNode, IPathItem {
     private final ServerLevel level;
@@ -117,6 +118,11 @@ Grid getMyGrid() {
         return this.myGrid;
     }
 
+    @Nullable
+    CompoundTag getSavedData() {
+        return this.savedData;
+    }
+
     public int usedChannels() {
         return this.lastUsedChannels;
     }
@@ -180,7 +186,8 @@ void validateGrid() {
 
     public Grid getInternalGrid() {
         if (this.myGrid == null) {
-            this.myGrid = Grid.create(this);
+            // Nodes being destroyed must not rejoin the grid they were saved with
+            this.myGrid = ready ? Grid.createOrJoin(this) : Grid.create(this);
         }
 
         return this.myGrid;
@@ -309,6 +316,10 @@ public void destroy() {
 
         boolean movedPivot = false;
 
+        // Leaves only release their channel, without having to recalculate the channels of the whole grid
+        var leafRemoved = this.myGrid != null
+                && ((PathingService) this.myGrid.getPathingService()).onNodeDestroyed(this);
+
         // First pass: Remove the connection on the other side
         for (var connection : connections) {
             var otherSide = (GridNode) connection.getOtherSide(this);
@@ -344,7 +355,9 @@ public void destroy() {
             otherSide.validateGrid();
 
             // Cause a repath later. This is not done immediately.
-            otherSide.getInternalGrid().getPathingService().repath();
+            if (!leafRemoved) {
+                otherSide.getInternalGrid().getPathingService().repath();
+            }
         }
 
         connections.clear();
@@ -435,8 +448,8 @@ private boolean areTagsEqualIgnoringPlayerId(CompoundTag newData, CompoundTag ol
         Set<String> newKeys = newData != null ? newData.getAllKeys() : Set.of();
         Set<String> oldKeys = oldData != null ? oldData.getAllKeys() : Set.of();
         for (var newKey : newKeys) {
-            if ("p".equals(newKey)) {
-                continue; // Ignore player ID
+            if (isTransientTag(newKey)) {
+                continue; // Ignore player ID, the channels and the grid id, which are recalculated anyway
             }
             var newTag = newData.get(newKey);
             var oldTag = oldData != null ? oldData.get(newKey) : null;
@@ -446,13 +459,17 @@ private boolean areTagsEqualIgnoringPlayerId(CompoundTag newData, CompoundTag ol
         }
         // Check for missing keys
         for (var oldKey : oldKeys) {
-            if (!"p".equals(oldKey) && !newKeys.contains(oldKey)) {
+            if (!isTransientTag(oldKey) && !newKeys.contains(oldKey)) {
                 return false;
             }
         }
         return true;
     }
 
+    private static boolean isTransientTag(String key) {
+        return "p".equals(key) || PathingService.TAG_CHANNELS.equals(key) || Grid.TAG_GRID_ID.equals(key);
+    }
+
     public void saveToNBT(String name, CompoundTag nodeData) {
         if (this.myGrid != null) {
 
@@ -570,6 +587,14 @@ public void setControllerRoute(IPathItem fast) {
         }
     }
 
+    /**
+     * Restores the number of channels this node was using when it was saved, until its grid has calculated them again.
+     */
+    public void restoreUsedChannels(int usedChannels) {
+        this.usedChannels = usedChannels;
+        this.lastUsedChannels = usedChannels;
+    }
+
     @Override
     public boolean canSupportMoreChannels() {
         return this.getUsedChannels() < this.getMaxChannels();
@@ -18,6 +18,7 @@
 
 package appeng.me.cells;
 
+import java.util.Map;
 import java.util.Objects;
 
 import net.minecraft.nbt.CompoundTag;
@@ -27,8 +28,9 @@
 import net.minecraft.world.item.ItemStack;
 
 import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
-import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
 import appeng.api.config.Actionable;
 import appeng.api.config.FuzzyMode;
@@ -46,11 +48,14 @@
 import appeng.api.upgrades.IUpgradeInventory;
 import appeng.core.AELog;
 import appeng.core.definitions.AEItems;
+import appeng.me.storage.ChangeJournals;
+import appeng.me.storage.IJournaledStorage;
+import appeng.me.storage.IStorageChangeJournal;
 import appeng.util.ConfigInventory;
 import appeng.util.prioritylist.FuzzyPriorityList;
 import appeng.util.prioritylist.IPartitionList;
 
-public class BasicCellInventory implements StorageCell {
+public class BasicCellInventory implements StorageCell, IJournaledStorage {
     private static final int MAX_ITEM_TYPES = 63;
     private static final String ITEM_COUNT_TAG = "ic";
     private static final String STACK_KEYS = "keys";
@@ -63,12 +68,25 @@ public class BasicCellInventory implements StorageCell {
     private int maxItemTypes;
     private short storedItems;
     private long storedItemCount;
+    /**
+     * Ordered like the keys stored in the item, as long as {@link #keysChanged} is false.
+     */
     private Object2LongMap<AEKey> storedAmounts;
+    /**
+     * The serialized form of the stored keys, so that they only have to be serialized once.
+     */
+    private final Map<AEKey, CompoundTag> keyTags = new Object2ObjectOpenHashMap<>();
+    /**
+     * True if keys have been added or removed since the keys were last written to the item, otherwise only the
+     * amounts have to be written.
+     */
+    private boolean keysChanged;
     private final ItemStack i;
     private final IBasicCellItem cellType;
     private final long maxItemsPerType; // max items per type, basically infinite unless there is a distribution card.
     private final boolean hasVoidUpgrade;
     private boolean isPersisted = true;
+    private final ChangeJournals changeJournals = new ChangeJournals();
 
     private BasicCellInventory(IBasicCellItem cellType, ItemStack o, ISaveProvider container) {
         this.i = o;
@@ -178,7 +196,7 @@ public boolean canFitInsideCell() {
 
     protected Object2LongMap<AEKey> getCellItems() {
         if (this.storedAmounts == null) {
-            this.storedAmounts = new Object2LongOpenHashMap<>();
+            this.storedAmounts = new Object2LongLinkedOpenHashMap<>();
             this.loadCellItems();
         }
 
@@ -195,25 +213,31 @@ public void persist() {
 
         // add new pretty stuff...
         var amounts = new LongArrayList(storedAmounts.size());
-        var keys = new ListTag();
+        var keys = this.keysChanged ? new ListTag() : null;
 
         for (var entry : this.storedAmounts.object2LongEntrySet()) {
             long amount = entry.getLongValue();
 
             if (amount > 0) {
                 itemCount += amount;
-                keys.add(entry.getKey().toTagGeneric());
+                if (keys != null) {
+                    keys.add(this.keyTags.computeIfAbsent(entry.getKey(), AEKey::toTagGeneric));
+                }
                 amounts.add(amount);
             }
         }
 
-        if (keys.isEmpty()) {
+        if (amounts.isEmpty()) {
             getTag().remove(STACK_KEYS);
             getTag().remove(STACK_AMOUNTS);
         } else {
-            getTag().put(STACK_KEYS, keys);
+            // If only amounts have changed, the keys in the item are still the same and in the same order
+            if (keys != null) {
+                getTag().put(STACK_KEYS, keys);
+            }
             getTag().putLongArray(STACK_AMOUNTS, amounts.toArray(new long[0]));
         }
+        this.keysChanged = false;
 
         this.storedItems = (short) this.storedAmounts.size();
 
@@ -256,16 +280,26 @@ private void loadCellItems() {
 
         for (int i = 0; i < amounts.length; i++) {
             var amount = amounts[i];
-            AEKey key = AEKey.fromTagGeneric(tags.getCompound(i));
+            var keyTag = tags.getCompound(i);
+            AEKey key = AEKey.fromTagGeneric(keyTag);
 
             if (amount <= 0 || key == null) {
                 corruptedTag = true;
             } else {
+                if (storedAmounts.containsKey(key)) {
+                    this.keysChanged = true;
+                }
                 storedAmounts.put(key, amount);
+                keyTags.put(key, keyTag);
             }
         }
 
+        if (amounts.length != tags.size()) {
+            this.keysChanged = true;
+        }
+
         if (corruptedTag) {
+            this.keysChanged = true;
             this.saveChanges();
         }
     }
@@ -277,6 +311,24 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    @Override
+    public boolean canEnumerateConcurrently() {
+        // Loading the content from the item can modify the item, so that has to happen on the server thread
+        return this.storedAmounts != null;
+    }
+
+    @Override
+    public boolean addChangeJournal(IStorageChangeJournal journal) {
+        // All changes to the content go through insert and extract
+        this.changeJournals.add(journal);
+        return true;
+    }
+
+    @Override
+    public void removeChangeJournal(IStorageChangeJournal journal) {
+        this.changeJournals.remove(journal);
+    }
+
     @Override
     public double getIdleDrain() {
         return this.cellType.getIdleDrain();
@@ -420,7 +472,11 @@ private long innerInsert(AEKey what, long amount, Actionable mode) {
         }
 
         if (mode == Actionable.MODULATE) {
+            if (currentAmount <= 0) {
+                this.keysChanged = true;
+            }
             getCellItems().put(what, currentAmount + amount);
+            this.changeJournals.onStackChange(what, amount);
             this.saveChanges();
         }
 
@@ -434,6 +490,9 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             if (amount >= currentAmount) {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().remove(what, currentAmount);
+                    this.keyTags.remove(what);
+                    this.keysChanged = true;
+                    this.changeJournals.onStackChange(what, -currentAmount);
                     this.saveChanges();
                 }
 
@@ -441,6 +500,7 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             } else {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().put(what, currentAmount - amount);
+                    this.changeJournals.onStackChange(what, -amount);
                     this.saveChanges();
                 }
 
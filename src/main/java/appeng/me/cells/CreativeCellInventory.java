@@ -31,8 +31,10 @@
 import appeng.api.storage.cells.CellState;
 import appeng.api.storage.cells.StorageCell;
 import appeng.items.contents.CellConfig;
+import appeng.me.storage.IJournaledStorage;
+import appeng.me.storage.IStorageChangeJournal;
 
-class CreativeCellInventory implements StorageCell {
+class CreativeCellInventory implements StorageCell, IJournaledStorage {
     private final Set<AEKey> configured;
     private final ItemStack stack;
 
@@ -61,6 +63,21 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    @Override
+    public boolean canEnumerateConcurrently() {
+        return true;
+    }
+
+    @Override
+    public boolean addChangeJournal(IStorageChangeJournal journal) {
+        // The available stacks never change
+        return true;
+    }
+
+    @Override
+    public void removeChangeJournal(IStorageChangeJournal journal) {
+    }
+
     @Override
     public boolean isPreferredStorageFor(AEKey input, IActionSource source) {
         return this.configured.contains(input);
@@ -0,0 +1,93 @@
+package appeng.me.helpers;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Assigns dense int ids to {@link AEKey keys}, so that maps can be indexed by an int instead of the key. Equal keys
+ * always have the same id.
+ * <p/>
+ * An id is only assigned for as long as its {@link Id} is reachable. Once it isn't, the id is reused for other keys.
+ * Anything that stores ids must thus also keep a reference to their {@link Id}, like {@link IntKeyCounter} does.
+ */
+final class AEKeyRegistry {
+    /**
+     * Maps the key each id was assigned for to its id. That instance of the key is kept alive by the id.
+     */
+    private static final Map<AEKey, IdReference> IDS = new WeakHashMap<>();
+    private static final ReferenceQueue<Id> RECLAIMED = new ReferenceQueue<>();
+    private static final IntArrayList freeIds = new IntArrayList();
+    private static int nextId;
+
+    private AEKeyRegistry() {
+    }
+
+    /**
+     * @return The id of the key, which is assigned to it for as long as the returned object is reachable.
+     */
+    static synchronized Id getId(AEKey key) {
+        reclaimIds();
+
+        var ref = IDS.get(key);
+        var id = ref != null ? ref.get() : null;
+        if (id == null) {
+            if (ref != null) {
+                // Make sure that the map holds the instance referenced by the new id
+                IDS.remove(key);
+            }
+            id = new Id(freeIds.isEmpty() ? nextId++ : freeIds.popInt(), key);
+            IDS.put(key, new IdReference(id));
+        }
+        return id;
+    }
+
+    /**
+     * @return The id currently assigned to the key, or -1 if it has none. Does not assign an id.
+     */
+    static synchronized int findId(AEKey key) {
+        var ref = IDS.get(key);
+        var id = ref != null ? ref.get() : null;
+        return id != null ? id.value : -1;
+    }
+
+    /**
+     * @return The number of keys that currently have an id.
+     */
+    static synchronized int size() {
+        reclaimIds();
+        return IDS.size();
+    }
+
+    private static void reclaimIds() {
+        IdReference ref;
+        while ((ref = (IdReference) RECLAIMED.poll()) != null) {
+            freeIds.add(ref.value);
+        }
+    }
+
+    static final class Id {
+        final int value;
+        // Keeps the instance used as the key in IDS alive
+        final AEKey key;
+
+        private Id(int value, AEKey key) {
+            this.value = value;
+            this.key = key;
+        }
+    }
+
+    private static final class IdReference extends WeakReference<Id> {
+        private final int value;
+
+        IdReference(Id id) {
+            super(id, RECLAIMED);
+            this.value = id.value;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package appeng.me.helpers;
+
+import java.util.Objects;
+import java.util.function.ObjLongConsumer;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+
+/**
+ * Counts amounts by key like {@link KeyCounter}, but stores them in a single map indexed by the
+ * {@link AEKeyRegistry registry id} of each key. The amounts are not boxed, so adding to an existing entry doesn't
+ * allocate. It does not support fuzzy search.
+ * <p/>
+ * Looking up the id of a key takes a global lock and hashes the key, so every operation costs more than a lookup in
+ * an {@code Object2LongOpenHashMap}. Only use it where that is outweighed by iterating or updating the amounts without
+ * boxing.
+ */
+public final class IntKeyCounter {
+    private final Int2LongOpenHashMap amounts = new Int2LongOpenHashMap();
+    /**
+     * The id of each key in {@link #amounts}, which prevents the ids from being reused for other keys.
+     */
+    private final Int2ObjectOpenHashMap<AEKeyRegistry.Id> ids = new Int2ObjectOpenHashMap<>();
+
+    public long get(AEKey key) {
+        Objects.requireNonNull(key, "key");
+        var id = AEKeyRegistry.findId(key);
+        return id >= 0 ? amounts.get(id) : 0;
+    }
+
+    public void add(AEKey key, long amount) {
+        Objects.requireNonNull(key, "key");
+        var id = AEKeyRegistry.getId(key);
+        if (amounts.addTo(id.value, amount) == 0) {
+            ids.putIfAbsent(id.value, id);
+        }
+    }
+
+    public void remove(AEKey key, long amount) {
+        add(key, -amount);
+    }
+
+    public void set(AEKey key, long amount) {
+        Objects.requireNonNull(key, "key");
+        var id = AEKeyRegistry.getId(key);
+        if (amounts.put(id.value, amount) == 0) {
+            ids.putIfAbsent(id.value, id);
+        }
+    }
+
+    /**
+     * Removes the entry for the given key entirely. In contrast to {@link #remove(AEKey, long)}, this does not leave an
+     * entry with an amount of zero behind.
+     */
+    public void removeKey(AEKey key) {
+        Objects.requireNonNull(key, "key");
+        var id = AEKeyRegistry.findId(key);
+        if (id >= 0) {
+            amounts.remove(id);
+            ids.remove(id);
+        }
+    }
+
+    public void removeZeros() {
+        var it = amounts.int2LongEntrySet().fastIterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (entry.getLongValue() == 0) {
+                ids.remove(entry.getIntKey());
+                it.remove();
+            }
+        }
+    }
+
+    public void forEach(ObjLongConsumer<AEKey> consumer) {
+        for (var entry : amounts.int2LongEntrySet()) {
+            consumer.accept(ids.get(entry.getIntKey()).key, entry.getLongValue());
+        }
+    }
+
+    public boolean isEmpty() {
+        return amounts.isEmpty();
+    }
+
+    public int size() {
+        return amounts.size();
+    }
+
+    public void clear() {
+        amounts.clear();
+        ids.clear();
+    }
+}
@@ -21,26 +21,44 @@
 import java.util.Collection;
 import java.util.Set;
 
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
+
 import appeng.api.stacks.AEKey;
 
+/**
+ * Tracks which watchers are interested in which keys. The watchers of each key are kept in a flat list, so looking up
+ * the watchers of a changed key doesn't allocate.
+ */
 public class InterestManager<T> {
 
-    private final Multimap<AEKey, T> container;
+    private final Object2ObjectOpenHashMap<AEKey, ObjectArrayList<T>> container = new Object2ObjectOpenHashMap<>();
     private final Set<T> allStacksWatchers = Sets.newIdentityHashSet();
 
-    public InterestManager(Multimap<AEKey, T> interests) {
-        this.container = interests;
-    }
-
     public boolean put(AEKey stack, T iw) {
-        return this.container.put(stack, iw);
+        var watchers = this.container.get(stack);
+        if (watchers == null) {
+            watchers = new ObjectArrayList<>(1);
+            this.container.put(stack, watchers);
+        } else if (watchers.contains(iw)) {
+            return false;
+        }
+        return watchers.add(iw);
     }
 
     public boolean remove(AEKey stack, T iw) {
-        return this.container.remove(stack, iw);
+        var watchers = this.container.get(stack);
+        if (watchers == null || !watchers.remove(iw)) {
+            return false;
+        }
+        if (watchers.isEmpty()) {
+            this.container.remove(stack);
+        }
+        return true;
     }
 
     public void setWatchAll(boolean watchAll, T watcher) {
@@ -55,8 +73,20 @@ public boolean containsKey(AEKey stack) {
         return this.container.containsKey(stack);
     }
 
-    public Collection<T> get(AEKey stack) {
-        return this.container.get(stack);
+    /**
+     * @return The watchers interested in the given key, not including those that watch all keys. The returned list
+     *         must not be modified.
+     */
+    public ObjectList<T> get(AEKey stack) {
+        var watchers = this.container.get(stack);
+        return watchers != null ? watchers : ObjectLists.emptyList();
+    }
+
+    /**
+     * @return The keys that specific watchers are interested in. Must not be modified.
+     */
+    public Set<AEKey> getWatchedKeys() {
+        return this.container.keySet();
     }
 
     public Collection<T> getAllStacksWatchers() {
@@ -3,12 +3,16 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import appeng.api.networking.IStackWatcher;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
 
 /**
  * Maintain my interests, and a global watch list, they should always be fully synchronized.
+ * <p/>
+ * Changes to the watched keys are queued in the watcher and delivered to the host as one batch per update.
  */
 public class StackWatcher<T> implements IStackWatcher {
 
@@ -16,6 +20,13 @@
     private final T myHost;
     private final Set<AEKey> myInterests = new HashSet<>();
     private boolean destroyed = false;
+    private boolean watchAll = false;
+    /**
+     * Changes to the watched keys that haven't been delivered to the host yet.
+     */
+    private final KeyCounter pendingChanges = new KeyCounter();
+    private long deliveredBatches;
+    private long deliveredChanges;
 
     public StackWatcher(InterestManager<StackWatcher<T>> interestManager, T host) {
         this.interestManager = interestManager;
@@ -29,6 +40,7 @@ public T getHost() {
     @Override
     public void setWatchAll(boolean watchAll) {
         if (!destroyed) {
+            this.watchAll = watchAll;
             interestManager.setWatchAll(watchAll, this);
         }
     }
@@ -59,6 +71,56 @@ public void reset() {
         }
     }
 
+    public boolean isWatchingAll() {
+        return watchAll;
+    }
+
+    /**
+     * Queues a change to one of the watched keys for delivery with the next batch.
+     *
+     * @return True if this is the first change queued since the last batch was delivered.
+     */
+    public boolean queueChange(AEKey what, long amount) {
+        var first = pendingChanges.isEmpty();
+        pendingChanges.set(what, amount);
+        return first;
+    }
+
+    /**
+     * Delivers the queued changes to the host as one batch.
+     */
+    public void deliverPendingChanges(BiConsumer<T, KeyCounter> delivery) {
+        if (!pendingChanges.isEmpty()) {
+            deliver(pendingChanges, delivery);
+            pendingChanges.clear();
+        }
+    }
+
+    /**
+     * Delivers the given batch of changes to the host, bypassing the queue. Used for watchers that watch all keys.
+     */
+    public void deliver(KeyCounter changes, BiConsumer<T, KeyCounter> delivery) {
+        if (!destroyed) {
+            deliveredBatches++;
+            deliveredChanges += changes.size();
+            delivery.accept(myHost, changes);
+        }
+    }
+
+    /**
+     * @return The number of batches of changes delivered to the host so far.
+     */
+    public long getDeliveredBatches() {
+        return deliveredBatches;
+    }
+
+    /**
+     * @return The number of changes delivered to the host so far, summed over all batches.
+     */
+    public long getDeliveredChanges() {
+        return deliveredChanges;
+    }
+
     /**
      * Call this when the watcher is not going to be used anymore, to reset it and disable it forever. It's important
      * that we disable the watcher, since some hosts (e.g. level emitter) might still hold a reference to it and try to
@@ -66,6 +128,7 @@ public void reset() {
      */
     public void destroy() {
         reset();
+        pendingChanges.clear();
         destroyed = true;
     }
 }
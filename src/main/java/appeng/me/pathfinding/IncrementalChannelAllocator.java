@@ -0,0 +1,243 @@
+package appeng.me.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import appeng.api.networking.GridFlags;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.Grid;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+/**
+ * Updates the channels of a grid with a controller when nodes are added to or removed from the edge of the grid,
+ * without running a full {@link PathingCalculation}. A leaf is a node with a single connection to the rest of the grid.
+ * An added leaf is routed through its only neighbor, and gets a channel along the existing route of that neighbor to
+ * the controller if it needs one. A removed leaf releases the channel it was using along its route.
+ * <p/>
+ * All other changes to the grid, and leaves for which no channel is available on the existing route, require a full
+ * calculation. Connections between nodes that were already part of a grid (i.e. nodes that are loaded with their
+ * chunk, or that are moved over when two grids are merged) don't invalidate the channels the nodes brought along, so
+ * the full calculation can run in the background while they remain in use.
+ */
+public final class IncrementalChannelAllocator {
+    private final Grid grid;
+    private final Set<GridNode> addedNodes = new ReferenceLinkedOpenHashSet<>();
+    private final Set<GridConnection> addedConnections = new ReferenceOpenHashSet<>();
+    /**
+     * Connections where neither side is an added node.
+     */
+    private final Set<GridConnection> existingNodeConnections = new ReferenceOpenHashSet<>();
+    private final List<Removal> removals = new ArrayList<>();
+    private final Set<GridNode> removedNodes = new ReferenceOpenHashSet<>();
+    private int channelsInUseDelta;
+    private int channelsByBlocksDelta;
+
+    public IncrementalChannelAllocator(Grid grid) {
+        this.grid = grid;
+    }
+
+    public void nodeAdded(GridNode node) {
+        addedNodes.add(node);
+    }
+
+    public void connectionAdded(GridConnection connection) {
+        if (addedNodes.contains(connection.a()) || addedNodes.contains(connection.b())) {
+            addedConnections.add(connection);
+        } else {
+            existingNodeConnections.add(connection);
+        }
+    }
+
+    /**
+     * Must be called before the connections of the node are removed.
+     *
+     * @return True if the node is a leaf, and the channel it is using will be released by {@link #apply()}.
+     */
+    public boolean leafRemoved(GridNode node) {
+        if (!isLeafCandidate(node) || addedNodes.contains(node)) {
+            return false;
+        }
+
+        var nodeConnections = node.getConnections();
+        if (nodeConnections.size() != 1) {
+            return false;
+        }
+        var connection = (GridConnection) nodeConnections.get(0);
+        // The node has to be the end of its route, not a step on the route of its neighbor
+        if (connection.a() == node || addedConnections.contains(connection)
+                || existingNodeConnections.contains(connection)) {
+            return false;
+        }
+
+        var channels = node.getUsedChannels();
+        if (channels != 0 && (channels != 1 || !node.hasFlag(GridFlags.REQUIRE_CHANNEL))) {
+            return false;
+        }
+
+        var route = new ArrayList<IPathItem>();
+        for (IPathItem item = connection; item != null; item = item.getControllerRoute()) {
+            route.add(item);
+        }
+        removals.add(new Removal(channels, route));
+        removedNodes.add(node);
+        return true;
+    }
+
+    public boolean isAdded(GridNode node) {
+        return addedNodes.contains(node);
+    }
+
+    public boolean isRemovedLeaf(GridNode node) {
+        return removedNodes.contains(node);
+    }
+
+    public boolean hasChanges() {
+        return !addedNodes.isEmpty() || !addedConnections.isEmpty() || !existingNodeConnections.isEmpty()
+                || !removals.isEmpty();
+    }
+
+    /**
+     * @return True if nodes that were already part of a grid have been connected, which requires a full calculation.
+     *         The channels of the nodes remain valid until it completes.
+     */
+    public boolean hasExistingNodeConnections() {
+        return !existingNodeConnections.isEmpty();
+    }
+
+    public boolean hasRemovals() {
+        return !removals.isEmpty();
+    }
+
+    /**
+     * Applies the recorded changes to the routes and channels of the grid, and finalizes them.
+     */
+    public Result apply() {
+        channelsInUseDelta = 0;
+        channelsByBlocksDelta = 0;
+
+        // Check all additions before changing anything
+        if (addedConnections.size() != addedNodes.size()) {
+            return Result.NOT_INCREMENTAL;
+        }
+        for (var node : addedNodes) {
+            if (node.getInternalGrid() != grid || !isLeafCandidate(node) || node.getConnections().size() != 1) {
+                return Result.NOT_INCREMENTAL;
+            }
+            var connection = (GridConnection) node.getConnections().get(0);
+            var parent = (GridNode) connection.getOtherSide(node);
+            if (!addedConnections.contains(connection) || addedNodes.contains(parent)
+                    || parent.getInternalGrid() != grid) {
+                return Result.NOT_INCREMENTAL;
+            }
+        }
+
+        var changedItems = new ReferenceLinkedOpenHashSet<IPathItem>();
+
+        for (var removal : removals) {
+            if (removal.channels() > 0) {
+                for (var item : removal.route()) {
+                    item.incrementChannelCount(-removal.channels());
+                    changedItems.add(item);
+                }
+                channelsInUseDelta -= removal.channels();
+                // The removed node itself also counted towards the channels by blocks
+                channelsByBlocksDelta -= removal.channels() * (removal.route().size() + 1);
+            }
+        }
+
+        var result = Result.APPLIED;
+        for (var node : addedNodes) {
+            var connection = (GridConnection) node.getConnections().get(0);
+            connection.setControllerRoute(connection.getOtherSide(node));
+            node.setControllerRoute(connection);
+            changedItems.add(node);
+            changedItems.add(connection);
+
+            if (node.hasFlag(GridFlags.REQUIRE_CHANNEL) && !tryUseChannel(node, changedItems)) {
+                result = Result.CAPACITY_CONFLICT;
+            }
+        }
+
+        for (var item : changedItems) {
+            item.finalizeChannels();
+        }
+
+        return result;
+    }
+
+    /**
+     * Same as the allocation of {@link PathingCalculation}, but on the live path items.
+     */
+    private boolean tryUseChannel(IPathItem start, Set<IPathItem> changedItems) {
+        for (var item = start; item != null; item = item.getControllerRoute()) {
+            if (!item.canSupportMoreChannels()) {
+                return false;
+            }
+        }
+
+        for (var item = start; item != null; item = item.getControllerRoute()) {
+            item.incrementChannelCount(1);
+            changedItems.add(item);
+            channelsByBlocksDelta++;
+        }
+        channelsInUseDelta++;
+        return true;
+    }
+
+    /**
+     * Multiblocks, controllers and P2P tunnels have special routing rules, and always use a full calculation.
+     */
+    private static boolean isLeafCandidate(GridNode node) {
+        return !node.hasFlag(GridFlags.MULTIBLOCK)
+                && !node.hasFlag(GridFlags.COMPRESSED_CHANNEL)
+                && !node.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED)
+                && !node.hasFlag(GridFlags.CANNOT_CARRY)
+                && !(node.getOwner() instanceof ControllerBlockEntity);
+    }
+
+    /**
+     * Change of {@link appeng.api.networking.pathing.IPathingService#getUsedChannels()} by the last {@link #apply()}.
+     */
+    public int getChannelsInUseDelta() {
+        return channelsInUseDelta;
+    }
+
+    public int getChannelsByBlocksDelta() {
+        return channelsByBlocksDelta;
+    }
+
+    public void clear() {
+        addedNodes.clear();
+        addedConnections.clear();
+        existingNodeConnections.clear();
+        removals.clear();
+        removedNodes.clear();
+    }
+
+    public enum Result {
+        /**
+         * All changes have been applied.
+         */
+        APPLIED,
+        /**
+         * All changes have been applied, but some of the added nodes did not get a channel, which a full calculation
+         * might find by rerouting other nodes.
+         */
+        CAPACITY_CONFLICT,
+        /**
+         * Nothing has been changed, since not all changes were leaves.
+         */
+        NOT_INCREMENTAL
+    }
+
+    /**
+     * @param route The items from the connection of the removed node to the controller.
+     */
+    private record Removal(int channels, List<IPathItem> route) {
+    }
+}
@@ -18,41 +18,47 @@
 
 package appeng.me.pathfinding;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
-import appeng.api.networking.GridFlags;
-import appeng.api.networking.IGrid;
-import appeng.api.networking.IGridMultiblock;
-import appeng.api.networking.IGridNode;
-import appeng.blockentity.networking.ControllerBlockEntity;
-import appeng.me.GridConnection;
-import appeng.me.GridNode;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 /**
- * Calculation to assign channels starting from the controllers. Basically a BFS, with one step each tick.
+ * Calculation to assign channels starting from the controllers. Basically a BFS over a {@link PathingGraph}, with one
+ * step for each BFS level. Since it only works on the snapshot, it can run on any thread. The result is then applied
+ * to the grid on the server thread with {@link #applyChannels()}.
  */
 public class PathingCalculation {
-
+    private final PathingGraph graph;
     /**
      * Path items that are part of a multiblock that was already granted a channel.
      */
-    private final Set<IPathItem> multiblocksWithChannel = new HashSet<>();
+    private final BitSet multiblocksWithChannel;
     /**
-     * The BFS queues: all the path items that need to be visited on the next tick. Dense queue is prioritized to have
+     * The BFS queues: all the path items that need to be visited on the next step. Dense queue is prioritized to have
      * the behavior of dense cables extending the controller faces, then cables, then normal devices.
      */
-    private List<IPathItem>[] queues = new List[] {
-            new ArrayList<>(), // 0: dense cable queue
-            new ArrayList<>(), // 1: normal cable queue
-            new ArrayList<>() // 2: non-cable queue
+    private final IntArrayList[] queues = new IntArrayList[] {
+            new IntArrayList(), // 0: dense cable queue
+            new IntArrayList(), // 1: normal cable queue
+            new IntArrayList() // 2: non-cable queue
     };
+    /**
+     * The queue that was last processed, reused for the next step to avoid allocating a new one.
+     */
+    private IntArrayList processedQueue = new IntArrayList();
     /**
      * Path items that are either in the queue, or have been processed already.
      */
-    private final Set<IPathItem> visited = new HashSet<>();
+    private final BitSet visited;
+    /**
+     * The BFS parent of each path item, or -1 if it was not visited (or is a controller).
+     */
+    private final int[] parents;
+    /**
+     * The number of channels passing through each path item.
+     */
+    private final int[] channels;
     /**
      * Tracks the total number of used channels.
      */
@@ -63,41 +69,40 @@ public class PathingCalculation {
     private int channelsByBlocks = 0;
 
     /**
-     * Create a new pathing calculation from the passed grid.
+     * Create a new pathing calculation for the passed grid snapshot.
      */
-    public PathingCalculation(IGrid grid) {
+    public PathingCalculation(PathingGraph graph) {
+        this.graph = graph;
+        this.multiblocksWithChannel = new BitSet(graph.size());
+        this.visited = new BitSet(graph.size());
+        this.parents = new int[graph.size()];
+        this.channels = new int[graph.size()];
+        Arrays.fill(this.parents, -1);
+
         // Add every outgoing connection of the controllers (that doesn't point to another controller) to the list.
-        for (var node : grid.getMachineNodes(ControllerBlockEntity.class)) {
-            visited.add((IPathItem) node);
-            for (var gcc : node.getConnections()) {
-                var gc = (GridConnection) gcc;
-                if (!(gc.getOtherSide(node).getOwner() instanceof ControllerBlockEntity)) {
+        var controllers = graph.controllers;
+        for (var node = controllers.nextSetBit(0); node >= 0; node = controllers.nextSetBit(node + 1)) {
+            visited.set(node);
+            for (var i = graph.adjacencyStart[node]; i < graph.adjacencyStart[node + 1]; i++) {
+                var gc = graph.adjacency[i];
+                if (!controllers.get(getOtherSide(gc, node))) {
                     enqueue(gc, 0);
-                    gc.setControllerRoute((GridNode) node);
+                    parents[gc] = node;
                 }
             }
         }
     }
 
-    private void enqueue(IPathItem pathItem, int queueIndex) {
-        visited.add(pathItem);
+    private int getOtherSide(int connection, int node) {
+        var start = graph.adjacencyStart[connection];
+        var a = graph.adjacency[start];
+        return a == node ? graph.adjacency[start + 1] : a;
+    }
 
-        int possibleIndex;
+    private void enqueue(int pathItem, int queueIndex) {
+        visited.set(pathItem);
 
-        if (pathItem instanceof GridConnection) {
-            // Grid connection does not have flags, allow any queue.
-            possibleIndex = 0;
-        } else if (pathItem.hasFlag(GridFlags.DENSE_CAPACITY)) {
-            // Dense queue if possible.
-            possibleIndex = 0;
-        } else if (pathItem.hasFlag(GridFlags.PREFERRED)) {
-            // Cable queue if possible.
-            possibleIndex = 1;
-        } else {
-            possibleIndex = 2;
-        }
-
-        int index = Math.max(possibleIndex, queueIndex);
+        int index = Math.max(graph.minQueue[pathItem], queueIndex);
         queues[index].add(pathItem);
     }
 
@@ -105,41 +110,47 @@ public void step() {
         // Keep processing dense queue as long as it's not empty.
         for (int i = 0; i < 3; ++i) {
             if (!queues[i].isEmpty()) {
-                List<IPathItem> oldOpen = queues[i];
-                queues[i] = new ArrayList<>();
+                IntArrayList oldOpen = queues[i];
+                queues[i] = processedQueue;
                 processQueue(oldOpen, i);
+                oldOpen.clear();
+                processedQueue = oldOpen;
                 break;
             }
         }
     }
 
-    private void processQueue(List<IPathItem> oldOpen, int queueIndex) {
-        for (IPathItem i : oldOpen) {
-            for (IPathItem pi : i.getPossibleOptions()) {
-                if (!this.visited.contains(pi)) {
+    /**
+     * Runs all remaining steps.
+     */
+    public void compute() {
+        while (!isFinished()) {
+            step();
+        }
+    }
+
+    private void processQueue(IntArrayList oldOpen, int queueIndex) {
+        for (var k = 0; k < oldOpen.size(); k++) {
+            var i = oldOpen.getInt(k);
+            for (var j = graph.adjacencyStart[i]; j < graph.adjacencyStart[i + 1]; j++) {
+                var pi = graph.adjacency[j];
+                if (!this.visited.get(pi)) {
                     // Set BFS parent.
-                    pi.setControllerRoute(i);
+                    parents[pi] = i;
 
-                    if (pi.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
-                        if (this.multiblocksWithChannel.contains(pi)) {
+                    if (graph.requireChannel.get(pi)) {
+                        if (this.multiblocksWithChannel.get(pi)) {
                             // If this is part of a multiblock that was given a channel before, just give a channel to
                             // the node.
-                            pi.incrementChannelCount(1);
-                            this.multiblocksWithChannel.remove(pi);
+                            channels[pi]++;
+                            this.multiblocksWithChannel.clear(pi);
                         } else {
                             // Otherwise try to use the channel along the path.
                             boolean worked = tryUseChannel(pi);
 
-                            if (worked && pi.hasFlag(GridFlags.MULTIBLOCK)) {
-                                var multiblock = ((IGridNode) pi).getService(IGridMultiblock.class);
-                                if (multiblock != null) {
-                                    var oni = multiblock.getMultiblockNodes();
-                                    while (oni.hasNext()) {
-                                        final IGridNode otherNodes = oni.next();
-                                        if (otherNodes != pi) {
-                                            this.multiblocksWithChannel.add((IPathItem) otherNodes);
-                                        }
-                                    }
+                            if (worked) {
+                                for (var m = graph.multiblockStart[pi]; m < graph.multiblockStart[pi + 1]; m++) {
+                                    this.multiblocksWithChannel.set(graph.multiblock[m]);
                                 }
                             }
                         }
@@ -151,34 +162,47 @@ private void processQueue(List<IPathItem> oldOpen, int queueIndex) {
         }
     }
 
+    /**
+     * Equivalent of {@link IPathItem#getControllerRoute()} for the routes found so far.
+     */
+    private int getControllerRoute(int pathItem) {
+        if (graph.connections.get(pathItem)) {
+            // Connections lead to their parent node, unless it cannot carry channels
+            var parent = parents[pathItem];
+            return parent < 0 || graph.cannotCarry.get(parent) ? -1 : parent;
+        } else {
+            return graph.cannotCarry.get(pathItem) ? -1 : parents[pathItem];
+        }
+    }
+
     /**
      * Try to allocate a channel along the path from {@code start} to the controller.
      *
      * @return true if allocation was successful
      */
-    private boolean tryUseChannel(IPathItem start) {
-        boolean isCompressed = start.hasFlag(GridFlags.COMPRESSED_CHANNEL);
+    private boolean tryUseChannel(int start) {
+        boolean isCompressed = graph.compressedChannel.get(start);
 
         // Check that the allocation is possible.
-        IPathItem pi = start;
-        while (pi != null) {
-            if (!pi.canSupportMoreChannels()) {
+        int pi = start;
+        while (pi >= 0) {
+            if (channels[pi] >= graph.maxChannels[pi]) {
                 return false;
             }
-            if (isCompressed && pi.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED)) {
+            if (isCompressed && graph.cannotCarryCompressed.get(pi)) {
                 // Don't send a compressed channel through this item.
                 return false;
             }
 
-            pi = pi.getControllerRoute();
+            pi = getControllerRoute(pi);
         }
 
         // Allocate the channel along the path.
         pi = start;
-        while (pi != null) {
+        while (pi >= 0) {
             channelsByBlocks++;
-            pi.incrementChannelCount(1);
-            pi = pi.getControllerRoute();
+            channels[pi]++;
+            pi = getControllerRoute(pi);
         }
 
         channelsInUse++;
@@ -186,7 +210,7 @@ private boolean tryUseChannel(IPathItem start) {
     }
 
     public boolean isFinished() {
-        for (List<IPathItem> queue : queues) {
+        for (IntArrayList queue : queues) {
             if (!queue.isEmpty()) {
                 return false;
             }
@@ -194,6 +218,22 @@ public boolean isFinished() {
         return true;
     }
 
+    /**
+     * Sets the routes and channel counts found by this calculation on the path items of the grid, which still have to
+     * be finalized afterwards. Must be called on the server thread, and only if the grid has not changed since the
+     * snapshot was taken.
+     */
+    public void applyChannels() {
+        for (var i = 0; i < graph.size(); i++) {
+            var parent = parents[i];
+            if (parent >= 0) {
+                var pathItem = graph.items[i];
+                pathItem.setControllerRoute(graph.items[parent]);
+                pathItem.incrementChannelCount(channels[i]);
+            }
+        }
+    }
+
     public int getChannelsInUse() {
         return channelsInUse;
     }
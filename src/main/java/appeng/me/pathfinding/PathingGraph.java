@@ -0,0 +1,155 @@
+package appeng.me.pathfinding;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridMultiblock;
+import appeng.api.networking.IGridNode;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.GridConnection;
+
+/**
+ * Compact snapshot of the topology of a grid, taken on the server thread so that a {@link PathingCalculation} can run
+ * on another thread without touching the grid. Every path item (nodes and connections) is numbered, and the neighbors
+ * of all items are stored in a single array (compressed sparse rows) in the order of
+ * {@link IPathItem#getPossibleOptions()}.
+ */
+public final class PathingGraph {
+    final IPathItem[] items;
+    /**
+     * The neighbors of item {@code i} are {@code adjacency[adjacencyStart[i]]} to
+     * {@code adjacency[adjacencyStart[i + 1] - 1]}.
+     */
+    final int[] adjacencyStart;
+    int[] adjacency;
+    /**
+     * The other nodes of the multiblock of item {@code i}, for items requiring a channel that are part of a multiblock.
+     */
+    final int[] multiblockStart;
+    int[] multiblock;
+    final int[] maxChannels;
+    /**
+     * The first BFS queue that items can be put into. See {@link PathingCalculation}.
+     */
+    final byte[] minQueue;
+    final BitSet connections;
+    final BitSet controllers;
+    final BitSet requireChannel;
+    final BitSet compressedChannel;
+    final BitSet cannotCarry;
+    final BitSet cannotCarryCompressed;
+
+    private PathingGraph(int size) {
+        this.items = new IPathItem[size];
+        this.adjacencyStart = new int[size + 1];
+        this.multiblockStart = new int[size + 1];
+        this.maxChannels = new int[size];
+        this.minQueue = new byte[size];
+        this.connections = new BitSet(size);
+        this.controllers = new BitSet(size);
+        this.requireChannel = new BitSet(size);
+        this.compressedChannel = new BitSet(size);
+        this.cannotCarry = new BitSet(size);
+        this.cannotCarryCompressed = new BitSet(size);
+    }
+
+    /**
+     * Must be called on the server thread.
+     */
+    public static PathingGraph create(IGrid grid) {
+        // Number all nodes first, then all connections
+        var itemList = new ArrayList<IPathItem>(grid.size() * 2);
+        var ids = new Reference2IntOpenHashMap<IPathItem>(grid.size() * 2);
+        ids.defaultReturnValue(-1);
+        for (var node : grid.getNodes()) {
+            addItem(itemList, ids, (IPathItem) node);
+        }
+        var nodeCount = itemList.size();
+        for (var i = 0; i < nodeCount; i++) {
+            for (var connection : ((IGridNode) itemList.get(i)).getConnections()) {
+                addItem(itemList, ids, (GridConnection) connection);
+            }
+        }
+
+        var graph = new PathingGraph(itemList.size());
+        var adjacency = new IntArrayList(itemList.size() * 2);
+        var multiblock = new IntArrayList();
+        for (var i = 0; i < itemList.size(); i++) {
+            var item = itemList.get(i);
+            graph.items[i] = item;
+            graph.maxChannels[i] = item.getMaxChannels();
+
+            if (item instanceof GridConnection) {
+                // Grid connection does not have flags, allow any queue.
+                graph.connections.set(i);
+                graph.minQueue[i] = 0;
+            } else if (item.hasFlag(GridFlags.DENSE_CAPACITY)) {
+                graph.minQueue[i] = 0;
+            } else if (item.hasFlag(GridFlags.PREFERRED)) {
+                graph.minQueue[i] = 1;
+            } else {
+                graph.minQueue[i] = 2;
+            }
+
+            if (item instanceof IGridNode node && node.getOwner() instanceof ControllerBlockEntity) {
+                graph.controllers.set(i);
+            }
+            graph.requireChannel.set(i, item.hasFlag(GridFlags.REQUIRE_CHANNEL));
+            graph.compressedChannel.set(i, item.hasFlag(GridFlags.COMPRESSED_CHANNEL));
+            graph.cannotCarry.set(i, item.hasFlag(GridFlags.CANNOT_CARRY));
+            graph.cannotCarryCompressed.set(i, item.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED));
+
+            graph.adjacencyStart[i] = adjacency.size();
+            for (var option : item.getPossibleOptions()) {
+                var optionId = ids.getInt(option);
+                if (optionId >= 0) {
+                    adjacency.add(optionId);
+                }
+            }
+
+            graph.multiblockStart[i] = multiblock.size();
+            if (item.hasFlag(GridFlags.REQUIRE_CHANNEL) && item.hasFlag(GridFlags.MULTIBLOCK)) {
+                addOtherMultiblockNodes(multiblock, ids, (IGridNode) item);
+            }
+        }
+        graph.adjacencyStart[itemList.size()] = adjacency.size();
+        graph.multiblockStart[itemList.size()] = multiblock.size();
+        graph.adjacency = adjacency.toIntArray();
+        graph.multiblock = multiblock.toIntArray();
+
+        return graph;
+    }
+
+    private static void addItem(List<IPathItem> itemList, Reference2IntMap<IPathItem> ids, IPathItem item) {
+        if (!ids.containsKey(item)) {
+            ids.put(item, itemList.size());
+            itemList.add(item);
+        }
+    }
+
+    private static void addOtherMultiblockNodes(IntArrayList multiblock, Reference2IntMap<IPathItem> ids,
+            IGridNode node) {
+        var service = node.getService(IGridMultiblock.class);
+        if (service != null) {
+            var it = service.getMultiblockNodes();
+            while (it.hasNext()) {
+                var otherNode = it.next();
+                var otherId = ids.getInt(otherNode);
+                if (otherNode != node && otherId >= 0) {
+                    multiblock.add(otherId);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return items.length;
+    }
+}
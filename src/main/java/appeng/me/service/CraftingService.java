@@ -23,17 +23,14 @@
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
 import org.apache.commons.lang3.mutable.MutableObject;
@@ -65,11 +62,17 @@
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.AEKeyFilter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
+import appeng.core.AEConfig;
 import appeng.crafting.CraftingCalculation;
+import appeng.crafting.CraftingCalculationPool;
+import appeng.crafting.CraftingPatternSnapshot;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.execution.CraftingCpuLogic;
+import appeng.crafting.execution.CraftingCpuScheduler;
 import appeng.crafting.execution.CraftingSubmitResult;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.InterestManager;
@@ -95,17 +98,7 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
             .comparingInt(CraftingCPUCluster::getCoProcessors)
             .thenComparingLong(CraftingCPUCluster::getAvailableStorage);
 
-    private static final ExecutorService CRAFTING_POOL;
-
     static {
-        final ThreadFactory factory = ar -> {
-            final Thread crafting = new Thread(ar, "AE Crafting Calculator");
-            crafting.setDaemon(true);
-            return crafting;
-        };
-
-        CRAFTING_POOL = Executors.newCachedThreadPool(factory);
-
         GridHelper.addGridServiceEventHandler(GridCraftingCpuChange.class, ICraftingService.class,
                 (service, event) -> {
                     ((CraftingService) service).updateList = true;
@@ -113,13 +106,20 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
     }
 
     private final Set<CraftingCPUCluster> craftingCPUClusters = new HashSet<>();
+    private final CraftingCpuScheduler cpuScheduler = new CraftingCpuScheduler();
     private final Map<IGridNode, StackWatcher<ICraftingWatcherNode>> craftingWatchers = new HashMap<>();
     private final IGrid grid;
     private final NetworkCraftingProviders craftingProviders = new NetworkCraftingProviders();
     private final Map<UUID, CraftingLinkNexus> craftingLinks = new HashMap<>();
-    private final Multimap<AEKey, StackWatcher<ICraftingWatcherNode>> interests = HashMultimap.create();
-    private final InterestManager<StackWatcher<ICraftingWatcherNode>> interestManager = new InterestManager<>(
-            this.interests);
+    private final InterestManager<StackWatcher<ICraftingWatcherNode>> interestManager = new InterestManager<>();
+    /**
+     * Watchers of specific keys that have changes queued for the current batch.
+     */
+    private final List<StackWatcher<ICraftingWatcherNode>> pendingWatchers = new ArrayList<>();
+    /**
+     * All changed keys of the current batch, delivered to the watchers that watch all keys.
+     */
+    private final KeyCounter pendingChanges = new KeyCounter();
     private final IEnergyService energyGrid;
     private final Set<AEKey> currentlyCrafting = new HashSet<>();
     private final Set<AEKey> currentlyCraftable = new HashSet<>();
@@ -146,8 +146,9 @@ public void onServerEndTick() {
         this.currentlyCrafting.clear();
         this.currentlyCraftable.clear();
 
+        var budgetNanos = AEConfig.instance().getCraftingCpuTickBudget() * 1000L;
+        this.cpuScheduler.tick(budgetNanos, cpu -> cpu.tickCraftingLogic(energyGrid, this));
         for (CraftingCPUCluster cpu : this.craftingCPUClusters) {
-            cpu.craftingLogic.tickCraftingLogic(energyGrid, this);
             cpu.craftingLogic.getAllWaitingFor(this.currentlyCrafting);
         }
         currentlyCraftable.addAll(getCraftables(k -> true));
@@ -156,26 +157,47 @@ public void onServerEndTick() {
         var changed = new HashSet<AEKey>();
         changed.addAll(Sets.difference(previouslyCrafting, currentlyCrafting));
         changed.addAll(Sets.difference(currentlyCrafting, previouslyCrafting));
-        for (var what : changed) {
-            for (var watcher : interestManager.get(what)) {
-                watcher.getHost().onRequestChange(what);
-            }
-            for (var watcher : interestManager.getAllStacksWatchers()) {
-                watcher.getHost().onRequestChange(what);
-            }
-        }
+        dispatchWatcherUpdates(changed, (host, changes) -> host.onRequestChanges(changes.keySet()));
 
         // Notify watchers about items no longer craftable
         var changedCraftable = new HashSet<AEKey>();
         changedCraftable.addAll(Sets.difference(previouslyCraftable, currentlyCraftable));
         changedCraftable.addAll(Sets.difference(currentlyCraftable, previouslyCraftable));
-        for (var what : changedCraftable) {
-            for (var watcher : interestManager.get(what)) {
-                watcher.getHost().onCraftableChange(what);
+        dispatchWatcherUpdates(changedCraftable, (host, changes) -> host.onCraftableChanges(changes.keySet()));
+    }
+
+    /**
+     * Hands each watcher the changed keys it is interested in, as a single batch.
+     */
+    private void dispatchWatcherUpdates(Set<AEKey> changed, BiConsumer<ICraftingWatcherNode, KeyCounter> delivery) {
+        if (changed.isEmpty() || interestManager.isEmpty()) {
+            return;
+        }
+
+        var watchAll = !interestManager.getAllStacksWatchers().isEmpty();
+        for (var what : changed) {
+            var watchers = interestManager.get(what);
+            for (int i = 0; i < watchers.size(); i++) {
+                var watcher = watchers.get(i);
+                if (!watcher.isWatchingAll() && watcher.queueChange(what, 0)) {
+                    pendingWatchers.add(watcher);
+                }
             }
+            if (watchAll) {
+                pendingChanges.set(what, 0);
+            }
+        }
+
+        for (var watcher : pendingWatchers) {
+            watcher.deliverPendingChanges(delivery);
+        }
+        pendingWatchers.clear();
+
+        if (watchAll) {
             for (var watcher : interestManager.getAllStacksWatchers()) {
-                watcher.getHost().onCraftableChange(what);
+                watcher.deliver(pendingChanges, delivery);
             }
+            pendingChanges.clear();
         }
     }
 
@@ -239,11 +261,12 @@ public Set<AEKey> getCraftables(AEKeyFilter filter) {
 
     private void updateCPUClusters() {
         this.craftingCPUClusters.clear();
+        var cpuLogics = new ArrayList<CraftingCpuLogic>();
 
         for (var blockEntity : this.grid.getMachines(CraftingBlockEntity.class)) {
             final CraftingCPUCluster cluster = blockEntity.getCluster();
-            if (cluster != null) {
-                this.craftingCPUClusters.add(cluster);
+            if (cluster != null && this.craftingCPUClusters.add(cluster)) {
+                cpuLogics.add(cluster.craftingLogic);
 
                 ICraftingLink maybeLink = cluster.craftingLogic.getLastLink();
                 if (maybeLink != null) {
@@ -251,6 +274,8 @@ private void updateCPUClusters() {
                 }
             }
         }
+
+        this.cpuScheduler.setCpus(cpuLogics);
     }
 
     public void addLink(CraftingLink link) {
@@ -286,6 +311,11 @@ public void refreshNodeCraftingProvider(IGridNode node) {
         this.craftingProviders.addProvider(node);
     }
 
+    @Override
+    public void refreshNodeBusyState(IGridNode node) {
+        this.craftingProviders.refreshBusyState(node);
+    }
+
     @Nullable
     @Override
     public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
@@ -302,7 +332,14 @@ public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimu
         final CraftingCalculation job = new CraftingCalculation(level, grid, simRequester,
                 new GenericStack(what, amount), strategy);
 
-        return CRAFTING_POOL.submit(job::run);
+        return CraftingCalculationPool.submit(job);
+    }
+
+    /**
+     * @return The snapshot of this grid's patterns that crafting calculations work on.
+     */
+    public CraftingPatternSnapshot getPatternSnapshot() {
+        return this.craftingProviders.getSnapshot();
     }
 
     @Override
@@ -312,6 +349,13 @@ public ICraftingSubmitResult submitJob(ICraftingPlan job, ICraftingRequester req
             return CraftingSubmitResult.INCOMPLETE_PLAN;
         }
 
+        // The plan was calculated off-thread against a snapshot of the patterns, some of which may be gone by now.
+        for (var pattern : job.patternTimes().keySet()) {
+            if (!this.craftingProviders.hasMediums(pattern)) {
+                return CraftingSubmitResult.INCOMPLETE_PLAN;
+            }
+        }
+
         CraftingCPUCluster cpuCluster;
 
         if (target instanceof CraftingCPUCluster) {
@@ -428,6 +472,21 @@ public Iterable<ICraftingProvider> getProviders(IPatternDetails key) {
         return craftingProviders.getMediums(key);
     }
 
+    public CraftingCpuScheduler getCpuScheduler() {
+        return cpuScheduler;
+    }
+
+    /**
+     * @see NetworkCraftingProviders#recordSaturatedLookup
+     */
+    public boolean recordSaturatedLookup(IPatternDetails key) {
+        return craftingProviders.recordSaturatedLookup(key);
+    }
+
+    public Map<IPatternDetails, NetworkCraftingProviders.ProviderSaturation> getSaturatedProviders() {
+        return craftingProviders.getSaturatedPatterns();
+    }
+
     public boolean hasCpu(ICraftingCPU cpu) {
         return this.craftingCPUClusters.contains(cpu);
     }
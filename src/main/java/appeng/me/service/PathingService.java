@@ -20,8 +20,14 @@
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import net.minecraft.advancements.critereon.PlayerTrigger;
 import net.minecraft.nbt.CompoundTag;
@@ -46,15 +52,34 @@
 import appeng.core.AELog;
 import appeng.core.stats.AdvancementTriggers;
 import appeng.me.Grid;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
 import appeng.me.pathfinding.AdHocChannelUpdater;
 import appeng.me.pathfinding.ChannelFinalizer;
 import appeng.me.pathfinding.ControllerValidator;
+import appeng.me.pathfinding.IncrementalChannelAllocator;
 import appeng.me.pathfinding.PathingCalculation;
+import appeng.me.pathfinding.PathingGraph;
 
 public class PathingService implements IPathingService, IGridServiceProvider {
     private static final String TAG_CHANNEL_MODE = "cm";
+    /**
+     * The number of channels a node was using when it was saved, see {@link #saveNodeData}.
+     */
+    public static final String TAG_CHANNELS = "ch";
+
+    private static final ExecutorService PATHING_POOL;
 
     static {
+        final ThreadFactory factory = ar -> {
+            final Thread pathing = new Thread(ar, "AE Pathfinding");
+            pathing.setDaemon(true);
+            return pathing;
+        };
+
+        PATHING_POOL = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 4),
+                factory);
+
         GridHelper.addGridServiceEventHandler(GridChannelRequirementChanged.class,
                 IPathingService.class,
                 (service, event) -> {
@@ -62,7 +87,8 @@ public class PathingService implements IPathingService, IGridServiceProvider {
                 });
     }
 
-    private PathingCalculation ongoingCalculation = null;
+    @Nullable
+    private Future<PathingCalculation> ongoingCalculation = null;
     private final Set<ControllerBlockEntity> controllers = new HashSet<>();
     private final Set<IGridNode> nodesNeedingChannels = new HashSet<>();
     private final Set<IGridNode> cannotCarryCompressedNodes = new HashSet<>();
@@ -74,7 +100,22 @@ public class PathingService implements IPathingService, IGridServiceProvider {
     // Flag to indicate a reboot should occur next tick
     private boolean reboot = true;
     private boolean booting = false;
+    /**
+     * True while channels are being recalculated, either while booting, or in the background.
+     */
+    private boolean repathing = false;
+    /**
+     * True while the channels of all nodes are the result of a completed calculation, or were restored from the saved
+     * data of the nodes when they joined the grid (i.e. when the grid was loaded). In that case, the grid keeps using
+     * them while repathing instead of booting.
+     */
+    private boolean channelsValid = true;
     private int bootingTicks = 0;
+    /**
+     * Collects nodes added to and removed from the edge of the grid, whose channels can be updated without a full
+     * calculation.
+     */
+    private final IncrementalChannelAllocator incrementalAllocator;
     @Nullable
     private AdHocNetworkError adHocNetworkError;
     private ControllerState controllerState = ControllerState.NO_CONTROLLER;
@@ -88,6 +129,7 @@ public class PathingService implements IPathingService, IGridServiceProvider {
 
     public PathingService(IGrid g) {
         this.grid = (Grid) g;
+        this.incrementalAllocator = new IncrementalChannelAllocator(this.grid);
     }
 
     @Override
@@ -96,16 +138,27 @@ public void onServerEndTick() {
             this.updateControllerState();
         }
 
+        if (this.reboot && this.updateChannelsIncrementally()) {
+            this.reboot = false;
+        }
+
         if (this.reboot) {
             this.reboot = false;
 
-            if (!this.booting) {
-                this.booting = true;
+            // Grids whose channels are still valid keep using them until the new ones are available, without booting.
+            if (!this.channelsValid) {
+                if (!this.booting) {
+                    this.booting = true;
+                    this.postBootingStatusChange();
+                }
+
+                this.channelsInUse = 0;
+                this.channelsByBlocks = 0;
+            }
+            if (!this.repathing) {
+                this.repathing = true;
                 this.bootingTicks = 0;
-                this.postBootingStatusChange();
             }
-
-            this.channelsInUse = 0;
             this.adHocNetworkError = null;
 
             // updateControllerState / postBootingStatusChange called above can cause the grid to be destroyed,
@@ -124,45 +177,119 @@ public void onServerEndTick() {
 
                 this.grid.getPivot().beginVisit(new AdHocChannelUpdater(this.channelsInUse));
             } else if (this.controllerState == ControllerState.CONTROLLER_CONFLICT) {
+                this.channelsInUse = 0;
+                this.channelsByBlocks = 0;
                 this.grid.getPivot().beginVisit(new AdHocChannelUpdater(0));
             } else {
-                this.ongoingCalculation = new PathingCalculation(grid);
+                // Only the snapshot is taken on the server thread, the calculation itself runs on another thread.
+                var graph = PathingGraph.create(grid);
+                this.ongoingCalculation = PATHING_POOL.submit(() -> {
+                    var calculation = new PathingCalculation(graph);
+                    calculation.compute();
+                    return calculation;
+                });
             }
         }
 
-        if (this.booting) {
-            // Work on remaining pathfinding work
-            if (ongoingCalculation != null) { // can be null for ad-hoc or invalid controller state
-                for (var i = 0; i < AEConfig.instance().getPathfindingStepsPerTick(); i++) {
-                    ongoingCalculation.step();
-                    if (ongoingCalculation.isFinished()) {
-                        this.channelsByBlocks = ongoingCalculation.getChannelsByBlocks();
-                        this.channelsInUse = ongoingCalculation.getChannelsInUse();
-                        ongoingCalculation = null;
-                        break;
-                    }
+        if (this.repathing) {
+            // The grid hasn't changed since the snapshot was taken, otherwise repath would have discarded the
+            // calculation. The result can thus be applied all at once.
+            if (ongoingCalculation != null && ongoingCalculation.isDone()) {
+                try {
+                    var calculation = ongoingCalculation.get();
+                    calculation.applyChannels();
+                    this.channelsByBlocks = calculation.getChannelsByBlocks();
+                    this.channelsInUse = calculation.getChannelsInUse();
+                } catch (InterruptedException | ExecutionException e) {
+                    AELog.error(e, "Pathfinding failed for %s", grid);
+                    // The channels of the grid can't be trusted anymore, calculate them again while booting
+                    ongoingCalculation = null;
+                    repath();
+                    return;
                 }
+                ongoingCalculation = null;
             }
 
             bootingTicks++;
 
-            // Booting completes when both pathfinding completes, and the minimum boot time has elapsed
+            // Booting completes when pathfinding completes
             if (ongoingCalculation == null) {
                 // check for achievements
                 this.achievementPost();
 
+                var wasBooting = this.booting;
                 this.booting = false;
+                this.repathing = false;
+                this.channelsValid = true;
                 this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
                 // Notify of channel changes AFTER we set booting to false, this ensures that any activeness check will
                 // properly return true.
                 this.grid.getPivot().beginVisit(new ChannelFinalizer());
-                this.postBootingStatusChange();
+                if (wasBooting) {
+                    this.postBootingStatusChange();
+                }
             } else if (bootingTicks == 2000) {
                 AELog.warn("Booting has still not completed after %d ticks for %s", bootingTicks, grid);
             }
         }
     }
 
+    /**
+     * Tries to apply the pending changes of the grid without a full calculation, if they only consist of leaves being
+     * added or removed. If a full calculation is still needed afterwards, but the current channels remain valid, it
+     * runs in the background while they stay in use.
+     *
+     * @return True if the channels are up-to-date, false if a full calculation is needed.
+     */
+    private boolean updateChannelsIncrementally() {
+        if (!this.incrementalAllocator.hasChanges()) {
+            return false;
+        }
+
+        try {
+            if (!this.channelsValid || this.controllerState != ControllerState.CONTROLLER_ONLINE) {
+                this.channelsValid = false;
+                return false;
+            }
+
+            // A released channel might be given to a node that currently has none by a full calculation
+            var releasedChannelsNeeded = this.incrementalAllocator.hasRemovals() && hasNodesWithoutChannel();
+
+            var result = this.incrementalAllocator.apply();
+            if (result == IncrementalChannelAllocator.Result.NOT_INCREMENTAL) {
+                this.channelsValid = false;
+                return false;
+            }
+
+            this.channelsInUse += this.incrementalAllocator.getChannelsInUseDelta();
+            this.channelsByBlocks += this.incrementalAllocator.getChannelsByBlocksDelta();
+            this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
+            this.achievementPost();
+
+            // The channels of all other nodes are still valid, and remain in use while the full calculation runs if:
+            // - no channel could be found for an added node,
+            // - a released channel could be used by a node without one,
+            // - nodes that brought their channels along were connected (i.e. loaded with their chunk, or merged from
+            // another grid),
+            // - a background calculation was already running, and has to start over with the changed grid.
+            return result == IncrementalChannelAllocator.Result.APPLIED
+                    && !releasedChannelsNeeded
+                    && !this.incrementalAllocator.hasExistingNodeConnections()
+                    && !this.repathing;
+        } finally {
+            this.incrementalAllocator.clear();
+        }
+    }
+
+    private boolean hasNodesWithoutChannel() {
+        for (var node : this.nodesNeedingChannels) {
+            if (!node.meetsChannelRequirements() && !this.incrementalAllocator.isAdded((GridNode) node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void postBootingStatusChange() {
         this.grid.postEvent(new GridBootingStatusChange(this.booting));
         this.grid.notifyAllNodes(IGridNodeListener.State.GRID_BOOT);
@@ -183,7 +310,32 @@ public void removeNode(IGridNode gridNode) {
             this.cannotCarryCompressedNodes.remove(gridNode);
         }
 
-        this.repath();
+        if (this.incrementalAllocator.isRemovedLeaf((GridNode) gridNode)) {
+            this.scheduleRepath();
+        } else {
+            this.repath();
+        }
+    }
+
+    /**
+     * Called by a node that is being destroyed, before its connections are removed.
+     *
+     * @return True if the node is a leaf whose channel will be released without recalculating the channels of the
+     *         grid. Its neighbor then doesn't need to {@link #repath()}.
+     */
+    public boolean onNodeDestroyed(GridNode node) {
+        if (!this.channelsValid || this.controllerState != ControllerState.CONTROLLER_ONLINE) {
+            return false;
+        }
+        return this.incrementalAllocator.leafRemoved(node);
+    }
+
+    /**
+     * Called when a connection is created, after the grids of both sides have been merged.
+     */
+    public void onConnectionCreated(GridConnection connection) {
+        this.incrementalAllocator.connectionAdded(connection);
+        this.scheduleRepath();
     }
 
     @Override
@@ -205,7 +357,17 @@ public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
             this.cannotCarryCompressedNodes.add(gridNode);
         }
 
-        this.repath();
+        // Nodes that were saved with valid channels (i.e. when they are loaded with their chunk) bring them along, so
+        // the grid doesn't have to boot.
+        if (savedData != null && savedData.contains(TAG_CHANNELS, Tag.TAG_INT)) {
+            ((GridNode) gridNode).restoreUsedChannels(savedData.getInt(TAG_CHANNELS));
+            this.scheduleRepath();
+        } else {
+            // New nodes at the edge of the grid are given channels incrementally if possible, see
+            // updateChannelsIncrementally
+            this.incrementalAllocator.nodeAdded((GridNode) gridNode);
+            this.scheduleRepath();
+        }
     }
 
     private void restoreChannelMode(CompoundTag savedData) {
@@ -219,7 +381,10 @@ private void restoreChannelMode(CompoundTag savedData) {
                 if (!this.channelModeLocked
                         || nodeChannelMode.getAdHocNetworkChannels() > channelMode.getAdHocNetworkChannels()) {
                     channelModeLocked = true;
-                    channelMode = nodeChannelMode;
+                    if (channelMode != nodeChannelMode) {
+                        channelMode = nodeChannelMode;
+                        channelsValid = false;
+                    }
                 }
             } catch (IllegalArgumentException e) {
                 AELog.warn("Invalid channel mode stored on grid node: %s", channelModeName);
@@ -334,6 +499,14 @@ public boolean isNetworkBooting() {
         return this.booting;
     }
 
+    /**
+     * @return True while a full calculation is running, either while booting or in the background.
+     */
+    @VisibleForTesting
+    public boolean isRepathing() {
+        return this.repathing;
+    }
+
     @Override
     public ControllerState getControllerState() {
         return this.controllerState;
@@ -341,14 +514,28 @@ public ControllerState getControllerState() {
 
     @Override
     public void repath() {
+        this.channelsValid = false;
+        this.scheduleRepath();
+    }
+
+    /**
+     * Recalculates the channels, but keeps the current ones until then if they are valid.
+     */
+    private void scheduleRepath() {
         if (!this.channelModeLocked) {
-            this.channelMode = AEConfig.instance().getChannelMode();
+            var configuredMode = AEConfig.instance().getChannelMode();
+            if (this.channelMode != configuredMode) {
+                this.channelMode = configuredMode;
+                this.channelsValid = false;
+            }
         }
 
         // clean up...
-        this.ongoingCalculation = null;
+        if (this.ongoingCalculation != null) {
+            this.ongoingCalculation.cancel(false);
+            this.ongoingCalculation = null;
+        }
 
-        this.channelsByBlocks = 0;
         this.reboot = true;
     }
 
@@ -389,5 +576,9 @@ public void saveNodeData(IGridNode gridNode, CompoundTag savedData) {
         if (channelModeLocked) {
             savedData.putString(TAG_CHANNEL_MODE, channelMode.name());
         }
+        // Nodes that haven't been given channels yet must not take the channels of their grid along
+        if (channelsValid && !this.incrementalAllocator.isAdded((GridNode) gridNode)) {
+            savedData.putInt(TAG_CHANNELS, ((GridNode) gridNode).usedChannels());
+        }
     }
 }
@@ -26,8 +26,6 @@
 import java.util.Set;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -45,6 +43,7 @@
 import appeng.api.storage.IStorageMounts;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
+import appeng.core.AEConfig;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
 import appeng.me.storage.NetworkStorage;
@@ -59,9 +58,15 @@ public class StorageService implements IStorageService, IGridServiceProvider {
      * Tracks state for storage providers that are provided by other grid services (i.e. crafting).
      */
     private final List<ProviderState> globalProviders = new ArrayList<>();
-    private final SetMultimap<AEKey, StackWatcher<IStorageWatcherNode>> interests = HashMultimap.create();
-    private final InterestManager<StackWatcher<IStorageWatcherNode>> interestManager = new InterestManager<>(
-            this.interests);
+    private final InterestManager<StackWatcher<IStorageWatcherNode>> interestManager = new InterestManager<>();
+    /**
+     * Watchers of specific keys that have changes queued for the current update.
+     */
+    private final List<StackWatcher<IStorageWatcherNode>> pendingWatchers = new ArrayList<>();
+    /**
+     * All changes of the current update, delivered to the watchers that watch all keys.
+     */
+    private final KeyCounter pendingChanges = new KeyCounter();
     private final NetworkStorage storage;
     /**
      * Publicly exposed cached available stacks.
@@ -73,7 +78,16 @@ public class StorageService implements IStorageService, IGridServiceProvider {
      * {@link #cachedAvailableStacks} is modified by mistake.
      */
     private final Object2LongMap<AEKey> cachedAvailableAmounts = new Object2LongOpenHashMap<>();
+    /**
+     * The amounts of the watched keys looked up during the current update.
+     */
+    private final Object2LongMap<AEKey> lookedUpAmounts = new Object2LongOpenHashMap<>();
     private boolean cachedStacksNeedUpdate = true;
+    /**
+     * Ticks since the cached stacks were last rebuilt by re-enumerating all mounted storage. Between such sweeps, the
+     * cache is updated using the changes reported to the {@link NetworkStorage#getChangeJournal() change journal}.
+     */
+    private int ticksSinceFullSweep;
     /**
      * Tracks the stack watcher associated with a given grid node. Needed to clean up watchers when the node leaves the
      * grid.
@@ -86,18 +100,93 @@ public StorageService() {
 
     @Override
     public void onServerEndTick() {
+        ticksSinceFullSweep++;
+
         if (interestManager.isEmpty()) {
             // lazily rebuild cache list
             cachedStacksNeedUpdate = true;
+        } else if (canLookUpWatchedKeys() && lookUpWatchedKeys()) {
+            // only the watched keys are updated, the cache is rebuilt once somebody asks for it
+            cachedStacksNeedUpdate = true;
         } else {
-            // we need to rebuild the cache every tick to notify listeners
+            // we need to update the cache every tick to notify listeners
             updateCachedStacks();
         }
     }
 
+    /**
+     * Watchers of a few specific keys don't need the full inventory. If some mounted storage can't report its changes,
+     * so that the cache would have to be rebuilt every tick, it is cheaper to only look up the amounts of the watched
+     * keys.
+     */
+    private boolean canLookUpWatchedKeys() {
+        // Fully tracked networks are updated from the journal, which only costs as much as the changes. If their
+        // journal was invalidated or a consistency sweep is due, they are rebuilt once and then use the journal again.
+        return !storage.isFullyTracked() && interestManager.getAllStacksWatchers().isEmpty()
+                && interestManager.getWatchedKeys().size() <= AEConfig.instance().getWatchedKeyLookupLimit();
+    }
+
+    private boolean needsRebuild() {
+        return storage.getChangeJournal().isInvalid() || !storage.isFullyTracked()
+                || ticksSinceFullSweep >= AEConfig.instance().getStorageConsistencySweepInterval();
+    }
+
+    /**
+     * Updates the watchers with the current amounts of their keys, which are looked up one by one.
+     *
+     * @return False if the amounts can't be looked up, and the cache has to be updated instead.
+     */
+    private boolean lookUpWatchedKeys() {
+        lookedUpAmounts.clear();
+        for (var what : interestManager.getWatchedKeys()) {
+            var amount = storage.lookUpAmount(what);
+            if (amount < 0) {
+                return false;
+            }
+            lookedUpAmounts.put(what, amount);
+        }
+
+        for (var entry : lookedUpAmounts.object2LongEntrySet()) {
+            var what = entry.getKey();
+            var newAmount = entry.getLongValue();
+            if (newAmount != cachedAvailableAmounts.getLong(what)) {
+                // The next rebuild of the cache then only reports changes since this lookup
+                if (newAmount > 0) {
+                    cachedAvailableAmounts.put(what, newAmount);
+                } else {
+                    cachedAvailableAmounts.removeLong(what);
+                }
+                postWatcherUpdate(what, newAmount);
+            }
+        }
+
+        dispatchWatcherUpdates();
+
+        // The cache is rebuilt before it is used again, so there is no point in collecting changes until then.
+        storage.getChangeJournal().invalidate();
+        return true;
+    }
+
     private void updateCachedStacks() {
         cachedStacksNeedUpdate = false;
 
+        if (needsRebuild()) {
+            rebuildCachedStacks();
+        } else {
+            applyJournaledChanges();
+        }
+
+        dispatchWatcherUpdates();
+    }
+
+    /**
+     * Re-enumerates all mounted storage. This is required if any of the mounted storage can't report its changes to
+     * the journal, and is otherwise done periodically as a consistency check.
+     */
+    private void rebuildCachedStacks() {
+        ticksSinceFullSweep = 0;
+        storage.getChangeJournal().reset();
+
         // Update cache
         var previousStacks = cachedAvailableStacks;
         var currentStacks = cachedAvailableStacksBackBuffer;
@@ -131,12 +220,70 @@ private void updateCachedStacks() {
         }
     }
 
+    /**
+     * Applies the changes reported by mounted storage since the last update, which only costs time proportional to the
+     * number of keys that actually changed.
+     */
+    private void applyJournaledChanges() {
+        var journal = storage.getChangeJournal();
+        var outOfSync = false;
+
+        for (var entry : journal.takeChanges()) {
+            var delta = entry.getLongValue();
+            if (delta == 0) {
+                continue;
+            }
+
+            var what = entry.getKey();
+            var newAmount = cachedAvailableAmounts.getLong(what) + delta;
+            if (newAmount > 0) {
+                cachedAvailableAmounts.put(what, newAmount);
+                cachedAvailableStacks.set(what, newAmount);
+            } else {
+                if (newAmount < 0) {
+                    newAmount = 0;
+                    outOfSync = true;
+                }
+                cachedAvailableAmounts.removeLong(what);
+                cachedAvailableStacks.removeKey(what);
+            }
+            postWatcherUpdate(what, newAmount);
+        }
+
+        if (outOfSync) {
+            // The journal and the cache went out of sync, correct this with the next update
+            journal.invalidate();
+        }
+    }
+
     private void postWatcherUpdate(AEKey what, long newAmount) {
-        for (var watcher : interestManager.get(what)) {
-            watcher.getHost().onStackChange(what, newAmount);
+        var watchers = interestManager.get(what);
+        for (int i = 0; i < watchers.size(); i++) {
+            var watcher = watchers.get(i);
+            // Watchers that watch all keys receive this change with all others
+            if (!watcher.isWatchingAll() && watcher.queueChange(what, newAmount)) {
+                pendingWatchers.add(watcher);
+            }
+        }
+        if (!interestManager.getAllStacksWatchers().isEmpty()) {
+            pendingChanges.set(what, newAmount);
         }
-        for (var watcher : interestManager.getAllStacksWatchers()) {
-            watcher.getHost().onStackChange(what, newAmount);
+    }
+
+    /**
+     * Hands each watcher the changes of the current update it is interested in, as a single batch.
+     */
+    private void dispatchWatcherUpdates() {
+        for (var watcher : pendingWatchers) {
+            watcher.deliverPendingChanges(IStorageWatcherNode::onStackChanges);
+        }
+        pendingWatchers.clear();
+
+        if (!pendingChanges.isEmpty()) {
+            for (var watcher : interestManager.getAllStacksWatchers()) {
+                watcher.deliver(pendingChanges, IStorageWatcherNode::onStackChanges);
+            }
+            pendingChanges.clear();
         }
     }
 
@@ -234,6 +381,7 @@ public void refreshGlobalStorageProvider(IStorageProvider provider) {
     @Override
     public void invalidateCache() {
         cachedStacksNeedUpdate = true;
+        storage.getChangeJournal().invalidate();
     }
 
     /**
@@ -22,11 +22,9 @@
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.Iterators;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -42,6 +40,7 @@
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.me.GridNode;
 import appeng.me.service.helpers.TickTracker;
+import appeng.me.service.helpers.TickWheel;
 
 public class TickManagerService implements ITickManager, IGridServiceProvider {
 
@@ -53,21 +52,36 @@ public class TickManagerService implements ITickManager, IGridServiceProvider {
     private final Map<IGridNode, TickTracker> alertable = new HashMap<>();
     private final Map<IGridNode, TickTracker> sleeping = new HashMap<>();
     private final Map<IGridNode, TickTracker> awake = new HashMap<>();
-    private final Map<Level, PriorityQueue<TickTracker>> upcomingTicks = new HashMap<>();
+    private final Map<Level, TickWheel> upcomingTicks = new HashMap<>();
 
-    private PriorityQueue<TickTracker> currentlyTickingQueue = null;
+    private TickWheel currentlyTickingQueue = null;
 
     private long currentTick = 0;
     private final Stopwatch stopWatch = Stopwatch.createUnstarted();
     @Nullable
     private IGridNode currentlyTicking;
 
+    /**
+     * Time in nanoseconds the grid may spend ticking nodes during the current server tick, or 0 for no limit.
+     */
+    private long tickBudget;
+    private long usedTime;
+    private int deferredNodes;
+    private int lastTickDeferredNodes;
+    private long budgetOverruns;
+    private boolean overrunThisTick;
+
     public TickManagerService() {
     }
 
     @Override
     public void onServerStartTick() {
         this.currentTick++;
+
+        this.usedTime = 0;
+        this.lastTickDeferredNodes = this.deferredNodes;
+        this.deferredNodes = 0;
+        this.overrunThisTick = false;
     }
 
     @Override
@@ -102,19 +116,44 @@ private void tickLevelQueue(@Nullable Level level) {
         }
     }
 
-    private void tickQueue(PriorityQueue<TickTracker> queue) {
-        TickTracker tt;
+    private void tickQueue(TickWheel queue) {
+        queue.collectDue(this.currentTick);
+
+        var budgeted = this.tickBudget > 0;
+        var startTime = budgeted ? System.nanoTime() : 0;
+        try {
+            tickDueNodes(queue, budgeted, startTime);
+        } finally {
+            if (budgeted) {
+                this.usedTime += System.nanoTime() - startTime;
+            }
+        }
+    }
 
-        while (!queue.isEmpty()) {
-            // Peek and stop once it reaches a TickTracker running at a later tick
-            tt = queue.peek();
-            if (tt.getNextTick() > this.currentTick) {
+    private void tickDueNodes(TickWheel queue, boolean budgeted, long startTime) {
+        var tickedNodes = 0;
+        while (true) {
+            // Always tick at least one node per level and tick, so that no grid stalls completely, and the nodes of
+            // a grid spanning several levels aren't starved by the levels that are ticked first.
+            if (budgeted && tickedNodes > 0 && this.usedTime + System.nanoTime() - startTime >= this.tickBudget) {
+                // The remaining nodes stay due and are ticked first during the next tick
+                var remaining = queue.readySize();
+                if (remaining > 0) {
+                    this.deferredNodes += remaining;
+                    if (!this.overrunThisTick) {
+                        this.overrunThisTick = true;
+                        this.budgetOverruns++;
+                    }
+                }
                 break;
             }
 
-            if (queue.poll() != tt) {
-                throw new IllegalStateException();
+            var tt = queue.pollDue();
+            if (tt == null) {
+                break;
             }
+            tickedNodes++;
+
             var diff = (int) (this.currentTick - tt.getLastTick());
             currentlyTicking = tt.getNode();
             TickRateModulation mod;
@@ -143,7 +182,7 @@ private void tickQueue(PriorityQueue<TickTracker> queue) {
                 // Note that the node _may_ have been removed entirely from the grid in its own tick
                 if (this.awake.containsKey(tt.getNode())) {
                     // Queue already known, no need to use addToQueue() to resolve it again.
-                    queue.add(tt);
+                    queue.schedule(tt);
                 }
             }
         }
@@ -259,6 +298,35 @@ public boolean wakeDevice(IGridNode node) {
         return false;
     }
 
+    /**
+     * Sets the time the grid may spend ticking its nodes during the current server tick. Due nodes that don't fit
+     * into the budget are deferred to the next tick.
+     *
+     * @param nanos The budget in nanoseconds, or 0 for no limit.
+     */
+    public void setTickBudget(long nanos) {
+        this.tickBudget = nanos;
+    }
+
+    public long getTickBudget() {
+        return tickBudget;
+    }
+
+    /**
+     * @return The number of due nodes that were deferred to the current tick, because they didn't fit into the
+     *         budget of the previous tick.
+     */
+    public int getDeferredNodes() {
+        return lastTickDeferredNodes;
+    }
+
+    /**
+     * @return The number of ticks in which the grid used up its budget before all due nodes were ticked.
+     */
+    public long getBudgetOverruns() {
+        return budgetOverruns;
+    }
+
     /**
      * Reports the average time for a gridnode
      * <p>
@@ -321,19 +389,21 @@ private LongSummaryStatistics getStatistics(IGridNode node) {
     /**
      * null as level could be used for virtual nodes.
      */
-    private PriorityQueue<TickTracker> getQueue(@Nullable Level level) {
-        return this.upcomingTicks.computeIfAbsent(level, (key) -> new PriorityQueue<>());
+    private TickWheel getQueue(@Nullable Level level) {
+        return this.upcomingTicks.computeIfAbsent(level, (key) -> new TickWheel(this.currentTick));
     }
 
     private void addToQueue(IGridNode node, TickTracker tt) {
         var queue = getQueue(node.getLevel());
-        queue.add(tt);
+        queue.schedule(tt);
     }
 
     private void removeFromQueue(IGridNode node, TickTracker tt) {
         var level = node.getLevel();
         var queue = getQueue(level);
-        queue.remove(tt);
+        if (tt != null) {
+            queue.remove(tt);
+        }
 
         // Make sure we don't cleanup a queue we are iterating over,
         // as something might be added to it later even if it's empty now.
@@ -343,7 +413,7 @@ private void removeFromQueue(IGridNode node, TickTracker tt) {
     }
 
     private void updateQueuePosition(IGridNode node, TickTracker tt) {
-        this.removeFromQueue(node, tt);
+        // Rescheduling moves the tracker if it's already scheduled
         this.addToQueue(node, tt);
     }
 
@@ -365,7 +435,7 @@ private TickRateModulation unsafeTickingRequest(TickTracker tt, int diff) {
 
             stopWatch.stop();
             var elapsedTime = stopWatch.elapsed(TimeUnit.NANOSECONDS);
-            tt.getStatistics().accept(elapsedTime);
+            tt.recordTime(elapsedTime);
 
             return mod;
         } catch (Throwable t) {
@@ -390,7 +460,7 @@ public NodeStatus getStatus(IGridNode node) {
         boolean isQueued = false;
         var tickQueue = upcomingTicks.get(node.getLevel());
         if (awakeTracker != null && tickQueue != null) {
-            isQueued = Iterators.contains(tickQueue.iterator(), awakeTracker);
+            isQueued = tickQueue.contains(awakeTracker);
         }
 
         // Get the tick-request stats
@@ -28,6 +28,8 @@
 import appeng.api.storage.MEStorage;
 import appeng.core.localization.GuiText;
 import appeng.me.service.CraftingService;
+import appeng.me.storage.IJournaledStorage;
+import appeng.me.storage.IStorageChangeJournal;
 
 /**
  * The storage exposed by the crafting service. It does two things:
@@ -38,7 +40,17 @@
  */
 public class CraftingServiceStorage implements IStorageProvider {
     private final CraftingService craftingService;
-    private final MEStorage inventory = new MEStorage() {
+    private final MEStorage inventory = new IJournaledStorage() {
+        @Override
+        public boolean addChangeJournal(IStorageChangeJournal journal) {
+            // Does not report any available stacks
+            return true;
+        }
+
+        @Override
+        public void removeChangeJournal(IStorageChangeJournal journal) {
+        }
+
         @Override
         public boolean isPreferredStorageFor(AEKey key, IActionSource source) {
             return true;
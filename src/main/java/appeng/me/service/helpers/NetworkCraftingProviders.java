@@ -9,13 +9,16 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 
-import com.google.common.collect.Iterators;
-
 import org.jetbrains.annotations.Nullable;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
 import appeng.api.config.FuzzyMode;
 import appeng.api.crafting.IPatternDetails;
 import appeng.api.networking.IGridNode;
@@ -23,6 +26,7 @@
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.AEKeyFilter;
+import appeng.crafting.CraftingPatternSnapshot;
 
 /**
  * Keeps track of the crafting patterns in the network, and related information.
@@ -36,6 +40,11 @@ public class NetworkCraftingProviders {
      */
     private final KeyCounter craftableItemsList = new KeyCounter();
     private final Map<AEKey, Integer> emitableItems = new HashMap<>();
+    /**
+     * Snapshot handed out to crafting calculations. Rebuilt lazily after providers have been added or removed.
+     */
+    @Nullable
+    private CraftingPatternSnapshot snapshot;
 
     public void addProvider(IGridNode node) {
         var provider = node.getService(ICraftingProvider.class);
@@ -46,6 +55,7 @@ public void addProvider(IGridNode node) {
             var state = new ProviderState(provider);
             state.mount(this);
             craftingProviders.put(node, state);
+            snapshot = null;
         }
     }
 
@@ -55,6 +65,7 @@ public void removeProvider(IGridNode node) {
             var state = craftingProviders.remove(node);
             if (state != null) {
                 state.unmount(this);
+                snapshot = null;
             }
         }
     }
@@ -100,32 +111,174 @@ public boolean canEmitFor(AEKey someItem) {
         return this.emitableItems.containsKey(someItem);
     }
 
+    /**
+     * @return An immutable copy of the current patterns and emitable items, shared until the providers change.
+     */
+    public CraftingPatternSnapshot getSnapshot() {
+        if (snapshot == null) {
+            var patterns = new HashMap<AEKey, List<IPatternDetails>>(craftableItems.size());
+            for (var entry : craftableItems.entrySet()) {
+                patterns.put(entry.getKey(), entry.getValue().getSortedPatterns());
+            }
+            snapshot = new CraftingPatternSnapshot(patterns, emitableItems.keySet());
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return The providers of the pattern that may accept it right now, in round-robin order. Providers that reported
+     *         being busy via {@link #refreshBusyState} are left out.
+     */
     public Iterable<ICraftingProvider> getMediums(IPatternDetails key) {
         var mediumList = this.craftingMethods.get(key);
         return Objects.requireNonNullElse(mediumList, Collections.emptyList());
     }
 
+    /**
+     * @return True if any provider offers the pattern, whether it is busy or not.
+     */
+    public boolean hasMediums(IPatternDetails key) {
+        return this.craftingMethods.containsKey(key);
+    }
+
+    /**
+     * Moves the provider of the given node in or out of the ready providers of its patterns, depending on whether it is
+     * busy right now.
+     */
+    public void refreshBusyState(IGridNode node) {
+        var state = craftingProviders.get(node);
+        if (state != null) {
+            var busy = state.provider.isBusy();
+            for (var pattern : state.patterns) {
+                var list = craftingMethods.get(pattern);
+                if (list != null) {
+                    list.setBusy(state.provider, busy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by crafting CPUs once for each task they are about to push. Counts the tasks that found all providers of
+     * their pattern busy.
+     *
+     * @return True if the pattern has providers, but all of them are busy.
+     */
+    public boolean recordSaturatedLookup(IPatternDetails key) {
+        var list = this.craftingMethods.get(key);
+        if (list != null && list.ready.isEmpty() && !list.busy.isEmpty()) {
+            list.saturatedLookups++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return How saturated the providers of the given pattern are, or null if no provider offers it.
+     */
+    @Nullable
+    public ProviderSaturation getSaturation(IPatternDetails key) {
+        var list = this.craftingMethods.get(key);
+        return list != null ? list.getSaturation() : null;
+    }
+
+    /**
+     * @return The saturation of the providers of each pattern that was requested while all of its providers were busy.
+     */
+    public Map<IPatternDetails, ProviderSaturation> getSaturatedPatterns() {
+        var result = new HashMap<IPatternDetails, ProviderSaturation>();
+        for (var entry : this.craftingMethods.entrySet()) {
+            if (entry.getValue().saturatedLookups > 0) {
+                result.put(entry.getKey(), entry.getValue().getSaturation());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param providers        All providers of the pattern.
+     * @param busyProviders    The providers that reported being busy.
+     * @param saturatedLookups How many crafting CPU tasks found all providers busy.
+     */
+    public record ProviderSaturation(int providers, int busyProviders, long saturatedLookups) {
+    }
+
+    /**
+     * The providers of a pattern. Providers are ready until they report being busy, and skipped until they report
+     * being free again. Providers that never report their state are always ready, and the crafting CPU checks
+     * {@link ICraftingProvider#isBusy()} itself.
+     */
     private static class CraftingProviderList implements Iterable<ICraftingProvider> {
-        private final List<ICraftingProvider> providers = new ArrayList<>();
         /**
-         * Cycling iterator for round-robin. Has to be refreshed after every addition or removal to providers to prevent
-         * CMEs.
+         * How often each provider was added, since the same provider may be registered for several nodes.
+         */
+        private final Reference2IntOpenHashMap<ICraftingProvider> registrations = new Reference2IntOpenHashMap<>();
+        /**
+         * In round-robin order: the first provider is offered the pattern first.
          */
-        private Iterator<ICraftingProvider> cycleIterator = Iterators.cycle(providers);
+        private final ReferenceLinkedOpenHashSet<ICraftingProvider> ready = new ReferenceLinkedOpenHashSet<>();
+        private final Set<ICraftingProvider> busy = new ReferenceOpenHashSet<>();
+        private long saturatedLookups;
 
         private void add(ICraftingProvider provider) {
-            providers.add(provider);
-            cycleIterator = Iterators.cycle(providers);
+            if (registrations.addTo(provider, 1) == 0) {
+                ready.add(provider);
+            }
         }
 
         private void remove(ICraftingProvider provider) {
-            providers.remove(provider);
-            cycleIterator = Iterators.cycle(providers);
+            if (registrations.addTo(provider, -1) == 1) {
+                registrations.removeInt(provider);
+                ready.remove(provider);
+                busy.remove(provider);
+            }
+        }
+
+        private boolean isEmpty() {
+            return registrations.isEmpty();
+        }
+
+        private ProviderSaturation getSaturation() {
+            return new ProviderSaturation(registrations.size(), busy.size(), saturatedLookups);
+        }
+
+        private void setBusy(ICraftingProvider provider, boolean isBusy) {
+            if (isBusy) {
+                if (ready.remove(provider)) {
+                    busy.add(provider);
+                }
+            } else if (busy.remove(provider)) {
+                ready.add(provider);
+            }
         }
 
         @Override
         public Iterator<ICraftingProvider> iterator() {
-            return Iterators.limit(cycleIterator, providers.size());
+            if (ready.isEmpty()) {
+                return Collections.emptyIterator();
+            }
+
+            // Providers may become busy, and thus be removed, while iterating. Instead of iterating the set directly,
+            // take the first provider and move it to the back, until every provider had its turn.
+            return new Iterator<>() {
+                private int remaining = ready.size();
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0 && !ready.isEmpty();
+                }
+
+                @Override
+                public ICraftingProvider next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    remaining--;
+                    var provider = ready.first();
+                    ready.addAndMoveToLast(provider);
+                    return provider;
+                }
+            };
         }
     }
 
@@ -179,7 +332,7 @@ private void unmount(NetworkCraftingProviders methods) {
 
                 methods.craftingMethods.computeIfPresent(pattern, (pat, list) -> {
                     list.remove(provider);
-                    return list.providers.isEmpty() ? null : list;
+                    return list.isEmpty() ? null : list;
                 });
             }
         }
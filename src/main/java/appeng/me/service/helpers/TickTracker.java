@@ -20,6 +20,8 @@
 
 import java.util.LongSummaryStatistics;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.CrashReportCategory;
 import net.minecraft.util.Mth;
 
@@ -32,18 +34,29 @@ public class TickTracker implements Comparable<TickTracker> {
     private final TickingRequest request;
     private final IGridTickable gt;
     private final IGridNode node;
-    private final LongSummaryStatistics statistics;
+    /**
+     * Only created once the time spent ticking the node is recorded, see {@link #recordTime(long)}.
+     */
+    @Nullable
+    private LongSummaryStatistics statistics;
 
     private long lastTick;
     private int currentRate;
 
+    // Position of this tracker in a TickWheel, maintained by the wheel
+    int wheelSlot = TickWheel.UNSCHEDULED;
+    long scheduledTick;
+    @Nullable
+    TickTracker wheelPrev;
+    @Nullable
+    TickTracker wheelNext;
+
     public TickTracker(TickingRequest req, IGridNode node, IGridTickable gt, long currentTick) {
         this.request = req;
         this.gt = gt;
         this.node = node;
         this.setCurrentRate(req.initialTickRate());
         this.setLastTick(currentTick);
-        this.statistics = new LongSummaryStatistics();
     }
 
     @Override
@@ -109,7 +122,18 @@ public TickingRequest getRequest() {
         return this.request;
     }
 
+    /**
+     * @return The time spent ticking the node, or null if it was never recorded.
+     */
+    @Nullable
     public LongSummaryStatistics getStatistics() {
         return statistics;
     }
+
+    public void recordTime(long nanos) {
+        if (statistics == null) {
+            statistics = new LongSummaryStatistics();
+        }
+        statistics.accept(nanos);
+    }
 }
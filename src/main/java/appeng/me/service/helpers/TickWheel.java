@@ -0,0 +1,181 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+/**
+ * Schedules {@link TickTracker tick trackers} for their {@link TickTracker#getNextTick() next tick} in a hashed timer
+ * wheel. Each slot of the wheel holds the trackers due in ticks that map to that slot, as an intrusive linked list, so
+ * that scheduling, rescheduling and removing a tracker take constant time.
+ * <p/>
+ * Trackers due in or before the last tick whose due trackers were {@link #collectDue(long) collected} are put on a
+ * separate ready list, and are returned by the next {@link #pollDue()}. Trackers due further in the future than the
+ * size of the wheel stay in their slot until the wheel has come around often enough.
+ */
+public final class TickWheel {
+    private static final int SLOTS = 256;
+    private static final int MASK = SLOTS - 1;
+    private static final int READY = SLOTS;
+    static final int UNSCHEDULED = -1;
+
+    /**
+     * The first tracker of every slot, followed by the first tracker of the ready list.
+     */
+    private final TickTracker[] heads = new TickTracker[SLOTS + 1];
+    private TickTracker readyTail;
+    private int size;
+    private int readySize;
+    private long collectedTick;
+
+    /**
+     * @param currentTick The current tick, whose due trackers have not been collected yet.
+     */
+    public TickWheel(long currentTick) {
+        this.collectedTick = currentTick - 1;
+    }
+
+    /**
+     * Schedules the tracker for its next tick, or moves it there if it is already scheduled.
+     */
+    public void schedule(TickTracker tt) {
+        if (tt.wheelSlot != UNSCHEDULED) {
+            unlink(tt);
+        }
+
+        var nextTick = tt.getNextTick();
+        if (nextTick <= collectedTick) {
+            // Overdue, so tick it as soon as possible
+            tt.scheduledTick = collectedTick;
+            appendReady(tt);
+        } else {
+            tt.scheduledTick = nextTick;
+            var slot = (int) (nextTick & MASK);
+            link(tt, slot);
+        }
+        size++;
+    }
+
+    public void remove(TickTracker tt) {
+        if (tt.wheelSlot != UNSCHEDULED) {
+            unlink(tt);
+        }
+    }
+
+    public boolean contains(TickTracker tt) {
+        return tt.wheelSlot != UNSCHEDULED;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of trackers that are due and will be returned by {@link #pollDue()}.
+     */
+    public int readySize() {
+        return readySize;
+    }
+
+    /**
+     * Moves all trackers that are due up to and including the given tick to the ready list. If ticks were skipped
+     * since the last call, the slots of the skipped ticks are collected as well.
+     */
+    public void collectDue(long currentTick) {
+        if (currentTick <= collectedTick) {
+            return;
+        }
+
+        var slotsToVisit = (int) Math.min(currentTick - collectedTick, SLOTS);
+        for (long tick = currentTick - slotsToVisit + 1; tick <= currentTick; tick++) {
+            var slot = (int) (tick & MASK);
+            var tt = heads[slot];
+            while (tt != null) {
+                var next = tt.wheelNext;
+                if (tt.scheduledTick <= currentTick) {
+                    unlink(tt);
+                    size++;
+                    appendReady(tt);
+                }
+                tt = next;
+            }
+        }
+        collectedTick = currentTick;
+    }
+
+    /**
+     * @return The next tracker on the ready list, which is unscheduled by this call, or null if no tracker is due.
+     */
+    public TickTracker pollDue() {
+        var tt = heads[READY];
+        if (tt != null) {
+            unlink(tt);
+        }
+        return tt;
+    }
+
+    private void appendReady(TickTracker tt) {
+        readySize++;
+        tt.wheelSlot = READY;
+        tt.wheelNext = null;
+        tt.wheelPrev = readyTail;
+        if (readyTail != null) {
+            readyTail.wheelNext = tt;
+        } else {
+            heads[READY] = tt;
+        }
+        readyTail = tt;
+    }
+
+    private void link(TickTracker tt, int slot) {
+        var head = heads[slot];
+        tt.wheelSlot = slot;
+        tt.wheelPrev = null;
+        tt.wheelNext = head;
+        if (head != null) {
+            head.wheelPrev = tt;
+        }
+        heads[slot] = tt;
+    }
+
+    private void unlink(TickTracker tt) {
+        var slot = tt.wheelSlot;
+        var prev = tt.wheelPrev;
+        var next = tt.wheelNext;
+        if (prev != null) {
+            prev.wheelNext = next;
+        } else {
+            heads[slot] = next;
+        }
+        if (next != null) {
+            next.wheelPrev = prev;
+        } else if (slot == READY) {
+            readyTail = prev;
+        }
+        if (slot == READY) {
+            readySize--;
+        }
+        tt.wheelSlot = UNSCHEDULED;
+        tt.wheelPrev = null;
+        tt.wheelNext = null;
+        size--;
+    }
+}
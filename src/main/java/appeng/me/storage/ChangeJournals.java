@@ -0,0 +1,46 @@
+package appeng.me.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Forwards the changes of a {@link IJournaledStorage} to all of the journals it is currently bound to.
+ */
+public final class ChangeJournals implements IStorageChangeJournal {
+    private final List<IStorageChangeJournal> journals = new ArrayList<>(1);
+
+    public void add(IStorageChangeJournal journal) {
+        journals.add(journal);
+    }
+
+    public void remove(IStorageChangeJournal journal) {
+        journals.remove(journal);
+    }
+
+    public boolean isEmpty() {
+        return journals.isEmpty();
+    }
+
+    @Override
+    public void onStackChange(AEKey what, long delta) {
+        for (var journal : journals) {
+            journal.onStackChange(what, delta);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        for (var journal : journals) {
+            journal.invalidate();
+        }
+    }
+
+    @Override
+    public void setTracked(boolean tracked) {
+        for (var journal : journals) {
+            journal.setTracked(tracked);
+        }
+    }
+}
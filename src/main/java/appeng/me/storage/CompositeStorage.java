@@ -16,14 +16,29 @@
 
 /**
  * Combines several ME storages that each handle only a given key-space.
+ * <p/>
+ * Changes to the external storages are only detected when the cache is updated, at which point they are reported to
+ * the bound {@link IStorageChangeJournal journals}. How often the cache is updated when ticked adapts to how often
+ * changes were observed recently: storages that rarely change are polled less and less often, while storages that
+ * change all the time are polled at the fastest rate.
  */
-public class CompositeStorage implements MEStorage, ITickingMonitor {
+public class CompositeStorage implements IJournaledStorage, ITickingMonitor {
+    private static final float CHANGE_FREQUENCY_WEIGHT = 0.25f;
+    private static final float FREQUENT_CHANGES = 0.4f;
+    private static final float RARE_CHANGES = 0.05f;
+
     private final InventoryCache cache;
+    private final ChangeJournals changeJournals = new ChangeJournals();
 
     private Map<AEKeyType, MEStorage> storages;
 
     private boolean forceCacheRebuild = true;
 
+    /**
+     * Exponential moving average of the fraction of recent ticks that observed a change, in [0, 1].
+     */
+    private float changeFrequency;
+
     public CompositeStorage(Map<AEKeyType, MEStorage> storages) {
         this.storages = storages;
         this.cache = new InventoryCache();
@@ -46,6 +61,7 @@ public long insert(AEKey what, long amount, Actionable mode, IActionSource sourc
 
         if (inserted > 0 && mode == Actionable.MODULATE) {
             forceCacheRebuild = true;
+            cache.applyChange(what, inserted);
         }
 
         return inserted;
@@ -58,11 +74,29 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
 
         if (extracted > 0 && mode == Actionable.MODULATE) {
             forceCacheRebuild = true;
+            cache.applyChange(what, -extracted);
         }
 
         return extracted;
     }
 
+    @Override
+    public boolean addChangeJournal(IStorageChangeJournal journal) {
+        changeJournals.add(journal);
+        return true;
+    }
+
+    @Override
+    public void removeChangeJournal(IStorageChangeJournal journal) {
+        changeJournals.remove(journal);
+    }
+
+    @Override
+    public boolean reportsChangesImmediately() {
+        // Changes to the external storage are only detected when we tick
+        return false;
+    }
+
     /**
      * Describes the types of storage represented by this object.
      */
@@ -86,8 +120,21 @@ public Component getDescription() {
     public TickRateModulation onTick() {
         forceCacheRebuild = false;
         boolean changed = this.cache.update();
+        return onScanned(changed);
+    }
+
+    /**
+     * Determines the rate at which the storage will be polled next, based on whether the last scan observed a change
+     * and how often changes were observed before.
+     */
+    TickRateModulation onScanned(boolean changed) {
+        changeFrequency = changeFrequency * (1 - CHANGE_FREQUENCY_WEIGHT) + (changed ? CHANGE_FREQUENCY_WEIGHT : 0);
+
         if (changed) {
-            return TickRateModulation.URGENT;
+            // Only jump to the fastest rate for storages that keep changing, and approach it gradually otherwise
+            return changeFrequency >= FREQUENT_CHANGES ? TickRateModulation.URGENT : TickRateModulation.FASTER;
+        } else if (changeFrequency < RARE_CHANGES) {
+            return TickRateModulation.IDLE;
         } else {
             return TickRateModulation.SLOWER;
         }
@@ -102,6 +149,19 @@ public void getAvailableStacks(KeyCounter out) {
         this.cache.getAvailableKeys(out);
     }
 
+    /**
+     * Reports the amount from the same cache as {@link #getAvailableStacks}, so the external storages are only listed
+     * if they were modified through this storage since the last update.
+     */
+    @Override
+    public long getAvailableAmount(AEKey what) {
+        if (forceCacheRebuild) {
+            forceCacheRebuild = false;
+            cache.update();
+        }
+        return this.cache.getAmount(what);
+    }
+
     private class InventoryCache {
         private KeyCounter frontBuffer = new KeyCounter();
         private KeyCounter backBuffer = new KeyCounter();
@@ -121,15 +181,21 @@ public boolean update() {
             boolean changed = false;
             // Diff the front-buffer against the backbuffer
             for (var entry : frontBuffer) {
+                var current = entry.getLongValue();
+                if (current == 0) {
+                    continue; // Handled as a removal below
+                }
                 var old = backBuffer.get(entry.getKey());
-                if (old == 0 || old != entry.getLongValue()) {
+                if (old != current) {
                     changed = true;
+                    changeJournals.onStackChange(entry.getKey(), current - old);
                 }
             }
             // Account for removals
             for (var oldEntry : backBuffer) {
-                if (frontBuffer.get(oldEntry.getKey()) == 0) {
+                if (oldEntry.getLongValue() != 0 && frontBuffer.get(oldEntry.getKey()) == 0) {
                     changed = true;
+                    changeJournals.onStackChange(oldEntry.getKey(), -oldEntry.getLongValue());
                 }
             }
 
@@ -138,10 +204,24 @@ public boolean update() {
             return changed;
         }
 
+        /**
+         * Applies a change made through this storage right away, so that it is reported to the journals immediately,
+         * instead of only after the next update. The next update will then only report differences to the actual
+         * content of the external storage.
+         */
+        public void applyChange(AEKey what, long delta) {
+            frontBuffer.add(what, delta);
+            changeJournals.onStackChange(what, delta);
+        }
+
         public void getAvailableKeys(KeyCounter out) {
             out.addAll(frontBuffer);
         }
 
+        public long getAmount(AEKey what) {
+            return frontBuffer.get(what);
+        }
+
         public boolean contains(AEKey what) {
             return frontBuffer.get(what) > 0;
         }
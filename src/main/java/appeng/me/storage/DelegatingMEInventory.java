@@ -16,8 +16,35 @@
  * <p/>
  * If no delegate is set, it will act like a {@link NullInventory}.
  */
-public class DelegatingMEInventory implements MEStorage {
+public class DelegatingMEInventory implements IJournaledStorage {
     private MEStorage delegate;
+    /**
+     * The journals this inventory is bound to.
+     */
+    private final ChangeJournals changeJournals = new ChangeJournals();
+    /**
+     * The journal this inventory binds its delegate to, as long as it is bound to any journal itself.
+     */
+    private final IStorageChangeJournal delegateJournal = new IStorageChangeJournal() {
+        @Override
+        public void onStackChange(AEKey what, long delta) {
+            if (isChangeVisible(what)) {
+                changeJournals.onStackChange(what, delta);
+            }
+        }
+
+        @Override
+        public void invalidate() {
+            changeJournals.invalidate();
+        }
+
+        @Override
+        public void setTracked(boolean tracked) {
+            delegateTracked = tracked;
+            changeJournals.setTracked(tracked);
+        }
+    };
+    private boolean delegateTracked;
 
     public DelegatingMEInventory(MEStorage delegate) {
         this.delegate = Objects.requireNonNull(delegate, "delegate");
@@ -28,7 +55,77 @@ protected MEStorage getDelegate() {
     }
 
     protected void setDelegate(MEStorage delegate) {
-        this.delegate = delegate;
+        if (this.delegate == delegate) {
+            return;
+        }
+
+        if (changeJournals.isEmpty()) {
+            this.delegate = delegate;
+        } else {
+            unbindDelegate();
+            this.delegate = delegate;
+            bindDelegate();
+            // This also invalidates the journals, since the content of the new delegate is unknown to them
+            changeJournals.setTracked(delegateTracked);
+        }
+    }
+
+    @Override
+    public boolean addChangeJournal(IStorageChangeJournal journal) {
+        if (changeJournals.isEmpty()) {
+            bindDelegate();
+        }
+        changeJournals.add(journal);
+        return delegateTracked;
+    }
+
+    @Override
+    public void removeChangeJournal(IStorageChangeJournal journal) {
+        changeJournals.remove(journal);
+        if (changeJournals.isEmpty()) {
+            unbindDelegate();
+        }
+    }
+
+    @Override
+    public boolean reportsChangesImmediately() {
+        return delegate instanceof IJournaledStorage journaledStorage && journaledStorage.reportsChangesImmediately();
+    }
+
+    @Override
+    public long getAvailableAmount(AEKey what) {
+        return delegate instanceof IJournaledStorage journaledStorage ? journaledStorage.getAvailableAmount(what) : -1;
+    }
+
+    @Override
+    public boolean canEnumerateConcurrently() {
+        return delegate instanceof IJournaledStorage journaledStorage && journaledStorage.canEnumerateConcurrently();
+    }
+
+    private void bindDelegate() {
+        delegateTracked = delegate instanceof IJournaledStorage journaledStorage
+                && journaledStorage.addChangeJournal(delegateJournal);
+    }
+
+    private void unbindDelegate() {
+        if (delegate instanceof IJournaledStorage journaledStorage) {
+            journaledStorage.removeChangeJournal(delegateJournal);
+        }
+        delegateTracked = false;
+    }
+
+    /**
+     * Allows subclasses to hide changes of keys that they do not report from {@link #getAvailableStacks}.
+     */
+    protected boolean isChangeVisible(AEKey what) {
+        return true;
+    }
+
+    /**
+     * Subclasses must call this when they change which of the delegate's stacks they report.
+     */
+    protected void invalidateChangeJournals() {
+        changeJournals.invalidate();
     }
 
     @Override
@@ -0,0 +1,69 @@
+package appeng.me.storage;
+
+import java.util.BitSet;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * The slots of an external inventory that held each key when it was last scanned, so that inserting or extracting a key
+ * can go straight to the slots most likely to accept or contain it. The index is not updated when the inventory
+ * changes, so the slots it returns are only candidates that must be checked against the inventory.
+ */
+final class ExternalSlotIndex {
+    private final int slotCount;
+    private final Object2ObjectOpenHashMap<AEKey, IntList> slotsByKey = new Object2ObjectOpenHashMap<>();
+    /**
+     * Slots that contained a key, but had room for more of it.
+     */
+    private final Object2ObjectOpenHashMap<AEKey, IntList> partialSlotsByKey = new Object2ObjectOpenHashMap<>();
+    private final IntList emptySlots = new IntArrayList();
+
+    ExternalSlotIndex(int slotCount) {
+        this.slotCount = slotCount;
+    }
+
+    void addEmptySlot(int slot) {
+        emptySlots.add(slot);
+    }
+
+    void addSlot(AEKey what, int slot, boolean partial) {
+        slotsByKey.computeIfAbsent(what, k -> new IntArrayList()).add(slot);
+        if (partial) {
+            partialSlotsByKey.computeIfAbsent(what, k -> new IntArrayList()).add(slot);
+        }
+    }
+
+    /**
+     * @return False if the inventory changed its size since it was indexed, which makes the index unusable.
+     */
+    boolean isValidFor(int slotCount) {
+        return this.slotCount == slotCount;
+    }
+
+    IntList getSlots(AEKey what) {
+        return slotsByKey.getOrDefault(what, IntLists.emptyList());
+    }
+
+    IntList getPartialSlots(AEKey what) {
+        return partialSlotsByKey.getOrDefault(what, IntLists.emptyList());
+    }
+
+    IntList getEmptySlots() {
+        return emptySlots;
+    }
+
+    static BitSet toBitSet(IntList... slotLists) {
+        var result = new BitSet();
+        for (var slots : slotLists) {
+            for (int i = 0; i < slots.size(); i++) {
+                result.set(slots.getInt(i));
+            }
+        }
+        return result;
+    }
+}
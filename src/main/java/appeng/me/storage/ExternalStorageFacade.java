@@ -1,5 +1,6 @@
 package appeng.me.storage;
 
+import java.util.BitSet;
 import java.util.Set;
 
 import javax.annotation.Nullable;
@@ -12,6 +13,8 @@
 import net.neoforged.neoforge.fluids.capability.IFluidHandler;
 import net.neoforged.neoforge.items.IItemHandler;
 
+import it.unimi.dsi.fastutil.ints.IntList;
+
 import appeng.api.config.Actionable;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEFluidKey;
@@ -94,8 +97,19 @@ public void setExtractableOnly(boolean extractableOnly) {
         this.extractableOnly = extractableOnly;
     }
 
+    /**
+     * Enables indexing the slots of the external inventory whenever its content is listed, so that inserting and
+     * extracting can try the slots most likely to accept or contain the key first. This only helps facades that are
+     * kept around, and inventories with many slots.
+     */
+    public void setSlotIndexed(boolean slotIndexed) {
+    }
+
     private static class ItemHandlerFacade extends ExternalStorageFacade {
         private final IItemHandler handler;
+        private boolean slotIndexed;
+        @Nullable
+        private ExternalSlotIndex slotIndex;
 
         public ItemHandlerFacade(IItemHandler handler) {
             this.handler = handler;
@@ -117,6 +131,23 @@ public AEKeyType getKeyType() {
             return AEKeyType.items();
         }
 
+        @Override
+        public void setSlotIndexed(boolean slotIndexed) {
+            this.slotIndexed = slotIndexed;
+            if (!slotIndexed) {
+                this.slotIndex = null;
+            }
+        }
+
+        @Nullable
+        private ExternalSlotIndex getSlotIndex() {
+            var index = this.slotIndex;
+            if (index != null && !index.isValidFor(handler.getSlots())) {
+                this.slotIndex = index = null;
+            }
+            return index;
+        }
+
         @Override
         public int insertExternal(AEKey what, int amount, Actionable mode) {
             if (!(what instanceof AEItemKey itemKey)) {
@@ -129,9 +160,24 @@ public int insertExternal(AEKey what, int amount, Actionable mode) {
             int slotCount = handler.getSlots();
             boolean simulate = mode == Actionable.SIMULATE;
 
+            var index = getSlotIndex();
+            BitSet triedSlots = null;
+            if (index != null) {
+                // Top up the slots already holding the key first, then try the empty ones
+                var partialSlots = index.getPartialSlots(itemKey);
+                var emptySlots = index.getEmptySlots();
+                remaining = insertIntoSlots(partialSlots, remaining, simulate);
+                remaining = insertIntoSlots(emptySlots, remaining, simulate);
+                if (!remaining.isEmpty()) {
+                    triedSlots = ExternalSlotIndex.toBitSet(partialSlots, emptySlots);
+                }
+            }
+
             // This uses a brute force approach and tries to jam it in every slot the inventory exposes.
             for (int i = 0; i < slotCount && !remaining.isEmpty(); i++) {
-                remaining = handler.insertItem(i, remaining, simulate);
+                if (triedSlots == null || !triedSlots.get(i)) {
+                    remaining = handler.insertItem(i, remaining, simulate);
+                }
             }
 
             // At this point, we still have some items left...
@@ -143,6 +189,13 @@ public int insertExternal(AEKey what, int amount, Actionable mode) {
             return amount - remaining.getCount();
         }
 
+        private ItemStack insertIntoSlots(IntList slots, ItemStack stack, boolean simulate) {
+            for (int i = 0; i < slots.size() && !stack.isEmpty(); i++) {
+                stack = handler.insertItem(slots.getInt(i), stack, simulate);
+            }
+            return stack;
+        }
+
         @Override
         public int extractExternal(AEKey what, int amount, Actionable mode) {
             if (!(what instanceof AEItemKey itemKey)) {
@@ -152,77 +205,103 @@ public int extractExternal(AEKey what, int amount, Actionable mode) {
             int remainingSize = Ints.saturatedCast(amount);
 
             // Use this to gather the requested items
-            ItemStack gathered = ItemStack.EMPTY;
+            int gathered = 0;
 
             final boolean simulate = mode == Actionable.SIMULATE;
 
-            for (int i = 0; i < handler.getSlots(); i++) {
-                ItemStack stackInInventorySlot = handler.getStackInSlot(i);
+            var index = getSlotIndex();
+            BitSet triedSlots = null;
+            if (index != null) {
+                var slots = index.getSlots(itemKey);
+                for (int i = 0; i < slots.size() && remainingSize > 0; i++) {
+                    var slot = slots.getInt(i);
+                    var stackInInventorySlot = handler.getStackInSlot(slot);
+                    // The index may be outdated
+                    if (!itemKey.matches(stackInInventorySlot)) {
+                        continue;
+                    }
+                    var stackSize = stackInInventorySlot.getCount();
+                    var extracted = extractFromSlot(slot, stackInInventorySlot, remainingSize, simulate);
+                    gathered += extracted;
+                    remainingSize -= getConsumedAmount(stackSize, remainingSize, extracted);
+                }
+                if (remainingSize > 0) {
+                    triedSlots = ExternalSlotIndex.toBitSet(slots);
+                }
+            }
 
+            for (int i = 0; i < handler.getSlots() && remainingSize > 0; i++) {
+                if (triedSlots != null && triedSlots.get(i)) {
+                    continue;
+                }
+                var stackInInventorySlot = handler.getStackInSlot(i);
                 if (!itemKey.matches(stackInInventorySlot)) {
                     continue;
                 }
+                var stackSize = stackInInventorySlot.getCount();
+                var extracted = extractFromSlot(i, stackInInventorySlot, remainingSize, simulate);
+                gathered += extracted;
+                remainingSize -= getConsumedAmount(stackSize, remainingSize, extracted);
+            }
 
-                ItemStack extracted;
-                int stackSizeCurrentSlot = stackInInventorySlot.getCount();
-                int remainingCurrentSlot = Math.min(remainingSize, stackSizeCurrentSlot);
-
-                // We have to loop here because according to the docs, the handler shouldn't return a stack with
-                // size > maxSize, even if we request more. So even if it returns a valid stack, it might have more
-                // stuff.
-                do {
-                    extracted = handler.extractItem(i, remainingCurrentSlot, simulate);
-                    if (!extracted.isEmpty()) {
-                        // In order to guard against broken IItemHandler implementations, we'll try to guess if the
-                        // returned
-                        // stack (especially in simulate mode) is the same that was returned by getStackInSlot. This is
-                        // obviously not a precise science, but it would catch the previous Forge bug:
-                        // https://github.com/MinecraftForge/MinecraftForge/pull/6580
-                        if (extracted == stackInInventorySlot) {
-                            extracted = extracted.copy();
-                        }
+            return gathered;
+        }
 
-                        if (extracted.getCount() > remainingCurrentSlot) {
-                            // Something broke. It should never return more than we requested...
-                            // We're going to silently eat the remainder
-                            AELog.warn(
-                                    "Mod that provided item handler %s is broken. Returned %s items while only requesting %d.",
-                                    handler.getClass().getName(), extracted.toString(), remainingCurrentSlot);
-                            extracted.setCount(remainingCurrentSlot);
-                        }
+        /**
+         * A slot that held more than requested satisfies the request, even if less could be extracted from it.
+         */
+        private static int getConsumedAmount(int stackSize, int requested, int extracted) {
+            return stackSize - (Math.min(requested, stackSize) - extracted);
+        }
 
-                        // Heuristic for simulation: looping in case of simulations is pointless, since the state of the
-                        // underlying inventory does not change after a simulated extraction. To still support
-                        // inventories
-                        // that report stacks that are larger than maxStackSize, we use this heuristic
-                        if (simulate && extracted.getCount() == extracted.getMaxStackSize()
-                                && remainingCurrentSlot > extracted.getMaxStackSize()) {
-                            extracted.setCount(remainingCurrentSlot);
-                        }
+        /**
+         * @return The amount extracted from the slot.
+         */
+        private int extractFromSlot(int slot, ItemStack stackInInventorySlot, int remainingSize, boolean simulate) {
+            ItemStack extracted;
+            int gathered = 0;
+            int stackSizeCurrentSlot = stackInInventorySlot.getCount();
+            int remainingCurrentSlot = Math.min(remainingSize, stackSizeCurrentSlot);
+
+            // We have to loop here because according to the docs, the handler shouldn't return a stack with
+            // size > maxSize, even if we request more. So even if it returns a valid stack, it might have more
+            // stuff.
+            do {
+                extracted = handler.extractItem(slot, remainingCurrentSlot, simulate);
+                if (!extracted.isEmpty()) {
+                    // In order to guard against broken IItemHandler implementations, we'll try to guess if the
+                    // returned
+                    // stack (especially in simulate mode) is the same that was returned by getStackInSlot. This is
+                    // obviously not a precise science, but it would catch the previous Forge bug:
+                    // https://github.com/MinecraftForge/MinecraftForge/pull/6580
+                    if (extracted == stackInInventorySlot) {
+                        extracted = extracted.copy();
+                    }
 
-                        // We're just gonna use the first stack we get our hands on as the template for the rest.
-                        if (gathered.isEmpty()) {
-                            gathered = extracted;
-                        } else {
-                            gathered.grow(extracted.getCount());
-                        }
-                        remainingCurrentSlot -= extracted.getCount();
+                    if (extracted.getCount() > remainingCurrentSlot) {
+                        // Something broke. It should never return more than we requested...
+                        // We're going to silently eat the remainder
+                        AELog.warn(
+                                "Mod that provided item handler %s is broken. Returned %s items while only requesting %d.",
+                                handler.getClass().getName(), extracted.toString(), remainingCurrentSlot);
+                        extracted.setCount(remainingCurrentSlot);
                     }
-                } while (!simulate && !extracted.isEmpty() && remainingCurrentSlot > 0);
 
-                remainingSize -= stackSizeCurrentSlot - remainingCurrentSlot;
+                    // Heuristic for simulation: looping in case of simulations is pointless, since the state of the
+                    // underlying inventory does not change after a simulated extraction. To still support
+                    // inventories
+                    // that report stacks that are larger than maxStackSize, we use this heuristic
+                    if (simulate && extracted.getCount() == extracted.getMaxStackSize()
+                            && remainingCurrentSlot > extracted.getMaxStackSize()) {
+                        extracted.setCount(remainingCurrentSlot);
+                    }
 
-                // Done?
-                if (remainingSize <= 0) {
-                    break;
+                    gathered += extracted.getCount();
+                    remainingCurrentSlot -= extracted.getCount();
                 }
-            }
+            } while (!simulate && !extracted.isEmpty() && remainingCurrentSlot > 0);
 
-            if (!gathered.isEmpty()) {
-                return gathered.getCount();
-            }
-
-            return 0;
+            return gathered;
         }
 
         @Override
@@ -240,13 +319,24 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
 
         @Override
         public void getAvailableStacks(KeyCounter out) {
-            for (int i = 0; i < handler.getSlots(); i++) {
+            var slotCount = handler.getSlots();
+            var index = slotIndexed ? new ExternalSlotIndex(slotCount) : null;
+
+            for (int i = 0; i < slotCount; i++) {
                 // Skip resources that cannot be extracted if that filter was enabled
                 var stack = handler.getStackInSlot(i);
                 if (stack.isEmpty()) {
+                    if (index != null) {
+                        index.addEmptySlot(i);
+                    }
                     continue;
                 }
 
+                if (index != null) {
+                    var limit = Math.min(handler.getSlotLimit(i), stack.getMaxStackSize());
+                    index.addSlot(AEItemKey.of(stack), i, stack.getCount() < limit);
+                }
+
                 if (extractableOnly) {
                     if (handler.extractItem(i, 1, true).isEmpty()) {
                         if (handler.extractItem(i, stack.getCount(), true).isEmpty()) {
@@ -257,6 +347,10 @@ public void getAvailableStacks(KeyCounter out) {
 
                 out.add(AEItemKey.of(stack), stack.getCount());
             }
+
+            if (index != null) {
+                this.slotIndex = index;
+            }
         }
     }
 
@@ -0,0 +1,53 @@
+package appeng.me.storage;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+
+/**
+ * Storage that can report changes to its available stacks to a {@link IStorageChangeJournal}. Storage mounted into the
+ * network that does not implement this interface forces the network to re-enumerate all of its storage every time its
+ * cached inventory is updated.
+ * <p/>
+ * The same storage can be bound to several journals at once, i.e. when a chest is both mounted into its own network
+ * and accessed by a storage bus of another network.
+ */
+public interface IJournaledStorage extends MEStorage {
+    /**
+     * Binds this storage to the given journal. While bound, every change to the stacks reported by
+     * {@link #getAvailableStacks} must be reported to the journal.
+     *
+     * @return True if this storage is able to report all of its changes to the journal. Storage can change this state
+     *         later using {@link IStorageChangeJournal#setTracked}.
+     */
+    boolean addChangeJournal(IStorageChangeJournal journal);
+
+    /**
+     * Unbinds this storage from a journal previously passed to {@link #addChangeJournal}.
+     */
+    void removeChangeJournal(IStorageChangeJournal journal);
+
+    /**
+     * @return False if this storage only detects some of its changes periodically, i.e. by polling an external
+     *         inventory. The network will then not rely on the reported stacks to decide whether to extract from this
+     *         storage.
+     */
+    default boolean reportsChangesImmediately() {
+        return true;
+    }
+
+    /**
+     * @return The amount of the key that {@link #getAvailableStacks} currently reports, or -1 if it can't be determined
+     *         without listing all stacks.
+     */
+    default long getAvailableAmount(AEKey what) {
+        return -1;
+    }
+
+    /**
+     * @return True if {@link #getAvailableStacks} may be called on a thread other than the server thread, while other
+     *         storage is enumerated at the same time. Nothing will modify this storage in the meantime.
+     */
+    default boolean canEnumerateConcurrently() {
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package appeng.me.storage;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Receives changes to the stacks reported by a mounted {@link IJournaledStorage}, allowing the network to update its
+ * cached inventory without re-enumerating every mounted storage.
+ */
+public interface IStorageChangeJournal {
+    /**
+     * Reports that the amount of the given key that is reported by {@link appeng.api.storage.MEStorage#getAvailableStacks}
+     * changed by the given delta.
+     */
+    void onStackChange(AEKey what, long delta);
+
+    /**
+     * Reports that the available stacks changed in a way that cannot be expressed as per-key deltas (i.e. a filter
+     * was changed). The network will re-enumerate all of its storage once.
+     */
+    void invalidate();
+
+    /**
+     * Changes whether the storage is currently able to report all of its changes. While a storage is not tracked, the
+     * network falls back to re-enumerating all of its storage whenever the cached inventory is updated.
+     */
+    void setTracked(boolean tracked);
+}
@@ -44,7 +44,10 @@ public MEInventoryHandler(MEStorage inventory) {
     }
 
     public void setAllowExtraction(boolean allowExtraction) {
-        this.allowExtraction = allowExtraction;
+        if (this.allowExtraction != allowExtraction) {
+            this.allowExtraction = allowExtraction;
+            invalidateChangeJournals();
+        }
     }
 
     public void setAllowInsertion(boolean allowInsertion) {
@@ -56,7 +59,10 @@ protected IncludeExclude getWhitelist() {
     }
 
     public void setWhitelist(IncludeExclude myWhitelist) {
-        this.partitionListMode = myWhitelist;
+        if (this.partitionListMode != myWhitelist) {
+            this.partitionListMode = myWhitelist;
+            invalidateChangeJournals();
+        }
     }
 
     protected IPartitionList getPartitionList() {
@@ -65,11 +71,15 @@ protected IPartitionList getPartitionList() {
 
     public void setPartitionList(IPartitionList myPartitionList) {
         this.partitionList = myPartitionList;
+        invalidateChangeJournals();
     }
 
     public void setExtractFiltering(boolean filterOnExtraction, boolean filterAvailableContents) {
         this.filterOnExtraction = filterOnExtraction;
-        this.filterAvailableContents = filterAvailableContents;
+        if (this.filterAvailableContents != filterAvailableContents) {
+            this.filterAvailableContents = filterAvailableContents;
+            invalidateChangeJournals();
+        }
     }
 
     public void setVoidOverflow(boolean voidOverflow) {
@@ -125,6 +135,19 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    @Override
+    public long getAvailableAmount(AEKey what) {
+        if (this.filterAvailableContents && !canExtract(what)) {
+            return 0;
+        }
+        return super.getAvailableAmount(what);
+    }
+
+    @Override
+    protected boolean isChangeVisible(AEKey what) {
+        return !this.filterAvailableContents || canExtract(what);
+    }
+
     @Override
     public boolean isPreferredStorageFor(AEKey input, IActionSource source) {
         if (this.partitionListMode == IncludeExclude.WHITELIST) {
@@ -20,9 +20,13 @@
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
@@ -32,11 +36,14 @@
 
 import net.minecraft.network.chat.Component;
 
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
 import appeng.api.config.Actionable;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.MEStorage;
+import appeng.core.AEConfig;
 import appeng.core.localization.GuiText;
 
 /**
@@ -46,6 +53,13 @@ public class NetworkStorage implements MEStorage {
     private static final ThreadLocal<Deque<NetworkStorage>> DEPTH_MOD = new ThreadLocal<>();
     private static final ThreadLocal<Deque<NetworkStorage>> DEPTH_SIM = new ThreadLocal<>();
     private static final Comparator<Integer> PRIORITY_SORTER = (o1, o2) -> Integer.compare(o2, o1);
+    /**
+     * The order in which extract visits mounts: lowest priority first, and in mount order within the same priority.
+     */
+    private static final Comparator<MountJournal> EXTRACT_ORDER = Comparator
+            .<MountJournal>comparingInt(m -> m.priority)
+            .thenComparingLong(m -> m.sequence);
+    private static final MountJournal[] NO_MOUNTS = new MountJournal[0];
 
     private boolean mountsInUse;
 
@@ -58,6 +72,29 @@ public class NetworkStorage implements MEStorage {
     // Is only non-null if something is queued
     @Nullable
     private List<QueuedOperation> queuedOperations;
+    /**
+     * Collects the changes reported by mounted {@link IJournaledStorage}.
+     */
+    private final StorageChangeJournal changeJournal = new StorageChangeJournal();
+    private final Map<MEStorage, MountJournal> mountJournals = new IdentityHashMap<>();
+    /**
+     * Number of mounted inventories that currently can't report their changes to {@link #changeJournal}.
+     */
+    private int untrackedMounts;
+    /**
+     * Routing index: for every key, the indexed mounts that currently hold some amount of it, in
+     * {@link #EXTRACT_ORDER}.
+     */
+    private final Map<AEKey, List<MountJournal>> holders = new HashMap<>();
+    /**
+     * Mounts whose index entries have to be rebuilt before the index can be used again.
+     */
+    private final List<MountJournal> staleMounts = new ArrayList<>();
+    /**
+     * Number of mounts that are currently not part of the routing index, including stale mounts.
+     */
+    private int unindexedMounts;
+    private long mountSequence;
 
     public NetworkStorage() {
         this.priorityInventory = new TreeMap<>(PRIORITY_SORTER);
@@ -72,6 +109,7 @@ public void mount(int priority, MEStorage inventory) {
         } else {
             this.priorityInventory.computeIfAbsent(priority, k -> new ArrayList<>())
                     .add(inventory);
+            bindJournal(priority, inventory);
         }
     }
 
@@ -91,7 +129,58 @@ public void unmount(MEStorage inventory) {
                     prioIt.remove();
                 }
             }
+            unbindJournal(inventory);
+        }
+    }
+
+    private void bindJournal(int priority, MEStorage inventory) {
+        if (mountJournals.containsKey(inventory)) {
+            // Already bound through another mount
+            changeJournal.invalidate();
+            return;
+        }
+
+        var mountJournal = new MountJournal(inventory, priority, mountSequence++);
+        mountJournals.put(inventory, mountJournal);
+        unindexedMounts++;
+
+        var tracked = inventory instanceof IJournaledStorage journaledStorage
+                && journaledStorage.addChangeJournal(mountJournal);
+        mountJournal.setTracked(tracked);
+    }
+
+    private void unbindJournal(MEStorage inventory) {
+        var mountJournal = mountJournals.remove(inventory);
+        if (mountJournal == null) {
+            return;
+        }
+
+        if (!mountJournal.tracked) {
+            untrackedMounts--;
+        }
+        mountJournal.unindex();
+        staleMounts.remove(mountJournal);
+        unindexedMounts--;
+        mountJournal.bound = false;
+        if (inventory instanceof IJournaledStorage journaledStorage) {
+            journaledStorage.removeChangeJournal(mountJournal);
         }
+        // The content of the inventory has just disappeared from the network
+        changeJournal.invalidate();
+    }
+
+    /**
+     * @return The changes reported by mounted storage since the journal was last reset.
+     */
+    public StorageChangeJournal getChangeJournal() {
+        return changeJournal;
+    }
+
+    /**
+     * @return True if all mounted storage reports its changes to the {@link #getChangeJournal() journal}.
+     */
+    public boolean isFullyTracked() {
+        return untrackedMounts == 0;
     }
 
     public long insert(AEKey what, long amount, Actionable type, IActionSource src) {
@@ -101,18 +190,37 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
 
         var remaining = amount;
 
+        var keyHolders = getHolders(what);
+
         this.mountsInUse = true;
         try {
-            for (var invList : this.priorityInventory.values()) {
+            for (var entry : this.priorityInventory.entrySet()) {
+                var priority = entry.getKey();
+                var invList = entry.getValue();
                 secondPassInventories.clear();
 
+                // Inventories that already hold the key are preferred storage, so we try them directly
+                var triedHolders = 0;
+                for (var holder : keyHolders) {
+                    if (remaining <= 0) {
+                        break;
+                    }
+
+                    if (holder.priority != priority || isQueuedForRemoval(holder.storage)) {
+                        continue;
+                    }
+
+                    triedHolders++;
+                    remaining -= holder.storage.insert(what, remaining, type, src);
+                }
+
                 // First give every inventory a chance to accept the item if it's preferential storage for the given
                 // stack
                 var ii = invList.iterator();
                 while (ii.hasNext() && remaining > 0) {
                     var inv = ii.next();
 
-                    if (isQueuedForRemoval(inv)) {
+                    if (isQueuedForRemoval(inv) || triedHolders > 0 && isHolderWithPriority(keyHolders, inv, priority)) {
                         continue;
                     }
 
@@ -148,6 +256,62 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
         return amount - remaining;
     }
 
+    /**
+     * @return A snapshot of the indexed mounts holding the given key, since the index changes while we insert or
+     *         extract.
+     */
+    private MountJournal[] getHolders(AEKey what) {
+        if (!mountsInUse) {
+            reindexStaleMounts();
+        }
+
+        var keyHolders = holders.get(what);
+        return keyHolders != null ? keyHolders.toArray(NO_MOUNTS) : NO_MOUNTS;
+    }
+
+    private void reindexStaleMounts() {
+        if (!staleMounts.isEmpty()) {
+            var mounts = staleMounts.toArray(NO_MOUNTS);
+            staleMounts.clear();
+            for (var mount : mounts) {
+                mount.reindex();
+            }
+        }
+    }
+
+    private static boolean isHolderWithPriority(MountJournal[] keyHolders, MEStorage inv, int priority) {
+        for (var holder : keyHolders) {
+            if (holder.storage == inv && holder.priority == priority) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if the routing index knows that the given inventory does not hold the given key.
+     */
+    private boolean isIndexedWithout(MEStorage inv, AEKey what) {
+        var mountJournal = mountJournals.get(inv);
+        return mountJournal != null && mountJournal.indexedAmounts != null
+                && mountJournal.indexedAmounts.getLong(what) <= 0;
+    }
+
+    private void addHolder(AEKey what, MountJournal mount) {
+        var keyHolders = holders.computeIfAbsent(what, k -> new ArrayList<>(1));
+        var index = Collections.binarySearch(keyHolders, mount, EXTRACT_ORDER);
+        if (index < 0) {
+            keyHolders.add(-index - 1, mount);
+        }
+    }
+
+    private void removeHolder(AEKey what, MountJournal mount) {
+        var keyHolders = holders.get(what);
+        if (keyHolders != null && keyHolders.remove(mount) && keyHolders.isEmpty()) {
+            holders.remove(what);
+        }
+    }
+
     private void flushQueuedOperations() {
         Preconditions.checkState(!this.mountsInUse);
         var queuedOperations = this.queuedOperations;
@@ -211,18 +375,35 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
 
         var extracted = 0L;
 
+        var keyHolders = getHolders(what);
+
         this.mountsInUse = true;
         try {
-            for (var invList : this.priorityInventory.descendingMap().values()) {
-                var ii = invList.iterator();
-                while (ii.hasNext() && extracted < amount) {
-                    var inv = ii.next();
+            if (unindexedMounts == 0) {
+                // All mounts are indexed, so only the inventories holding the key need to be visited
+                for (var holder : keyHolders) {
+                    if (extracted >= amount) {
+                        break;
+                    }
 
-                    if (isQueuedForRemoval(inv)) {
+                    if (isQueuedForRemoval(holder.storage)) {
                         continue;
                     }
 
-                    extracted += inv.extract(what, amount - extracted, mode, source);
+                    extracted += holder.storage.extract(what, amount - extracted, mode, source);
+                }
+            } else {
+                for (var invList : this.priorityInventory.descendingMap().values()) {
+                    var ii = invList.iterator();
+                    while (ii.hasNext() && extracted < amount) {
+                        var inv = ii.next();
+
+                        if (isQueuedForRemoval(inv) || isIndexedWithout(inv, what)) {
+                            continue;
+                        }
+
+                        extracted += inv.extract(what, amount - extracted, mode, source);
+                    }
                 }
             }
         } finally {
@@ -236,15 +417,79 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         return extracted;
     }
 
+    /**
+     * Determines the amount of a single key in the network without enumerating all mounted storage. The amounts of
+     * mounts in the routing index are taken from the index, while all other mounts report the amount they would
+     * currently list (i.e. from the cache of an external storage).
+     *
+     * @return The amount, or -1 if a mount can't determine its amount without listing all of its stacks.
+     */
+    public long lookUpAmount(AEKey what) {
+        if (this.diveList(Actionable.SIMULATE)) {
+            return 0;
+        }
+
+        reindexStaleMounts();
+
+        var amount = 0L;
+        this.mountsInUse = true;
+        try {
+            mounts: for (var invList : this.priorityInventory.values()) {
+                for (var inv : invList) {
+                    var mountJournal = mountJournals.get(inv);
+                    if (mountJournal != null && mountJournal.indexedAmounts != null) {
+                        amount += mountJournal.indexedAmounts.getLong(what);
+                    } else {
+                        var mountAmount = inv instanceof IJournaledStorage journaledStorage
+                                ? journaledStorage.getAvailableAmount(what)
+                                : -1;
+                        if (mountAmount < 0) {
+                            amount = -1;
+                            break mounts;
+                        }
+                        amount += mountAmount;
+                    }
+                }
+            }
+        } finally {
+            this.mountsInUse = false;
+        }
+
+        this.surface(Actionable.SIMULATE);
+
+        flushQueuedOperations();
+
+        return amount;
+    }
+
     @Override
     public void getAvailableStacks(KeyCounter out) {
         if (diveIteration(Actionable.SIMULATE)) {
             return;
         }
 
+        // Minimum number of mounts that can be enumerated concurrently for them to be enumerated in parallel
+        var parallelEnumerationThreshold = AEConfig.instance().getParallelStorageEnumerationThreshold();
+        var concurrentMounts = new ArrayList<MEStorage>();
         for (var i : this.priorityInventory.values()) {
             for (var j : i) {
-                j.getAvailableStacks(out);
+                if (parallelEnumerationThreshold > 0 && j instanceof IJournaledStorage journaledStorage
+                        && journaledStorage.canEnumerateConcurrently()) {
+                    concurrentMounts.add(j);
+                } else {
+                    j.getAvailableStacks(out);
+                }
+            }
+        }
+
+        if (!concurrentMounts.isEmpty() && concurrentMounts.size() >= parallelEnumerationThreshold) {
+            // Every worker thread fills its own counter, which are merged at the end
+            var stacks = concurrentMounts.parallelStream().collect(KeyCounter::new,
+                    (counter, storage) -> storage.getAvailableStacks(counter), KeyCounter::addAll);
+            out.addAll(stacks);
+        } else {
+            for (var storage : concurrentMounts) {
+                storage.getAvailableStacks(out);
             }
         }
 
@@ -269,6 +514,121 @@ public Component getDescription() {
         return GuiText.MENetworkStorage.text();
     }
 
+    /**
+     * The journal handed to an individual mounted storage. Forwards into the network-wide journal as long as the
+     * storage remains mounted, keeps track of whether the storage is currently able to report all of its changes, and
+     * maintains the storage's entries in the routing index.
+     */
+    private class MountJournal implements IStorageChangeJournal {
+        private final MEStorage storage;
+        private final int priority;
+        private final long sequence;
+        private boolean bound = true;
+        private boolean tracked = true;
+        /**
+         * The amounts reported by the storage while it is part of the routing index, null otherwise.
+         */
+        @Nullable
+        private Object2LongOpenHashMap<AEKey> indexedAmounts;
+
+        MountJournal(MEStorage storage, int priority, long sequence) {
+            this.storage = storage;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long delta) {
+            if (!bound || delta == 0) {
+                return;
+            }
+
+            if (tracked) {
+                changeJournal.record(what, delta);
+            }
+
+            if (indexedAmounts != null) {
+                var oldAmount = indexedAmounts.getLong(what);
+                var newAmount = oldAmount + delta;
+                if (newAmount > 0) {
+                    indexedAmounts.put(what, newAmount);
+                    if (oldAmount <= 0) {
+                        addHolder(what, this);
+                    }
+                } else {
+                    indexedAmounts.removeLong(what);
+                    if (oldAmount > 0) {
+                        removeHolder(what, this);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void invalidate() {
+            if (bound) {
+                changeJournal.invalidate();
+                markStale();
+            }
+        }
+
+        @Override
+        public void setTracked(boolean tracked) {
+            if (!bound) {
+                return;
+            }
+
+            if (this.tracked != tracked) {
+                this.tracked = tracked;
+                untrackedMounts += tracked ? -1 : 1;
+            }
+            // Either the storage just appeared, or we lost track of its changes for a while
+            changeJournal.invalidate();
+            markStale();
+        }
+
+        private void markStale() {
+            unindex();
+            if (!staleMounts.contains(this)) {
+                staleMounts.add(this);
+            }
+        }
+
+        /**
+         * Adds this mount to the routing index, if its storage reports all changes as soon as they happen.
+         */
+        void reindex() {
+            if (!bound || indexedAmounts != null || !tracked
+                    || !(storage instanceof IJournaledStorage journaledStorage)
+                    || !journaledStorage.reportsChangesImmediately()) {
+                return;
+            }
+
+            var content = new KeyCounter();
+            storage.getAvailableStacks(content);
+
+            var amounts = new Object2LongOpenHashMap<AEKey>(content.size());
+            for (var entry : content) {
+                if (entry.getLongValue() > 0) {
+                    amounts.put(entry.getKey(), entry.getLongValue());
+                    addHolder(entry.getKey(), this);
+                }
+            }
+            indexedAmounts = amounts;
+            unindexedMounts--;
+        }
+
+        void unindex() {
+            if (indexedAmounts != null) {
+                for (var what : indexedAmounts.keySet()) {
+                    removeHolder(what, this);
+                }
+                indexedAmounts = null;
+                unindexedMounts++;
+            }
+        }
+    }
+
     sealed interface QueuedOperation permits MountOperation,UnmountOperation {
     }
 
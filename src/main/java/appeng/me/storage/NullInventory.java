@@ -26,7 +26,7 @@
 /**
  * An immutable inventory that is empty.
  */
-public class NullInventory implements MEStorage {
+public class NullInventory implements IJournaledStorage {
     private static final NullInventory NULL_INVENTORY = new NullInventory();
 
     public static MEStorage of() {
@@ -37,6 +37,16 @@ public static MEStorage of() {
     public void getAvailableStacks(KeyCounter out) {
     }
 
+    @Override
+    public boolean addChangeJournal(IStorageChangeJournal journal) {
+        // Never changes
+        return true;
+    }
+
+    @Override
+    public void removeChangeJournal(IStorageChangeJournal journal) {
+    }
+
     @Override
     public Component getDescription() {
         return Component.empty();
@@ -0,0 +1,55 @@
+package appeng.me.storage;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+
+/**
+ * Collects the changes reported by the journaled storage mounted into a {@link NetworkStorage}, until they are applied
+ * to the cached inventory of the network.
+ */
+public final class StorageChangeJournal {
+    private KeyCounter changes = new KeyCounter();
+    private KeyCounter takenChanges = new KeyCounter();
+    private boolean invalid = true;
+
+    void record(AEKey what, long delta) {
+        if (!invalid) {
+            changes.add(what, delta);
+        }
+    }
+
+    public void invalidate() {
+        invalid = true;
+        changes.clear();
+    }
+
+    /**
+     * @return True if changes were lost and the cached inventory has to be rebuilt from scratch.
+     */
+    public boolean isInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Takes the accumulated change per key since the last reset, and starts collecting changes anew. Since applying
+     * the changes can cause further changes to be reported, the returned counter is not modified by the journal until
+     * the next call to this method.
+     *
+     * @return The accumulated changes. Can contain zero entries.
+     */
+    public KeyCounter takeChanges() {
+        var result = changes;
+        changes = takenChanges;
+        takenChanges = result;
+        changes.clear();
+        return result;
+    }
+
+    /**
+     * Clears the accumulated changes after they have been applied, or after the cached inventory has been rebuilt.
+     */
+    public void reset() {
+        invalid = false;
+        changes.clear();
+    }
+}
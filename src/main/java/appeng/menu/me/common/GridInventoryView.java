@@ -0,0 +1,108 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.menu.me.common;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.google.common.collect.Sets;
+
+import appeng.api.networking.IGrid;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.hooks.ticking.TickHandler;
+
+/**
+ * The stacks stored in a grid and the keys it can craft, as shown by terminals. All terminals that are open on the same
+ * grid share one view, so the changes of the grid are only computed once per tick regardless of how many terminals are
+ * open. Each terminal still assigns its own serials and applies its own filter when sending the changes.
+ */
+final class GridInventoryView {
+    /**
+     * The views must not reference their grid, otherwise the grids would never be removed from this map.
+     */
+    private static final Map<IGrid, GridInventoryView> VIEWS = new WeakHashMap<>();
+
+    private KeyCounter availableStacks = new KeyCounter();
+    private Set<AEKey> craftables = Collections.emptySet();
+    /**
+     * Keys that changed between the previous and the current version.
+     */
+    private final Set<AEKey> changes = new HashSet<>();
+    private long version;
+    private long lastUpdateTick = -1;
+
+    private GridInventoryView() {
+    }
+
+    /**
+     * @return The view of the grid, brought up to date with the grid.
+     */
+    static GridInventoryView get(IGrid grid) {
+        var view = VIEWS.computeIfAbsent(grid, g -> new GridInventoryView());
+        view.update(grid);
+        return view;
+    }
+
+    /**
+     * Brings the view up to date with the grid, unless this already happened during the current tick.
+     */
+    private void update(IGrid grid) {
+        var currentTick = TickHandler.instance().getCurrentTick();
+        if (currentTick == lastUpdateTick) {
+            return;
+        }
+        lastUpdateTick = currentTick;
+
+        var currentStacks = grid.getStorageService().getInventory().getAvailableStacks();
+        var currentCraftables = grid.getCraftingService().getCraftables(k -> true);
+
+        changes.clear();
+        changes.addAll(Sets.symmetricDifference(craftables, currentCraftables));
+        availableStacks.removeAll(currentStacks);
+        availableStacks.removeZeros();
+        changes.addAll(availableStacks.keySet());
+
+        availableStacks = currentStacks;
+        craftables = currentCraftables;
+        version++;
+    }
+
+    /**
+     * Increases by one with every update, which allows subscribers to detect if they missed the changes of an update.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    Set<AEKey> getChanges() {
+        return Collections.unmodifiableSet(changes);
+    }
+
+    KeyCounter getAvailableStacks() {
+        return availableStacks;
+    }
+
+    Set<AEKey> getCraftables() {
+        return Collections.unmodifiableSet(craftables);
+    }
+}
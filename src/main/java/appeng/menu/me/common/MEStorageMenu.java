@@ -38,6 +38,8 @@
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
 import appeng.api.behaviors.ContainerItemStrategies;
 import appeng.api.config.Actionable;
 import appeng.api.config.PowerMultiplier;
@@ -67,12 +69,14 @@
 import appeng.api.util.IConfigManager;
 import appeng.api.util.IConfigurableObject;
 import appeng.client.gui.me.common.MEStorageScreen;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.network.NetworkHandler;
 import appeng.core.network.bidirectional.ConfigValuePacket;
 import appeng.core.network.clientbound.MEInventoryUpdatePacket;
 import appeng.core.network.serverbound.MEInteractionPacket;
 import appeng.helpers.InventoryAction;
+import appeng.hooks.ticking.TickHandler;
 import appeng.me.helpers.ChannelPowerSrc;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.SlotSemantics;
@@ -130,6 +134,7 @@ public class MEStorageMenu extends AEBaseMenu
     protected final IEnergySource powerSource;
 
     private final IncrementalUpdateHelper updateHelper = new IncrementalUpdateHelper();
+    private final ViewportUpdateFilter viewportFilter = new ViewportUpdateFilter();
 
     /**
      * A grid connection is optional for a screen showing the content of a {@link MEStorage}, because inventories like
@@ -151,6 +156,14 @@ public class MEStorageMenu extends AEBaseMenu
     private Set<AEKey> previousCraftables = Collections.emptySet();
     private KeyCounter previousAvailableStacks = new KeyCounter();
 
+    /**
+     * The shared view of the grid that changes were last sent from, if any, and its version at that time.
+     */
+    @Nullable
+    private GridInventoryView lastView;
+    private long lastViewVersion;
+    private boolean viewCraftablesShown;
+
     public MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHost host) {
         this(menuType, id, ip, host, true);
     }
@@ -261,40 +274,20 @@ public void broadcastChanges() {
                 }
             }
 
-            var craftables = getCraftablesFromGrid();
-            var availableStacks = storage == null ? new KeyCounter() : storage.getAvailableStacks();
-
-            // This is currently not supported/backed by any network service
-            var requestables = new KeyCounter();
-
-            try {
-                // Craftables
-                // Newly craftable
-                Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
-                // No longer craftable
-                Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
-
-                // Available changes
-                previousAvailableStacks.removeAll(availableStacks);
-                previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
-
-                if (updateHelper.hasChanges()) {
-                    var builder = MEInventoryUpdatePacket
-                            .builder(containerId, updateHelper.isFullUpdate());
-                    builder.setFilter(this::isKeyVisible);
-                    builder.addChanges(updateHelper, availableStacks, craftables, requestables);
-                    builder.buildAndSend(this::sendPacketToClient);
-                    updateHelper.commitChanges();
+            var view = getGridInventoryView();
+            if (view != null) {
+                sendViewChanges(view);
+            } else {
+                if (lastView != null) {
+                    // Start over from a full update when the menu stops using the shared view
+                    lastView = null;
+                    previousCraftables = Collections.emptySet();
+                    previousAvailableStacks = new KeyCounter();
+                    updateHelper.clear();
                 }
-
-            } catch (Exception e) {
-                AELog.warn(e, "Failed to send incremental inventory update to client");
+                sendInventoryChanges();
             }
 
-            previousCraftables = ImmutableSet.copyOf(craftables);
-            previousAvailableStacks = availableStacks;
-
             this.updatePowerStatus();
 
             super.broadcastChanges();
@@ -302,22 +295,141 @@ public void broadcastChanges() {
 
     }
 
-    protected boolean showsCraftables() {
-        return true;
+    private void sendInventoryChanges() {
+        var craftables = getCraftablesFromGrid();
+        var availableStacks = storage == null ? new KeyCounter() : storage.getAvailableStacks();
+
+        // This is currently not supported/backed by any network service
+        var requestables = new KeyCounter();
+
+        try {
+            // Craftables
+            // Newly craftable
+            Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+            // No longer craftable
+            Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+
+            // Available changes
+            previousAvailableStacks.removeAll(availableStacks);
+            previousAvailableStacks.removeZeros();
+            previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+
+            applyViewportFilter(availableStacks, craftables);
+            if (updateHelper.hasChanges()) {
+                var builder = MEInventoryUpdatePacket
+                        .builder(containerId, updateHelper.isFullUpdate());
+                builder.setFilter(this::isKeyVisible);
+                builder.addChanges(updateHelper, availableStacks, craftables, requestables);
+                builder.buildAndSend(this::sendPacketToClient);
+                updateHelper.commitChanges();
+            }
+
+        } catch (Exception e) {
+            AELog.warn(e, "Failed to send incremental inventory update to client");
+        }
+
+        previousCraftables = ImmutableSet.copyOf(craftables);
+        previousAvailableStacks = availableStacks;
     }
 
-    private Set<AEKey> getCraftablesFromGrid() {
+    /**
+     * Sends the changes of the view shared by all terminals on the grid, which has to be unfiltered since the terminals
+     * apply their own filters.
+     */
+    private void sendViewChanges(GridInventoryView view) {
+        var showCraftables = showsCraftables() && isHostNodeActive();
+        if (view == lastView && view.getVersion() == lastViewVersion && showCraftables == viewCraftablesShown) {
+            return; // Already sent during this tick
+        }
+
+        // Resend everything if we missed an update of the view
+        if (view != lastView || view.getVersion() != lastViewVersion + 1 || showCraftables != viewCraftablesShown) {
+            updateHelper.clear();
+        }
+        lastView = view;
+        lastViewVersion = view.getVersion();
+        viewCraftablesShown = showCraftables;
+
+        var craftables = showCraftables ? view.getCraftables() : Collections.<AEKey>emptySet();
+        if (updateHelper.isFullUpdate()) {
+            view.getAvailableStacks().keySet().forEach(updateHelper::addChange);
+            craftables.forEach(updateHelper::addChange);
+        } else {
+            view.getChanges().forEach(updateHelper::addChange);
+        }
+
+        try {
+            applyViewportFilter(view.getAvailableStacks(), craftables);
+            if (updateHelper.hasChanges()) {
+                var builder = MEInventoryUpdatePacket
+                        .builder(containerId, updateHelper.isFullUpdate());
+                builder.setFilter(this::isKeyVisible);
+                builder.addChanges(updateHelper, view.getAvailableStacks(), craftables, new KeyCounter());
+                builder.buildAndSend(this::sendPacketToClient);
+                updateHelper.commitChanges();
+            }
+        } catch (Exception e) {
+            AELog.warn(e, "Failed to send incremental inventory update to client");
+        }
+    }
+
+    private void applyViewportFilter(KeyCounter availableStacks, Set<AEKey> craftables) {
+        viewportFilter.apply(updateHelper, availableStacks, craftables,
+                AEConfig.instance().getTerminalSyncPageSize(),
+                AEConfig.instance().getTerminalOffscreenUpdateInterval(),
+                TickHandler.instance().getCurrentTick());
+    }
+
+    /**
+     * Called when the client reports the serials of the entries it shows.
+     */
+    public void setViewport(long[] serials) {
+        viewportFilter.setViewport(new LongOpenHashSet(serials));
+    }
+
+    /**
+     * @return The view shared by all terminals showing the storage of the same grid, or null if this menu doesn't show
+     *         the storage of a grid.
+     */
+    @Nullable
+    private GridInventoryView getGridInventoryView() {
+        var hostNode = getHostNode();
+        if (storage == null || hostNode == null) {
+            return null;
+        }
+        var grid = hostNode.getGrid();
+        if (grid == null || grid.getStorageService().getInventory() != storage) {
+            return null;
+        }
+        return GridInventoryView.get(grid);
+    }
+
+    @Nullable
+    private IGridNode getHostNode() {
         IGridNode hostNode = networkNode;
         // Wireless terminals do not directly expose the target grid (even though they have one)
         if (hostNode == null && host instanceof IActionHost actionHost) {
             hostNode = actionHost.getActionableNode();
         }
+        return hostNode;
+    }
+
+    private boolean isHostNodeActive() {
+        var hostNode = getHostNode();
+        return hostNode != null && hostNode.isActive();
+    }
+
+    protected boolean showsCraftables() {
+        return true;
+    }
+
+    private Set<AEKey> getCraftablesFromGrid() {
         if (!showsCraftables()) {
             return Collections.emptySet();
         }
 
-        if (hostNode != null && hostNode.isActive()) {
-            return hostNode.getGrid().getCraftingService().getCraftables(this::isKeyVisible);
+        if (isHostNodeActive()) {
+            return getHostNode().getGrid().getCraftingService().getCraftables(this::isKeyVisible);
         }
         return Collections.emptySet();
     }
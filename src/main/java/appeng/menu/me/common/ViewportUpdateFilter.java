@@ -0,0 +1,130 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.menu.me.common;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+
+/**
+ * Holds back some of the changes queued in an {@link IncrementalUpdateHelper} to limit how much is sent to the client
+ * at once:
+ * <ul>
+ * <li>Keys the client doesn't know yet are sent in pages of a limited size per update, so opening a terminal on a
+ * large network spreads the initial transfer over several ticks.</li>
+ * <li>Changes to keys that the client knows, but that aren't in or near the part of the terminal the client currently
+ * shows, are coalesced and sent periodically or once they scroll into view. Keys that are added or removed are always
+ * sent right away, since they change the layout of the client's view.</li>
+ * </ul>
+ * Without a page size and update interval, all changes are sent right away.
+ */
+final class ViewportUpdateFilter {
+    /**
+     * Keys that haven't been sent to the client yet, since they didn't fit into the previous pages.
+     */
+    private final Set<AEKey> pendingKeys = new LinkedHashSet<>();
+    /**
+     * Keys known to the client whose changes have not been sent, since they are off-screen.
+     */
+    private final Set<AEKey> offscreenChanges = new LinkedHashSet<>();
+    /**
+     * Serials of the entries the client shows, or null if the client hasn't reported them.
+     */
+    @Nullable
+    private LongSet viewport;
+    private long lastOffscreenFlush;
+
+    public void setViewport(@Nullable LongSet viewport) {
+        this.viewport = viewport;
+    }
+
+    /**
+     * Must be called before the changes of the update helper are sent.
+     *
+     * @param pageSize          The maximum number of keys to send to the client for the first time per update, or 0
+     *                          for no limit.
+     * @param offscreenInterval The maximum number of ticks to hold back changes to off-screen entries, or 0 to never
+     *                          hold them back.
+     */
+    public void apply(IncrementalUpdateHelper updateHelper, KeyCounter availableStacks, Set<AEKey> craftables,
+            int pageSize, int offscreenInterval, long currentTick) {
+        if (updateHelper.isFullUpdate()) {
+            // A full update sends everything again
+            pendingKeys.clear();
+            offscreenChanges.clear();
+            lastOffscreenFlush = currentTick;
+        }
+
+        pendingKeys.forEach(updateHelper::addChange);
+        pendingKeys.clear();
+
+        if (pageSize > 0) {
+            var newKeys = 0;
+            for (var it = updateHelper.iterator(); it.hasNext();) {
+                var key = it.next();
+                if (updateHelper.isFullUpdate() || updateHelper.getSerial(key) == null) {
+                    if (++newKeys > pageSize) {
+                        it.remove();
+                        // The client forgets all serials with a full update, so the key has to be sent again
+                        updateHelper.removeSerial(key);
+                        pendingKeys.add(key);
+                    }
+                }
+            }
+        }
+
+        var viewport = this.viewport;
+        if (viewport == null || offscreenInterval <= 0 || currentTick - lastOffscreenFlush >= offscreenInterval) {
+            offscreenChanges.forEach(updateHelper::addChange);
+            offscreenChanges.clear();
+            lastOffscreenFlush = currentTick;
+            return;
+        }
+
+        // Send the held back changes that scrolled into view
+        for (var it = offscreenChanges.iterator(); it.hasNext();) {
+            var key = it.next();
+            var serial = updateHelper.getSerial(key);
+            if (serial == null || viewport.contains(serial.longValue())) {
+                it.remove();
+                updateHelper.addChange(key);
+            }
+        }
+
+        if (updateHelper.isFullUpdate()) {
+            return;
+        }
+
+        for (var it = updateHelper.iterator(); it.hasNext();) {
+            var key = it.next();
+            var serial = updateHelper.getSerial(key);
+            if (serial != null && !viewport.contains(serial.longValue())
+                    && (availableStacks.get(key) > 0 || craftables.contains(key))) {
+                it.remove();
+                offscreenChanges.add(key);
+            }
+        }
+    }
+}
@@ -67,6 +67,18 @@ public class CraftingCPUMenu extends AEBaseMenu {
     public CpuSelectionMode schedulingMode = CpuSelectionMode.ANY;
     @GuiSync(1)
     public boolean cantStoreItems = false;
+    /**
+     * Average time spent ticking the CPU per tick over the last second, in microseconds.
+     */
+    @GuiSync(2)
+    public long averageTickTime = 0;
+    @GuiSync(3)
+    public int pushedPatternsPerSecond = 0;
+    /**
+     * Total time spent ticking the CPU for the current job, in milliseconds.
+     */
+    @GuiSync(4)
+    public long jobCpuTime = 0;
 
     public CraftingCPUMenu(MenuType<?> menuType, int id, Inventory ip, Object te) {
         super(menuType, id, ip, te);
@@ -113,6 +125,9 @@ protected void setCPU(ICraftingCPU c) {
             this.cpu.craftingLogic.addListener(cpuChangeListener);
         } else {
             this.cpu = null;
+            this.averageTickTime = 0;
+            this.pushedPatternsPerSecond = 0;
+            this.jobCpuTime = 0;
             // Clear the crafting status
             sendPacketToClient(new CraftingStatusPacket(CraftingStatus.EMPTY));
         }
@@ -141,6 +156,9 @@ public void broadcastChanges() {
         if (isServerSide() && this.cpu != null) {
             this.schedulingMode = this.cpu.getSelectionMode();
             this.cantStoreItems = this.cpu.craftingLogic.isCantStoreItems();
+            this.averageTickTime = this.cpu.craftingLogic.getAverageTickTime() / 1000;
+            this.pushedPatternsPerSecond = this.cpu.craftingLogic.getPushedPatternsPerSecond();
+            this.jobCpuTime = this.cpu.craftingLogic.getJobCpuTime() / 1000000;
 
             if (this.incrementalUpdateHelper.hasChanges()) {
                 CraftingStatus status = CraftingStatus.create(this.incrementalUpdateHelper, this.cpu.craftingLogic);
@@ -161,6 +179,18 @@ public boolean isCantStoreItems() {
         return cantStoreItems;
     }
 
+    public long getAverageTickTime() {
+        return averageTickTime;
+    }
+
+    public int getPushedPatternsPerSecond() {
+        return pushedPatternsPerSecond;
+    }
+
+    public long getJobCpuTime() {
+        return jobCpuTime;
+    }
+
     public boolean allowConfiguration() {
         return true;
     }
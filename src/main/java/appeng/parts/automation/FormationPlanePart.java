@@ -57,6 +57,8 @@
 import appeng.helpers.IConfigInvHost;
 import appeng.helpers.IPriorityHost;
 import appeng.items.parts.PartModels;
+import appeng.me.storage.IJournaledStorage;
+import appeng.me.storage.IStorageChangeJournal;
 import appeng.menu.ISubMenu;
 import appeng.menu.MenuOpener;
 import appeng.menu.implementations.FormationPlaneMenu;
@@ -268,7 +270,17 @@ private IPartitionList createFilter() {
     /**
      * Models the block adjacent to this formation plane as storage.
      */
-    class InWorldStorage implements MEStorage {
+    class InWorldStorage implements IJournaledStorage {
+        @Override
+        public boolean addChangeJournal(IStorageChangeJournal journal) {
+            // Items placed into the world are not available to the network
+            return true;
+        }
+
+        @Override
+        public void removeChangeJournal(IStorageChangeJournal journal) {
+        }
+
         @Override
         public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
             if (filter != null && !filter.matchesFilter(what, filterMode)) {
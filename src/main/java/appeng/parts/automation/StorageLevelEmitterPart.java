@@ -98,13 +98,29 @@ public void onStackChange(AEKey what, long amount) {
                 lastReportedValue = amount;
                 updateState();
             } else { // either fuzzy upgrade or null filter
-                // When using a fuzzy upgrade or no filter at all, the level emitter will actively scan the grid
-                // We need to ensure we only do this once per tick in case any stack has changed.
-                long currentTick = TickHandler.instance().getCurrentTick();
-                if (currentTick != lastUpdateTick) {
-                    lastUpdateTick = currentTick;
-                    updateReportingValue(getGridNode().getGrid());
-                }
+                scanGrid();
+            }
+        }
+
+        @Override
+        public void onStackChanges(KeyCounter changes) {
+            if (getConfiguredKey() == null || isUpgradedWith(AEItems.FUZZY_CARD)) {
+                // No need to look at the individual changes, since the grid is scanned anyway
+                scanGrid();
+            } else {
+                IStorageWatcherNode.super.onStackChanges(changes);
+            }
+        }
+
+        /**
+         * When using a fuzzy upgrade or no filter at all, the level emitter will actively scan the grid. We need to
+         * ensure we only do this once per tick in case any stack has changed.
+         */
+        private void scanGrid() {
+            long currentTick = TickHandler.instance().getCurrentTick();
+            if (currentTick != lastUpdateTick) {
+                lastUpdateTick = currentTick;
+                updateReportingValue(getGridNode().getGrid());
             }
         }
     };
@@ -120,6 +136,11 @@ public void onRequestChange(AEKey what) {
             updateState();
         }
 
+        @Override
+        public void onRequestChanges(Set<AEKey> what) {
+            updateState();
+        }
+
         @Override
         public void onCraftableChange(AEKey what) {
         }
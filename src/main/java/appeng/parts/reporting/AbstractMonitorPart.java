@@ -18,6 +18,8 @@
 
 package appeng.parts.reporting;
 
+import java.util.Set;
+
 import com.mojang.blaze3d.vertex.PoseStack;
 
 import org.jetbrains.annotations.Nullable;
@@ -113,6 +115,12 @@ public void onRequestChange(AEKey what) {
             public void onCraftableChange(AEKey what) {
                 getMainNode().ifPresent(AbstractMonitorPart.this::updateReportingValue);
             }
+
+            @Override
+            public void onCraftableChanges(Set<AEKey> what) {
+                // The reporting value only has to be updated once for all changes
+                getMainNode().ifPresent(AbstractMonitorPart.this::updateReportingValue);
+            }
         });
     }
 
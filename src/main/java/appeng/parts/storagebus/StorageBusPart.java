@@ -62,6 +62,7 @@
 import appeng.api.util.AECableType;
 import appeng.api.util.IConfigManager;
 import appeng.capabilities.AppEngCapabilities;
+import appeng.core.AEConfig;
 import appeng.core.AppEng;
 import appeng.core.definitions.AEItems;
 import appeng.core.settings.TickRates;
@@ -72,6 +73,7 @@
 import appeng.items.parts.PartModels;
 import appeng.me.helpers.MachineSource;
 import appeng.me.storage.CompositeStorage;
+import appeng.me.storage.ExternalStorageFacade;
 import appeng.me.storage.ITickingMonitor;
 import appeng.me.storage.MEInventoryHandler;
 import appeng.me.storage.NullInventory;
@@ -260,6 +262,10 @@ public final TickRateModulation tickingRequest(IGridNode node, int ticksSinceLas
         }
 
         if (this.monitor != null) {
+            if (!StorageBusScanBudget.tryScan(node.getGrid(), AEConfig.instance().getStorageBusScansPerTick())) {
+                // The grid already scanned enough inventories this tick, try again next time
+                return TickRateModulation.SAME;
+            }
             return this.monitor.onTick();
         }
 
@@ -404,6 +410,10 @@ private void findExternalStorages(Map<AEKeyType, MEStorage> storages) {
                     extractableOnly,
                     this::invalidateOnExternalStorageChange);
             if (wrapper != null) {
+                // The wrapper is kept by the storage bus, and regularly lists the storage
+                if (wrapper instanceof ExternalStorageFacade facade) {
+                    facade.setSlotIndexed(true);
+                }
                 storages.put(entry.getKey(), wrapper);
             }
         }
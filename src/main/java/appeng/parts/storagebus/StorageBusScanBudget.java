@@ -0,0 +1,46 @@
+package appeng.parts.storagebus;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import appeng.api.networking.IGrid;
+import appeng.hooks.ticking.TickHandler;
+
+/**
+ * Limits how many storage buses of a grid may scan the external inventory they are attached to during the same tick.
+ * Buses that exceed the budget skip their scan and try again the next time they are ticked, which spreads the cost of
+ * many buses polling large inventories over multiple ticks.
+ */
+final class StorageBusScanBudget {
+    private static final Map<IGrid, StorageBusScanBudget> BUDGETS = new WeakHashMap<>();
+
+    private long currentTick = -1;
+    private int scans;
+
+    private StorageBusScanBudget() {
+    }
+
+    /**
+     * @param scansPerTick The maximum number of scans per tick for the grid, or 0 for no limit.
+     * @return True if a storage bus of the given grid may scan its inventory during the current tick.
+     */
+    static boolean tryScan(IGrid grid, int scansPerTick) {
+        if (scansPerTick <= 0) {
+            return true;
+        }
+        return BUDGETS.computeIfAbsent(grid, g -> new StorageBusScanBudget())
+                .tryScan(TickHandler.instance().getCurrentTick(), scansPerTick);
+    }
+
+    private boolean tryScan(long tick, int scansPerTick) {
+        if (tick != currentTick) {
+            currentTick = tick;
+            scans = 0;
+        }
+        if (scans >= scansPerTick) {
+            return false;
+        }
+        scans++;
+        return true;
+    }
+}
@@ -23,6 +23,8 @@
 import appeng.server.services.compass.TestCompassCommand;
 import appeng.server.subcommands.ChannelModeCommand;
 import appeng.server.subcommands.ChunkLogger;
+import appeng.server.subcommands.CraftingCalculationsCommand;
+import appeng.server.subcommands.CraftingCpusCommand;
 import appeng.server.subcommands.ReloadConfigCommand;
 import appeng.server.subcommands.SetupTestWorldCommand;
 import appeng.server.subcommands.SpatialStorageCommand;
@@ -37,6 +39,8 @@ public enum Commands {
     SPATIAL(4, "spatial", new SpatialStorageCommand()),
     CHANNEL_MODE(4, "channelmode", new ChannelModeCommand()),
     TICK_MONITORING(4, "tickmonitor", new TickMonitoring()),
+    CRAFTING_CALCULATIONS(4, "craftingcalculations", new CraftingCalculationsCommand()),
+    CRAFTING_CPUS(4, "craftingcpus", new CraftingCpusCommand()),
 
     // Testing
     COMPASS(4, "compass", new TestCompassCommand(), true),
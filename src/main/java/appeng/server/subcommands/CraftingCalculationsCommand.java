@@ -0,0 +1,22 @@
+package appeng.server.subcommands;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.core.localization.PlayerMessages;
+import appeng.crafting.CraftingCalculationPool;
+import appeng.server.ISubCommand;
+
+/**
+ * Shows the statistics of the {@link CraftingCalculationPool}.
+ */
+public class CraftingCalculationsCommand implements ISubCommand {
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> ctx, CommandSourceStack sender) {
+        var stats = CraftingCalculationPool.getStats();
+        sender.sendSuccess(() -> PlayerMessages.CraftingCalculationStats.text(stats.running(), stats.queued(),
+                stats.threads(), stats.completed(), stats.avgWaitMs(), stats.avgRunMs(), stats.maxRunMs()), false);
+    }
+}
@@ -0,0 +1,89 @@
+package appeng.server.subcommands;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.core.localization.GuiText;
+import appeng.core.localization.PlayerMessages;
+import appeng.crafting.execution.CraftingCpuScheduler;
+import appeng.hooks.ticking.TickHandler;
+import appeng.me.Grid;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.me.service.CraftingService;
+import appeng.me.service.helpers.NetworkCraftingProviders.ProviderSaturation;
+import appeng.server.ISubCommand;
+import appeng.util.Platform;
+
+/**
+ * Shows how much time the crafting CPUs of each network spend ticking, as recorded by the {@link CraftingCpuScheduler},
+ * and which patterns the CPUs most often couldn't push because all of their providers were busy.
+ */
+public class CraftingCpusCommand implements ISubCommand {
+    private static final int MAX_SATURATED_PATTERNS = 5;
+
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> ctx, CommandSourceStack sender) {
+        var foundCpus = false;
+        for (Grid grid : TickHandler.instance().getGridList()) {
+            var craftingService = (CraftingService) grid.getCraftingService();
+            var cpus = craftingService.getCpus();
+            if (cpus.isEmpty()) {
+                continue;
+            }
+            foundCpus = true;
+
+            var scheduler = craftingService.getCpuScheduler();
+            sender.sendSuccess(() -> PlayerMessages.CraftingCpuGridStats.text(cpus.size(),
+                    Platform.formatTimeMeasurement(scheduler.getLastTickTime()), scheduler.getLastTickDeferredCpus(),
+                    scheduler.getBudgetOverruns()), false);
+
+            for (var cpu : cpus) {
+                if (cpu instanceof CraftingCPUCluster cluster) {
+                    sendCpuStats(sender, cluster);
+                }
+            }
+
+            sendProviderSaturation(sender, craftingService);
+        }
+
+        if (!foundCpus) {
+            sender.sendSuccess(() -> PlayerMessages.CraftingCpusNone.text(), false);
+        }
+    }
+
+    private static void sendCpuStats(CommandSourceStack sender, CraftingCPUCluster cluster) {
+        var logic = cluster.craftingLogic;
+        Component name = cluster.getName() != null ? cluster.getName() : GuiText.CPUs.text();
+        var pos = cluster.getBoundsMin().toShortString();
+        var level = cluster.getLevel().dimension().location().toString();
+        sender.sendSuccess(() -> PlayerMessages.CraftingCpuStats.text(name, pos, level,
+                Platform.formatTimeMeasurement(logic.getAverageTickTime()), logic.getPushedPatternsPerSecond(),
+                logic.getDeferredTicks(), Platform.formatTimeMeasurement(logic.getJobCpuTime()),
+                logic.getJobPushedPatterns()), false);
+    }
+
+    /**
+     * Lists the patterns whose providers were most often all busy when a CPU wanted to push them.
+     */
+    private static void sendProviderSaturation(CommandSourceStack sender, CraftingService craftingService) {
+        var saturatedProviders = craftingService.getSaturatedProviders().entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<IPatternDetails, ProviderSaturation> e) -> e.getValue().saturatedLookups())
+                        .reversed())
+                .limit(MAX_SATURATED_PATTERNS)
+                .toList();
+        for (var entry : saturatedProviders) {
+            var output = entry.getKey().getPrimaryOutput().what().getDisplayName();
+            var saturation = entry.getValue();
+            sender.sendSuccess(() -> PlayerMessages.CraftingProviderSaturation.text(output,
+                    saturation.busyProviders(), saturation.providers(), saturation.saturatedLookups()), false);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package appeng.client.gui.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.SortDir;
+import appeng.api.config.SortOrder;
+import appeng.api.config.TypeFilter;
+import appeng.api.config.ViewItems;
+import appeng.api.stacks.AEItemKey;
+import appeng.client.gui.widgets.ISortSource;
+import appeng.menu.me.common.GridInventoryEntry;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class RepoTest {
+    private static final ISortSource SORT_BY_AMOUNT = new ISortSource() {
+        @Override
+        public SortOrder getSortBy() {
+            return SortOrder.AMOUNT;
+        }
+
+        @Override
+        public SortDir getSortDir() {
+            return SortDir.DESCENDING;
+        }
+
+        @Override
+        public ViewItems getSortDisplay() {
+            return ViewItems.STORED;
+        }
+
+        @Override
+        public TypeFilter getTypeFilter() {
+            return TypeFilter.ALL;
+        }
+    };
+
+    private final Random random = new Random(1);
+    private final Repo repo = new Repo(() -> 0, SORT_BY_AMOUNT);
+    private long nextSerial = 1;
+
+    @Test
+    void testIncrementalUpdatesMatchRebuiltView() {
+        var initialEntries = new ArrayList<GridInventoryEntry>();
+        for (int i = 0; i < 1000; i++) {
+            initialEntries.add(newEntry());
+        }
+        repo.handleUpdate(true, initialEntries);
+        assertViewIsRebuiltView();
+
+        for (int batch = 0; batch < 50; batch++) {
+            var serials = repo.getAllEntries().stream().map(GridInventoryEntry::getSerial).toList();
+            var changes = new ArrayList<GridInventoryEntry>();
+            for (int i = 0; i < 30; i++) {
+                var serial = serials.get(random.nextInt(serials.size()));
+                switch (random.nextInt(4)) {
+                    // Removed
+                    case 0 -> changes.add(new GridInventoryEntry(serial, null, 0, 0, false));
+                    // Only craftable, which hides it in this view mode
+                    case 1 -> changes.add(new GridInventoryEntry(serial, null, 0, 0, true));
+                    case 2 -> changes.add(newEntry());
+                    default -> changes.add(new GridInventoryEntry(serial, null, random.nextInt(100), 0, false));
+                }
+            }
+            repo.handleUpdate(false, changes);
+            assertViewIsRebuiltView();
+        }
+    }
+
+    @Test
+    void testFullUpdateDropsCachedSearchResults() {
+        repo.setSearchString("*minecraft:stick");
+        repo.handleUpdate(true, List.of(new GridInventoryEntry(1, AEItemKey.of(Items.STICK), 1, 0, false)));
+        assertThat(getView(repo)).extracting(GridInventoryEntry::getSerial).containsExactly(1L);
+
+        repo.handleUpdate(true, List.of(new GridInventoryEntry(1, AEItemKey.of(Items.DIAMOND), 1, 0, false)));
+        assertThat(getView(repo)).isEmpty();
+    }
+
+    private void assertViewIsRebuiltView() {
+        var rebuilt = new Repo(() -> 0, SORT_BY_AMOUNT);
+        rebuilt.handleUpdate(true, List.copyOf(repo.getAllEntries()));
+        assertThat(getView(repo)).containsExactlyElementsOf(getView(rebuilt));
+    }
+
+    private static List<GridInventoryEntry> getView(Repo repo) {
+        var view = new ArrayList<GridInventoryEntry>();
+        for (int i = 0; i < repo.size(); i++) {
+            view.add(repo.get(i));
+        }
+        return view;
+    }
+
+    private GridInventoryEntry newEntry() {
+        var tag = new CompoundTag();
+        tag.putLong("serial", nextSerial);
+        var what = AEItemKey.of(Items.STICK, tag);
+        return new GridInventoryEntry(nextSerial++, what, 1 + random.nextInt(100), 0, false);
+    }
+}
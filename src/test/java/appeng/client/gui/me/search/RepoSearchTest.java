@@ -0,0 +1,111 @@
+package appeng.client.gui.me.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.menu.me.common.GridInventoryEntry;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class RepoSearchTest {
+    private final RepoSearch search = new RepoSearch();
+
+    @Test
+    void testAppendingPlainTextRefinesSearch() {
+        assertTrue(RepoSearch.isRefinement("", "dia"));
+        assertTrue(RepoSearch.isRefinement("dia", "diamond"));
+        assertTrue(RepoSearch.isRefinement("@", "@ae2"));
+        assertTrue(RepoSearch.isRefinement("*minecraft", "*minecraft:stick"));
+    }
+
+    @Test
+    void testOtherChangesDontRefineSearch() {
+        assertFalse(RepoSearch.isRefinement("diamond", "dia"));
+        assertFalse(RepoSearch.isRefinement("dia", "sti"));
+        // Regular expressions can match more when extended
+        assertFalse(RepoSearch.isRefinement("dia", "dia|stick"));
+        assertFalse(RepoSearch.isRefinement("dia", "diam?"));
+    }
+
+    @Test
+    void testRefinedSearchMatchesFreshSearch() {
+        var entries = List.of(entry(1, Items.STICK), entry(2, Items.STONE), entry(3, Items.DIAMOND),
+                entry(4, Items.STONE_BRICKS), entry(5, Items.SANDSTONE));
+
+        search.setSearchString("*minecraft:st");
+        assertThat(entries).filteredOn(search::matches).extracting(GridInventoryEntry::getSerial)
+                .containsExactly(1L, 2L, 4L);
+
+        search.setSearchString("*minecraft:sto");
+        var freshSearch = new RepoSearch();
+        freshSearch.setSearchString("*minecraft:sto");
+        assertThat(entries).filteredOn(search::matches).extracting(GridInventoryEntry::getSerial)
+                .containsExactly(2L, 4L)
+                .containsExactlyElementsOf(entries.stream().filter(freshSearch::matches)
+                        .map(GridInventoryEntry::getSerial).toList());
+    }
+
+    @Test
+    void testRefinedSearchSkipsEntriesThatDidntMatchBefore() {
+        search.setSearchString("*minecraft:st");
+        assertFalse(search.matches(entry(1, Items.DIAMOND)));
+
+        // The entry isn't tested again, otherwise the (impossible) change of its key would make it match
+        search.setSearchString("*minecraft:sti");
+        assertFalse(search.matches(entry(1, Items.STICK)));
+    }
+
+    @Test
+    void testResultsOfRecentSearchesAreKept() {
+        search.setSearchString("*minecraft:stick");
+        assertTrue(search.matches(entry(1, Items.STICK)));
+
+        for (var i = 0; i < 7; i++) {
+            search.setSearchString("*minecraft:" + i);
+        }
+
+        // The cached result is used, even though the key of the entry changed
+        search.setSearchString("*minecraft:stick");
+        assertTrue(search.matches(entry(1, Items.DIAMOND)));
+    }
+
+    @Test
+    void testResultsOfOldSearchesAreEvicted() {
+        search.setSearchString("*minecraft:stick");
+        assertTrue(search.matches(entry(1, Items.STICK)));
+
+        for (var i = 0; i < 8; i++) {
+            search.setSearchString("*minecraft:" + i);
+        }
+
+        search.setSearchString("*minecraft:stick");
+        assertFalse(search.matches(entry(1, Items.DIAMOND)));
+    }
+
+    @Test
+    void testClearingTheCacheDropsAllResults() {
+        search.setSearchString("*minecraft:stick");
+        assertTrue(search.matches(entry(1, Items.STICK)));
+        search.setSearchString("*minecraft:diamond");
+        assertFalse(search.matches(entry(1, Items.STICK)));
+
+        search.clearCache();
+
+        assertTrue(search.matches(entry(1, Items.DIAMOND)));
+        search.setSearchString("*minecraft:stick");
+        assertFalse(search.matches(entry(1, Items.DIAMOND)));
+    }
+
+    private static GridInventoryEntry entry(long serial, Item item) {
+        return new GridInventoryEntry(serial, AEItemKey.of(item), 1, 0, false);
+    }
+}
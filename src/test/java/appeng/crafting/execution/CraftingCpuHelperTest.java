@@ -0,0 +1,58 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.inv.ListCraftingInventory;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class CraftingCpuHelperTest {
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey iron = AEItemKey.of(Items.IRON_INGOT);
+
+    private final ListCraftingInventory inventory = new ListCraftingInventory(key -> {
+    });
+    private final IPatternDetails pattern = new ProcessingPatternBuilder(new GenericStack(iron, 1))
+            .addPreciseInput(2, new GenericStack(stick, 1))
+            .addPreciseInput(1, new GenericStack(stone, 1))
+            .build();
+
+    @Test
+    void testExtractInputsForSeveralCopies() {
+        inventory.insert(stick, 10, Actionable.MODULATE);
+        inventory.insert(stone, 5, Actionable.MODULATE);
+
+        var expectedOutputs = new KeyCounter();
+        var inputs = CraftingCpuHelper.extractPatternInputs(pattern, inventory, null, expectedOutputs, 3);
+
+        assertThat(inputs).isNotNull();
+        assertThat(inputs[0].get(stick)).isEqualTo(6);
+        assertThat(inputs[1].get(stone)).isEqualTo(3);
+        assertThat(expectedOutputs.get(iron)).isEqualTo(3);
+        assertThat(inventory.list.get(stick)).isEqualTo(4);
+        assertThat(inventory.list.get(stone)).isEqualTo(2);
+    }
+
+    @Test
+    void testMissingInputsForBatchAreReinjected() {
+        inventory.insert(stick, 10, Actionable.MODULATE);
+        inventory.insert(stone, 5, Actionable.MODULATE);
+
+        var inputs = CraftingCpuHelper.extractPatternInputs(pattern, inventory, null, new KeyCounter(), 6);
+
+        assertThat(inputs).isNull();
+        assertThat(inventory.list.get(stick)).isEqualTo(10);
+        assertThat(inventory.list.get(stone)).isEqualTo(5);
+    }
+}
@@ -0,0 +1,90 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CraftingCpuSchedulerTest {
+    private final CraftingCpuScheduler scheduler = new CraftingCpuScheduler();
+    private final List<CraftingCpuLogic> ticked = new ArrayList<>();
+
+    @Test
+    void testPlayerJobsAreTickedBeforeAutomation() {
+        var idle = createCpu(false, false);
+        var automation = createCpu(true, false);
+        var player = createCpu(true, true);
+        scheduler.setCpus(List.of(idle, automation, player));
+
+        tick(0);
+
+        assertThat(ticked).containsExactly(player, automation, idle);
+        assertThat(scheduler.getLastTickDeferredCpus()).isZero();
+    }
+
+    @Test
+    void testCpusBeyondTheBudgetAreDeferred() {
+        var automation = createCpu(true, false);
+        var player = createCpu(true, true);
+        scheduler.setCpus(List.of(automation, player));
+
+        tick(1);
+
+        assertThat(ticked).containsExactly(player);
+        assertThat(scheduler.getLastTickDeferredCpus()).isEqualTo(1);
+        assertThat(scheduler.getBudgetOverruns()).isEqualTo(1);
+    }
+
+    @Test
+    void testDeferredCpusOfTheSamePriorityGoFirst() {
+        var first = createCpu(true, false);
+        var second = createCpu(true, false);
+        scheduler.setCpus(List.of(first, second));
+
+        tick(1);
+        tick(1);
+        tick(1);
+
+        assertThat(ticked).containsExactly(first, second, first);
+    }
+
+    @Test
+    void testStarvedCpusAreEventuallyTicked() {
+        var automation = createCpu(true, false);
+        var player = createCpu(true, true);
+        scheduler.setCpus(List.of(automation, player));
+
+        for (int i = 0; i < 20; i++) {
+            tick(1);
+        }
+        assertThat(ticked).containsOnly(player);
+
+        ticked.clear();
+        tick(1);
+        tick(1);
+        assertThat(ticked).containsExactly(automation, player);
+    }
+
+    private void tick(long budgetNanos) {
+        scheduler.tick(budgetNanos, cpu -> {
+            ticked.add(cpu);
+            // Make sure that the time spent ticking the CPU is measurable
+            var start = System.nanoTime();
+            while (System.nanoTime() == start) {
+                Thread.onSpinWait();
+            }
+            return 1;
+        });
+    }
+
+    private static CraftingCpuLogic createCpu(boolean hasJob, boolean playerRequested) {
+        var cpu = mock(CraftingCpuLogic.class);
+        when(cpu.hasJob()).thenReturn(hasJob);
+        when(cpu.isPlayerRequested()).thenReturn(playerRequested);
+        return cpu;
+    }
+}
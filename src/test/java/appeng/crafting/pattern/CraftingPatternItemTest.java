@@ -1,7 +1,9 @@
 package appeng.crafting.pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -94,9 +96,54 @@ void testDecodeWithRemovedIngredientItemIds() {
         assertNull(decoded);
     }
 
+    /**
+     * Patterns for the same recipe and ingredients share the results of testing substitutes.
+     */
+    @Test
+    void testSubstituteChecksAreSharedBetweenPatterns() {
+        var recipe = new TestRecipe();
+        var holder = new RecipeHolder<CraftingRecipe>(TEST_RECIPE_ID, recipe);
+        var level = mockLevel(holder);
+        var first = decode(createTestPattern(holder, true).getTag(), level);
+        var second = decode(createTestPattern(holder, false).getTag(), level);
+        assertEquals(2, recipe.matchesCalls);
+
+        var redstoneTorch = AEItemKey.of(Items.REDSTONE_TORCH);
+        assertFalse(first.isItemValid(0, redstoneTorch, level));
+        assertEquals(3, recipe.matchesCalls);
+        assertFalse(second.isItemValid(0, redstoneTorch, level));
+        assertEquals(3, recipe.matchesCalls);
+
+        // The encoded ingredients are not changed by testing substitutes
+        assertTrue(second.isItemValid(0, AEItemKey.of(Items.TORCH), level));
+    }
+
+    /**
+     * Results for items with NBT are not cached, since every variant would be kept in the shared cache.
+     */
+    @Test
+    void testSubstituteChecksWithNbtAreNotCached() {
+        var recipe = new TestRecipe();
+        var holder = new RecipeHolder<CraftingRecipe>(TEST_RECIPE_ID, recipe);
+        var level = mockLevel(holder);
+        var pattern = decode(createTestPattern(holder, true).getTag(), level);
+        assertEquals(1, recipe.matchesCalls);
+
+        var stack = new ItemStack(Items.REDSTONE_TORCH);
+        stack.getOrCreateTag().putInt("variant", 1);
+        var redstoneTorch = AEItemKey.of(stack);
+        assertFalse(pattern.isItemValid(0, redstoneTorch, level));
+        assertFalse(pattern.isItemValid(0, redstoneTorch, level));
+        assertEquals(3, recipe.matchesCalls);
+    }
+
     private ItemStack createTestPattern() {
+        return createTestPattern(TEST_RECIPE, true);
+    }
+
+    private ItemStack createTestPattern(RecipeHolder<CraftingRecipe> recipe, boolean allowFluidSubstitutes) {
         return PatternDetailsHelper.encodeCraftingPattern(
-                TEST_RECIPE,
+                recipe,
                 new ItemStack[] {
                         new ItemStack(Items.TORCH),
                         new ItemStack(Items.DIAMOND),
@@ -110,21 +157,29 @@ private ItemStack createTestPattern() {
                 },
                 new ItemStack(Items.STICK),
                 true,
-                true);
+                allowFluidSubstitutes);
     }
 
     private AECraftingPattern decode(CompoundTag tag) {
-        var level = mock(Level.class);
-        var recipeManager = mock(RecipeManager.class);
-        when(level.getRecipeManager()).thenReturn(recipeManager);
-        when(recipeManager.byType(RecipeType.CRAFTING)).thenReturn(Map.of(TEST_RECIPE_ID, TEST_RECIPE));
+        return decode(tag, mockLevel(TEST_RECIPE));
+    }
 
+    private AECraftingPattern decode(CompoundTag tag, Level level) {
         return AEItems.CRAFTING_PATTERN.asItem().decode(
                 AEItemKey.of(AEItems.CRAFTING_PATTERN, tag), level);
     }
 
+    private static Level mockLevel(RecipeHolder<CraftingRecipe> recipe) {
+        var level = mock(Level.class);
+        var recipeManager = mock(RecipeManager.class);
+        when(level.getRecipeManager()).thenReturn(recipeManager);
+        when(recipeManager.byType(RecipeType.CRAFTING)).thenReturn(Map.of(TEST_RECIPE_ID, recipe));
+        return level;
+    }
+
     private static class TestRecipe implements CraftingRecipe {
         public boolean acceptAssemble = true;
+        public int matchesCalls;
 
         @Override
         public RecipeType<?> getType() {
@@ -138,6 +193,7 @@ public CraftingBookCategory category() {
 
         @Override
         public boolean matches(CraftingContainer container, Level level) {
+            matchesCalls++;
             for (int i = 2; i < container.getContainerSize(); i++) {
                 if (!container.getItem(i).isEmpty()) {
                     return false;
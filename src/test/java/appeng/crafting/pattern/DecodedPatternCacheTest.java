@@ -0,0 +1,92 @@
+package appeng.crafting.pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class DecodedPatternCacheTest {
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey dirt = AEItemKey.of(Items.DIRT);
+
+    private final DecodedPatternCache cache = new DecodedPatternCache(2);
+    private final List<AEItemKey> decoded = new ArrayList<>();
+
+    @Test
+    void testPatternsAreDecodedOnce() {
+        var pattern = decode(stick);
+        assertThat(decode(stick)).isSameAs(pattern);
+
+        assertThat(decoded).containsExactly(stick);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidPatternsAreNotCached() {
+        assertThat(cache.getOrDecode(stick, this::decodeInvalid)).isNull();
+        assertThat(cache.getOrDecode(stick, this::decodeInvalid)).isNull();
+
+        assertThat(decoded).containsExactly(stick, stick);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testLeastRecentlyUsedPatternIsEvicted() {
+        decode(stick);
+        decode(stone);
+        decode(stick);
+        decode(dirt);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(1);
+
+        decode(stick);
+        decode(stone);
+        assertThat(decoded).containsExactly(stick, stone, dirt, stone);
+    }
+
+    @Test
+    void testClearDiscardsPatterns() {
+        var pattern = decode(stick);
+        cache.clear();
+
+        assertThat(decode(stick)).isNotSameAs(pattern);
+        assertThat(decoded).containsExactly(stick, stick);
+    }
+
+    @Test
+    void testPatternDecodedDuringClearIsNotCached() {
+        cache.getOrDecode(stick, what -> {
+            cache.clear();
+            return decodeValid(what);
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private IPatternDetails decode(AEItemKey what) {
+        return cache.getOrDecode(what, this::decodeValid);
+    }
+
+    private IPatternDetails decodeValid(AEItemKey what) {
+        decoded.add(what);
+        return mock(IPatternDetails.class);
+    }
+
+    private IPatternDetails decodeInvalid(AEItemKey what) {
+        decoded.add(what);
+        return null;
+    }
+}
@@ -336,6 +336,27 @@ public void testAdaptiveOrder() {
                 .usedMatch(mult(input, 547));
     }
 
+    /**
+     * {@link CalculationStrategy#CRAFT_LESS} when exactly one can be crafted: the search starts from there.
+     */
+    @Test
+    public void testAdaptiveOrderSingle() {
+        var env = new SimulationEnv();
+
+        var input = item(Items.COBBLESTONE);
+        var output = item(Items.STONE);
+
+        var pattern = env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(2, input).build());
+
+        env.addStoredItem(mult(input, 3));
+        var plan = env.runSimulation(mult(output, 1000), CalculationStrategy.CRAFT_LESS);
+        assertThatPlan(plan)
+                .succeeded()
+                .patternsMatch(pattern, 1)
+                .outputMatches(output)
+                .usedMatch(mult(input, 2));
+    }
+
     /**
      * This tests that leftovers from previous crafting iterations reused in a subsequent iteration, are not scheduled
      * for extraction from the network.
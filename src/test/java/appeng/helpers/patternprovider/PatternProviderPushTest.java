@@ -0,0 +1,172 @@
+package appeng.helpers.patternprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Tests pushing the inputs of one or several copies of a pattern to an adjacent inventory.
+ */
+@BootstrapMinecraft
+class PatternProviderPushTest {
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey iron = AEItemKey.of(Items.IRON_INGOT);
+
+    private final IPatternDetails pattern = new ProcessingPatternBuilder(new GenericStack(iron, 1))
+            .addPreciseInput(2, new GenericStack(stick, 1))
+            .addPreciseInput(1, new GenericStack(stone, 1))
+            .build();
+    private final KeyCounter overflow = new KeyCounter();
+
+    @Test
+    void testBatchIsPushedCompletely() {
+        var target = new TestTarget(Long.MAX_VALUE);
+
+        var pushed = PatternProviderLogic.pushInputsToTarget(target, pattern, inputs(3), 3, overflow::add);
+
+        assertThat(pushed).isTrue();
+        assertThat(target.inserted.get(stick)).isEqualTo(6);
+        assertThat(target.inserted.get(stone)).isEqualTo(3);
+        assertThat(overflow.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testBatchIsRejectedIfAnInputDoesNotFit() {
+        var target = new TestTarget(5);
+
+        var pushed = PatternProviderLogic.pushInputsToTarget(target, pattern, inputs(3), 3, overflow::add);
+
+        assertThat(pushed).isFalse();
+        assertThat(target.inserted.isEmpty()).isTrue();
+        assertThat(overflow.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testSingleCopyIsPushedIfAnInputFitsPartially() {
+        var target = new TestTarget(1);
+
+        var pushed = PatternProviderLogic.pushInputsToTarget(target, pattern, inputs(1), 1, overflow::add);
+
+        assertThat(pushed).isTrue();
+        assertThat(target.inserted.get(stick)).isEqualTo(1);
+        assertThat(overflow.get(stick)).isEqualTo(1);
+    }
+
+    /**
+     * Each input is simulated on its own, so inputs that compete for the same space only overflow once they are
+     * inserted. The overflow is not lost.
+     */
+    @Test
+    void testBatchOverflowsIfInputsCompeteForSpace() {
+        var target = new TestTarget(8);
+        target.sharedSpace = true;
+
+        var pushed = PatternProviderLogic.pushInputsToTarget(target, pattern, inputs(3), 3, overflow::add);
+
+        assertThat(pushed).isTrue();
+        assertThat(target.inserted.get(stick) + target.inserted.get(stone)).isEqualTo(8);
+        assertThat(target.inserted.get(stick) + overflow.get(stick)).isEqualTo(6);
+        assertThat(target.inserted.get(stone) + overflow.get(stone)).isEqualTo(3);
+    }
+
+    /**
+     * Patterns that only push one copy per call are called again with the inputs of the remaining copies.
+     */
+    @Test
+    void testBatchOfPatternPushingOneCopyPerCall() {
+        var calls = new int[1];
+        var singleCopyPattern = new IPatternDetails() {
+            @Override
+            public AEItemKey getDefinition() {
+                return pattern.getDefinition();
+            }
+
+            @Override
+            public IInput[] getInputs() {
+                return pattern.getInputs();
+            }
+
+            @Override
+            public GenericStack[] getOutputs() {
+                return pattern.getOutputs();
+            }
+
+            @Override
+            public void pushInputsToExternalInventory(KeyCounter[] inputHolder, PatternInputSink inputSink) {
+                calls[0]++;
+                for (int x = 0; x < inputHolder.length; x++) {
+                    var perCopy = getInputs()[x].getMultiplier();
+                    for (var input : inputHolder[x]) {
+                        inputSink.pushInput(input.getKey(), Math.min(perCopy, input.getLongValue()));
+                    }
+                }
+            }
+        };
+        var target = new TestTarget(Long.MAX_VALUE);
+
+        var pushed = PatternProviderLogic.pushInputsToTarget(target, singleCopyPattern, inputs(3), 3, overflow::add);
+
+        assertThat(pushed).isTrue();
+        assertThat(calls[0]).isEqualTo(3);
+        assertThat(target.inserted.get(stick)).isEqualTo(6);
+        assertThat(target.inserted.get(stone)).isEqualTo(3);
+        assertThat(target.insertions).isEqualTo(6);
+    }
+
+    private KeyCounter[] inputs(int copies) {
+        var inputs = new KeyCounter[] { new KeyCounter(), new KeyCounter() };
+        inputs[0].add(stick, 2L * copies);
+        inputs[1].add(stone, copies);
+        return inputs;
+    }
+
+    /**
+     * An inventory with a limited capacity per key, or shared by all keys.
+     */
+    private static class TestTarget implements PatternProviderTarget {
+        private final long capacity;
+        private boolean sharedSpace;
+        private final KeyCounter inserted = new KeyCounter();
+        private int insertions;
+
+        TestTarget(long capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable type) {
+            var used = inserted.get(what);
+            if (sharedSpace) {
+                used = 0;
+                for (var entry : inserted) {
+                    used += entry.getLongValue();
+                }
+            }
+            var accepted = Math.min(amount, capacity - used);
+            if (type == Actionable.MODULATE) {
+                inserted.add(what, accepted);
+                insertions++;
+            }
+            return accepted;
+        }
+
+        @Override
+        public boolean containsPatternInput(Set<AEKey> patternInputs) {
+            return false;
+        }
+    }
+}
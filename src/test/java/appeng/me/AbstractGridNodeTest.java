@@ -1,6 +1,8 @@
 package appeng.me;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.Set;
 
@@ -10,6 +12,7 @@
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
 import appeng.api.networking.GridFlags;
@@ -20,6 +23,7 @@
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.api.networking.ticking.TickingRequest;
+import appeng.blockentity.networking.ControllerBlockEntity;
 import appeng.me.service.EnergyService;
 import appeng.util.BootstrapMinecraft;
 import appeng.util.Platform;
@@ -63,6 +67,20 @@ protected GridNode makePoweredNode(GridFlags... flags) {
         return node;
     }
 
+    /**
+     * Makes a ready node owned by a mocked controller, which is recognized as such by the pathing service.
+     */
+    @SuppressWarnings("unchecked")
+    protected GridNode makeControllerNode(BlockPos pos) {
+        var controller = mock(ControllerBlockEntity.class);
+        var node = new GridNode(level, controller, mock(IGridNodeListener.class),
+                Set.of(GridFlags.CANNOT_CARRY, GridFlags.DENSE_CAPACITY));
+        when(controller.getGridNode()).thenReturn(node);
+        when(controller.getBlockPos()).thenReturn(pos);
+        node.markReady();
+        return node;
+    }
+
     protected GridNode makeTickingNode(TickingRequest request, NodeTicker ticker, GridFlags... flags) {
         var node = makeNode(flags);
         node.addService(IGridTickable.class, new IGridTickable() {
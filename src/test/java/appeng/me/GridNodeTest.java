@@ -1,6 +1,8 @@
 package appeng.me;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.reset;
@@ -9,6 +11,9 @@
 
 import org.junit.jupiter.api.Test;
 
+import net.minecraft.nbt.CompoundTag;
+
+import appeng.api.networking.GridHelper;
 import appeng.api.networking.IGridNodeListener;
 import appeng.me.service.PathingService;
 
@@ -33,4 +38,31 @@ public void rebootNotificationIsPostedAfterGridBeginsBooting() {
         assertThat(calls).containsExactly(false, true);
     }
 
+    @Test
+    public void loadedNodesJoinTheGridTheyWereSavedWith() {
+        var a = makeReadyNode();
+        var b = makeReadyNode();
+        GridHelper.createConnection(a, b);
+        var saved = new CompoundTag();
+        a.saveToNBT("node", saved);
+
+        // The node joins the grid before it is connected, and stays in it once it is
+        var c = makeNode();
+        c.loadFromNBT("node", saved);
+        c.markReady();
+        assertSame(a.getGrid(), c.getGrid());
+        GridHelper.createConnection(b, c);
+        Grid.validateJoinedGrids();
+        assertSame(a.getGrid(), c.getGrid());
+
+        // A node that doesn't get connected is split off again
+        var d = makeNode();
+        d.loadFromNBT("node", saved);
+        d.markReady();
+        assertSame(a.getGrid(), d.getGrid());
+        Grid.validateJoinedGrids();
+        assertNotSame(a.getGrid(), d.getGrid());
+        assertThat(a.getGrid().size()).isEqualTo(3);
+    }
+
 }
@@ -1,15 +1,19 @@
 package appeng.me;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import net.minecraft.server.level.ServerLevel;
+
 import appeng.api.networking.GridHelper;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.ticking.IGridTickable;
@@ -53,6 +57,88 @@ void testAlertDevice() {
         assertThat(timesSinceLastTick).containsExactly(11, 10, 1);
     }
 
+    /**
+     * Nodes that don't fit into the tick budget of their grid are deferred to the next tick, where they are ticked
+     * first.
+     */
+    @Test
+    void testTickBudgetDefersNodes() {
+        var ticks = new ArrayList<String>();
+        var first = makeTickingNode(new TickingRequest(1, 1, false, false), (tickingNode, ticksSinceLastCall) -> {
+            ticks.add("first");
+            return TickRateModulation.SAME;
+        });
+        var second = makeTickingNode(new TickingRequest(1, 1, false, false), (tickingNode, ticksSinceLastCall) -> {
+            ticks.add("second");
+            return TickRateModulation.SAME;
+        });
+        GridHelper.createConnection(first, second);
+        var tickManager = (TickManagerService) first.getGrid().getTickManager();
+
+        // The budget is used up by the first node of every tick
+        tickManager.setTickBudget(1);
+        runTick(first.getGrid(), 4);
+        assertThat(ticks).hasSize(4);
+        // Since the deferred node goes first, the nodes take turns
+        assertThat(ticks.get(1)).isNotEqualTo(ticks.get(0));
+        assertThat(ticks.get(2)).isEqualTo(ticks.get(0));
+        assertThat(tickManager.getBudgetOverruns()).isEqualTo(4);
+        assertThat(tickManager.getDeferredNodes()).isEqualTo(1);
+
+        // Without a budget, both nodes are ticked every tick
+        tickManager.setTickBudget(0);
+        ticks.clear();
+        runTick(first.getGrid(), 2);
+        assertThat(ticks).hasSize(4);
+    }
+
+    /**
+     * A grid that used up its budget in one level still ticks a node in each of its other levels.
+     */
+    @Test
+    void testTickBudgetTicksNodesInEveryLevel() {
+        var ticks = new ArrayList<String>();
+        var first = makeTickingNode(new TickingRequest(1, 1, false, false), (tickingNode, ticksSinceLastCall) -> {
+            ticks.add("first");
+            return TickRateModulation.SAME;
+        });
+        var second = makeTickingNode(new TickingRequest(1, 1, false, false), (tickingNode, ticksSinceLastCall) -> {
+            ticks.add("second");
+            return TickRateModulation.SAME;
+        });
+        var otherLevel = mock(ServerLevel.class);
+        var other = new GridNode(otherLevel, owner, listener, Set.of());
+        other.addService(IGridTickable.class, new IGridTickable() {
+            @Override
+            public TickingRequest getTickingRequest(IGridNode node) {
+                return new TickingRequest(1, 1, false, false);
+            }
+
+            @Override
+            public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall) {
+                ticks.add("other");
+                return TickRateModulation.SAME;
+            }
+        });
+        other.markReady();
+        GridHelper.createConnection(first, second);
+        GridHelper.createConnection(second, other);
+        var grid = first.getInternalGrid();
+        ((TickManagerService) grid.getTickManager()).setTickBudget(1);
+
+        for (var i = 0; i < 4; i++) {
+            grid.onServerStartTick();
+            for (var tickedLevel : List.of(level, otherLevel)) {
+                grid.onLevelStartTick(tickedLevel);
+                grid.onLevelEndTick(tickedLevel);
+            }
+            grid.onServerEndTick();
+        }
+
+        assertThat(ticks).filteredOn("other"::equals).hasSize(4);
+        assertThat(ticks).hasSize(8);
+    }
+
     /**
      * Tests the sleeping behavior of nodes.
      */
@@ -134,6 +134,40 @@ void testVoidUpgrade() {
         assertThat(cell.insert(rejected, Long.MAX_VALUE, Actionable.MODULATE, SRC)).isZero();
     }
 
+    /**
+     * Persisting only rewrites the amounts if no types were added or removed, which must still round-trip.
+     */
+    @Test
+    void testPersistRoundTrip() {
+        var item = AEItems.ITEM_CELL_1K.asItem();
+        var stack = new ItemStack(item);
+        var keys = generateDifferentKeys(3);
+
+        var cell = Objects.requireNonNull(StorageCells.getCellInventory(stack, null));
+        for (var key : keys) {
+            cell.insert(key, 10, Actionable.MODULATE, SRC);
+        }
+
+        // Only amounts change
+        cell = Objects.requireNonNull(StorageCells.getCellInventory(stack, null));
+        cell.insert(keys[1], 5, Actionable.MODULATE, SRC);
+        cell.extract(keys[2], 3, Actionable.MODULATE, SRC);
+
+        cell = Objects.requireNonNull(StorageCells.getCellInventory(stack, null));
+        var stacks = cell.getAvailableStacks();
+        assertThat(stacks.get(keys[0])).isEqualTo(10);
+        assertThat(stacks.get(keys[1])).isEqualTo(15);
+        assertThat(stacks.get(keys[2])).isEqualTo(7);
+
+        // A type is removed
+        cell.extract(keys[0], 10, Actionable.MODULATE, SRC);
+        cell = Objects.requireNonNull(StorageCells.getCellInventory(stack, null));
+        stacks = cell.getAvailableStacks();
+        assertThat(stacks.size()).isEqualTo(2);
+        assertThat(stacks.get(keys[1])).isEqualTo(15);
+        assertThat(stacks.get(keys[2])).isEqualTo(7);
+    }
+
     private static AEItemKey[] generateDifferentKeys(int count) {
         var out = new AEItemKey[count];
         for (int i = 0; i < count; ++i) {
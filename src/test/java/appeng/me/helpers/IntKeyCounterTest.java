@@ -0,0 +1,76 @@
+package appeng.me.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.material.Fluids;
+
+import appeng.api.stacks.AEFluidKey;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class IntKeyCounterTest {
+    private final IntKeyCounter counter = new IntKeyCounter();
+
+    @Test
+    void testEqualKeysShareId() {
+        var first = AEItemKey.of(Items.DIAMOND_SWORD, tag(1));
+        var second = AEItemKey.of(Items.DIAMOND_SWORD, tag(1));
+        var other = AEItemKey.of(Items.DIAMOND_SWORD, tag(2));
+        assertNotSame(first, second);
+
+        var firstId = AEKeyRegistry.getId(first);
+        assertSame(firstId, AEKeyRegistry.getId(second));
+        assertNotEquals(firstId.value, AEKeyRegistry.getId(other).value);
+        assertNotEquals(firstId.value, AEKeyRegistry.getId(AEFluidKey.of(Fluids.WATER)).value);
+        assertEquals(firstId.value, AEKeyRegistry.findId(second));
+    }
+
+    @Test
+    void testAddAndSet() {
+        var stick = AEItemKey.of(Items.STICK);
+        counter.add(stick, 5);
+        counter.add(AEItemKey.of(Items.STICK), 3);
+        assertEquals(8, counter.get(stick));
+
+        counter.set(stick, 2);
+        assertEquals(2, counter.get(stick));
+
+        counter.remove(stick, 2);
+        assertEquals(0, counter.get(stick));
+        assertEquals(1, counter.size());
+
+        counter.removeZeros();
+        assertTrue(counter.isEmpty());
+    }
+
+    @Test
+    void testRemoveKey() {
+        counter.add(AEItemKey.of(Items.STICK), 1);
+        counter.add(AEItemKey.of(Items.DIAMOND), 1);
+        counter.removeKey(AEItemKey.of(Items.STICK));
+
+        var entries = new HashMap<AEKey, Long>();
+        counter.forEach(entries::put);
+        assertThat(entries).containsOnly(Map.entry(AEItemKey.of(Items.DIAMOND), 1L));
+    }
+
+    private static CompoundTag tag(int value) {
+        var tag = new CompoundTag();
+        tag.putInt("value", value);
+        return tag;
+    }
+}
@@ -0,0 +1,81 @@
+package appeng.me.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class StackWatcherTest {
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+
+    private final InterestManager<StackWatcher<List<KeyCounter>>> interestManager = new InterestManager<>();
+
+    @Test
+    void testInterestsAreNotDuplicated() {
+        var watcher = new StackWatcher<>(interestManager, new ArrayList<KeyCounter>());
+        watcher.add(stick);
+        watcher.add(stick);
+        assertThat(interestManager.get(stick)).containsExactly(watcher);
+
+        watcher.remove(stick);
+        assertThat(interestManager.get(stick)).isEmpty();
+        assertThat(interestManager.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testQueuedChangesAreDeliveredAsOneBatch() {
+        var batches = new ArrayList<KeyCounter>();
+        var watcher = new StackWatcher<>(interestManager, batches);
+        watcher.add(stick);
+        watcher.add(stone);
+
+        assertThat(watcher.queueChange(stick, 5)).isTrue();
+        assertThat(watcher.queueChange(stone, 0)).isFalse();
+        watcher.deliverPendingChanges(StackWatcherTest::record);
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).get(stick)).isEqualTo(5);
+        assertThat(batches.get(0).size()).isEqualTo(2);
+        assertThat(watcher.getDeliveredBatches()).isEqualTo(1);
+        assertThat(watcher.getDeliveredChanges()).isEqualTo(2);
+
+        // Nothing is queued anymore
+        watcher.deliverPendingChanges(StackWatcherTest::record);
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void testDestroyedWatcherReceivesNothing() {
+        var batches = new ArrayList<KeyCounter>();
+        var watcher = new StackWatcher<>(interestManager, batches);
+        watcher.setWatchAll(true);
+        assertThat(watcher.isWatchingAll()).isTrue();
+
+        watcher.destroy();
+        assertThat(watcher.isWatchingAll()).isFalse();
+        assertThat(interestManager.getAllStacksWatchers()).isEmpty();
+
+        var changes = new KeyCounter();
+        changes.set(stick, 1);
+        watcher.deliver(changes, StackWatcherTest::record);
+        assertThat(batches).isEmpty();
+    }
+
+    private static void record(List<KeyCounter> batches, KeyCounter changes) {
+        var copy = new KeyCounter();
+        for (var entry : changes) {
+            copy.set(entry.getKey(), entry.getLongValue());
+        }
+        batches.add(copy);
+    }
+}
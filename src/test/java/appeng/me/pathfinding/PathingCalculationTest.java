@@ -0,0 +1,294 @@
+package appeng.me.pathfinding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridMultiblock;
+import appeng.api.networking.IGridNode;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+/**
+ * Checks that calculating the channels on a {@link PathingGraph} snapshot gives the same result as the original
+ * calculation that worked on the path items of the grid directly.
+ */
+class PathingCalculationTest extends AbstractGridNodeTest {
+    @Test
+    void testDenseCable() {
+        assertSameAsSynchronousCalculation(() -> {
+            var nodes = new ArrayList<GridNode>();
+            var controller = add(nodes, makeControllerNode(BlockPos.ZERO));
+            var denseCable = add(nodes, makeReadyNode(GridFlags.DENSE_CAPACITY, GridFlags.PREFERRED));
+            GridHelper.createConnection(controller, denseCable);
+            for (var i = 0; i < 40; i++) {
+                addDevice(nodes, denseCable);
+            }
+            return nodes;
+        }, 32);
+    }
+
+    @Test
+    void testDenseCableWithNormalCables() {
+        assertSameAsSynchronousCalculation(() -> {
+            var nodes = new ArrayList<GridNode>();
+            var controller = add(nodes, makeControllerNode(BlockPos.ZERO));
+            var denseCable = add(nodes, makeReadyNode(GridFlags.DENSE_CAPACITY, GridFlags.PREFERRED));
+            GridHelper.createConnection(controller, denseCable);
+            for (var i = 0; i < 3; i++) {
+                var cable = add(nodes, makeReadyNode(GridFlags.PREFERRED));
+                GridHelper.createConnection(denseCable, cable);
+                for (var j = 0; j < 10; j++) {
+                    addDevice(nodes, cable);
+                }
+            }
+            return nodes;
+        }, 24);
+    }
+
+    @Test
+    void testCablesOverTheirLimit() {
+        assertSameAsSynchronousCalculation(() -> {
+            var nodes = new ArrayList<GridNode>();
+            var controller = add(nodes, makeControllerNode(BlockPos.ZERO));
+            var cable = add(nodes, makeReadyNode(GridFlags.PREFERRED));
+            GridHelper.createConnection(controller, cable);
+            var branch = add(nodes, makeReadyNode(GridFlags.PREFERRED));
+            GridHelper.createConnection(cable, branch);
+            for (var i = 0; i < 6; i++) {
+                addDevice(nodes, branch);
+                addDevice(nodes, cable);
+            }
+            // A device that is connected to both cables
+            GridHelper.createConnection(nodes.get(nodes.size() - 1), branch);
+            return nodes;
+        }, 8);
+    }
+
+    @Test
+    void testWithoutController() {
+        assertSameAsSynchronousCalculation(() -> {
+            var nodes = new ArrayList<GridNode>();
+            var cable = add(nodes, makeReadyNode(GridFlags.PREFERRED));
+            for (var i = 0; i < 3; i++) {
+                addDevice(nodes, cable);
+            }
+            return nodes;
+        }, 0);
+    }
+
+    /**
+     * Builds the same grid twice, calculates the channels of one grid like the original calculation did, and of the
+     * other one using a snapshot, and compares the results.
+     */
+    private void assertSameAsSynchronousCalculation(Supplier<List<GridNode>> gridFactory, int expectedChannels) {
+        var expectedNodes = gridFactory.get();
+        var expectedGrid = expectedNodes.get(0).getGrid();
+        var expectedCalculation = new SynchronousPathingCalculation(expectedGrid);
+        expectedCalculation.compute();
+        finalizeChannels(expectedNodes);
+
+        var nodes = gridFactory.get();
+        var grid = nodes.get(0).getGrid();
+        var calculation = new PathingCalculation(PathingGraph.create(grid));
+        calculation.compute();
+        calculation.applyChannels();
+        finalizeChannels(nodes);
+
+        assertThat(calculation.getChannelsInUse()).isEqualTo(expectedChannels)
+                .isEqualTo(expectedCalculation.getChannelsInUse());
+        assertThat(calculation.getChannelsByBlocks()).isEqualTo(expectedCalculation.getChannelsByBlocks());
+        assertThat(getChannels(nodes)).isEqualTo(getChannels(expectedNodes));
+    }
+
+    private static GridNode add(List<GridNode> nodes, GridNode node) {
+        nodes.add(node);
+        return node;
+    }
+
+    private GridNode addDevice(List<GridNode> nodes, GridNode parent) {
+        var device = add(nodes, makeReadyNode(GridFlags.REQUIRE_CHANNEL));
+        GridHelper.createConnection(parent, device);
+        return device;
+    }
+
+    private static void finalizeChannels(List<GridNode> nodes) {
+        for (var node : nodes) {
+            node.finalizeChannels();
+            for (var connection : node.getConnections()) {
+                ((GridConnection) connection).finalizeChannels();
+            }
+        }
+    }
+
+    /**
+     * @return The channels used by each node and connection, by the index of the nodes.
+     */
+    private static Map<String, Integer> getChannels(List<GridNode> nodes) {
+        var channels = new TreeMap<String, Integer>();
+        for (var i = 0; i < nodes.size(); i++) {
+            var node = nodes.get(i);
+            channels.put(String.valueOf(i), node.getUsedChannels());
+            for (var connection : node.getConnections()) {
+                var j = nodes.indexOf((GridNode) connection.getOtherSide(node));
+                channels.put(Math.min(i, j) + "-" + Math.max(i, j), connection.getUsedChannels());
+            }
+        }
+        return channels;
+    }
+
+    /**
+     * The calculation as it was before snapshots were introduced: a BFS that sets the routes and channels on the path
+     * items of the grid as it goes.
+     */
+    private static class SynchronousPathingCalculation {
+        private final Set<IPathItem> multiblocksWithChannel = new HashSet<>();
+        @SuppressWarnings("unchecked")
+        private List<IPathItem>[] queues = new List[] {
+                new ArrayList<>(), // 0: dense cable queue
+                new ArrayList<>(), // 1: normal cable queue
+                new ArrayList<>() // 2: non-cable queue
+        };
+        private final Set<IPathItem> visited = new HashSet<>();
+        private int channelsInUse = 0;
+        private int channelsByBlocks = 0;
+
+        SynchronousPathingCalculation(IGrid grid) {
+            // The controllers are mocks, whose class differs from the one getMachineNodes would look for
+            for (var node : grid.getNodes()) {
+                if (!(node.getOwner() instanceof ControllerBlockEntity)) {
+                    continue;
+                }
+                visited.add((IPathItem) node);
+                for (var gcc : node.getConnections()) {
+                    var gc = (GridConnection) gcc;
+                    if (!(gc.getOtherSide(node).getOwner() instanceof ControllerBlockEntity)) {
+                        enqueue(gc, 0);
+                        gc.setControllerRoute((GridNode) node);
+                    }
+                }
+            }
+        }
+
+        private void enqueue(IPathItem pathItem, int queueIndex) {
+            visited.add(pathItem);
+
+            int possibleIndex;
+            if (pathItem instanceof GridConnection) {
+                possibleIndex = 0;
+            } else if (pathItem.hasFlag(GridFlags.DENSE_CAPACITY)) {
+                possibleIndex = 0;
+            } else if (pathItem.hasFlag(GridFlags.PREFERRED)) {
+                possibleIndex = 1;
+            } else {
+                possibleIndex = 2;
+            }
+
+            queues[Math.max(possibleIndex, queueIndex)].add(pathItem);
+        }
+
+        void compute() {
+            while (!isFinished()) {
+                step();
+            }
+        }
+
+        private void step() {
+            for (int i = 0; i < 3; ++i) {
+                if (!queues[i].isEmpty()) {
+                    List<IPathItem> oldOpen = queues[i];
+                    queues[i] = new ArrayList<>();
+                    processQueue(oldOpen, i);
+                    break;
+                }
+            }
+        }
+
+        private void processQueue(List<IPathItem> oldOpen, int queueIndex) {
+            for (IPathItem i : oldOpen) {
+                for (IPathItem pi : i.getPossibleOptions()) {
+                    if (!this.visited.contains(pi)) {
+                        pi.setControllerRoute(i);
+
+                        if (pi.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
+                            if (this.multiblocksWithChannel.contains(pi)) {
+                                pi.incrementChannelCount(1);
+                                this.multiblocksWithChannel.remove(pi);
+                            } else if (tryUseChannel(pi) && pi.hasFlag(GridFlags.MULTIBLOCK)) {
+                                var multiblock = ((IGridNode) pi).getService(IGridMultiblock.class);
+                                if (multiblock != null) {
+                                    var oni = multiblock.getMultiblockNodes();
+                                    while (oni.hasNext()) {
+                                        var otherNode = oni.next();
+                                        if (otherNode != pi) {
+                                            this.multiblocksWithChannel.add((IPathItem) otherNode);
+                                        }
+                                    }
+                                }
+                            }
+                        }
+
+                        enqueue(pi, queueIndex);
+                    }
+                }
+            }
+        }
+
+        private boolean tryUseChannel(IPathItem start) {
+            boolean isCompressed = start.hasFlag(GridFlags.COMPRESSED_CHANNEL);
+
+            IPathItem pi = start;
+            while (pi != null) {
+                if (!pi.canSupportMoreChannels()) {
+                    return false;
+                }
+                if (isCompressed && pi.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED)) {
+                    return false;
+                }
+                pi = pi.getControllerRoute();
+            }
+
+            pi = start;
+            while (pi != null) {
+                channelsByBlocks++;
+                pi.incrementChannelCount(1);
+                pi = pi.getControllerRoute();
+            }
+
+            channelsInUse++;
+            return true;
+        }
+
+        private boolean isFinished() {
+            for (List<IPathItem> queue : queues) {
+                if (!queue.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int getChannelsInUse() {
+            return channelsInUse;
+        }
+
+        int getChannelsByBlocks() {
+            return channelsByBlocks;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGridNodeListener;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.Grid;
+import appeng.me.GridNode;
+
+/**
+ * Tests which changes of a grid are applied to its channels incrementally, and which require a full calculation.
+ */
+class PathingServiceTest extends AbstractGridNodeTest {
+    private GridNode controller;
+    private GridNode cable;
+    private Grid grid;
+    private PathingService pathingService;
+    private final List<GridNode> devices = new ArrayList<>();
+
+    @BeforeEach
+    void setupGrid() {
+        controller = makeControllerNode(BlockPos.ZERO);
+        cable = makeReadyNode(GridFlags.PREFERRED);
+        GridHelper.createConnection(controller, cable);
+        for (var i = 0; i < 4; i++) {
+            devices.add(makeDevice(cable));
+        }
+
+        grid = controller.getInternalGrid();
+        pathingService = (PathingService) grid.getPathingService();
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(4);
+        clearInvocations(listener);
+    }
+
+    @Test
+    void testAddedLeafIsGivenAChannelIncrementally() {
+        var device = makeDevice(cable);
+        runTick(grid);
+
+        assertGridBooted(false);
+        assertThat(pathingService.isRepathing()).isFalse();
+        assertThat(device.getUsedChannels()).isEqualTo(1);
+        assertThat(cable.getUsedChannels()).isEqualTo(5);
+        assertThat(pathingService.getUsedChannels()).isEqualTo(5);
+
+        assertMatchesFullCalculation();
+    }
+
+    @Test
+    void testRemovedLeafReleasesItsChannelIncrementally() {
+        devices.remove(0).destroy();
+        runTick(grid);
+
+        assertGridBooted(false);
+        assertThat(pathingService.isRepathing()).isFalse();
+        assertThat(cable.getUsedChannels()).isEqualTo(3);
+        assertThat(pathingService.getUsedChannels()).isEqualTo(3);
+
+        assertMatchesFullCalculation();
+    }
+
+    @Test
+    void testFullCableKeepsChannelsWhileRecalculating() {
+        for (var i = 0; i < 4; i++) {
+            devices.add(makeDevice(cable));
+        }
+        runTick(grid);
+        assertThat(cable.getUsedChannels()).isEqualTo(8);
+        assertGridBooted(false);
+
+        // The 9th device doesn't fit on the cable, but the channels of all others remain valid
+        var device = makeDevice(cable);
+        runTick(grid);
+
+        assertGridBooted(false);
+        assertThat(device.getUsedChannels()).isZero();
+        assertThat(cable.getUsedChannels()).isEqualTo(8);
+        assertThat(devices).allMatch(GridNode::meetsChannelRequirements);
+
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(8);
+    }
+
+    @Test
+    void testAddedNodeWithSeveralConnectionsBootsTheGrid() {
+        var otherCable = makeReadyNode(GridFlags.PREFERRED);
+        GridHelper.createConnection(cable, otherCable);
+        GridHelper.createConnection(devices.get(0), otherCable);
+        runTick(grid);
+
+        assertGridBooted(true);
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(4);
+    }
+
+    @Test
+    void testAddedNodeBehindAnotherAddedNodeBootsTheGrid() {
+        var otherCable = makeReadyNode(GridFlags.PREFERRED);
+        GridHelper.createConnection(cable, otherCable);
+        makeDevice(otherCable);
+        runTick(grid);
+
+        assertGridBooted(true);
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(5);
+    }
+
+    @Test
+    void testAddedControllerBootsTheGrid() {
+        var otherController = makeControllerNode(BlockPos.ZERO.above());
+        GridHelper.createConnection(controller, otherController);
+        runTick(grid);
+
+        assertGridBooted(true);
+    }
+
+    @Test
+    void testRemovedNonLeafBootsTheGrid() {
+        var otherCable = makeReadyNode(GridFlags.PREFERRED);
+        GridHelper.createConnection(cable, otherCable);
+        makeDevice(otherCable);
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(5);
+        clearInvocations(listener);
+
+        otherCable.destroy();
+        runTick(grid);
+
+        assertGridBooted(true);
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(4);
+    }
+
+    /**
+     * Nodes that are loaded with their chunk bring their channels along, and keep them while the channels of the grid
+     * are recalculated.
+     */
+    @Test
+    void testRestoredNodeKeepsItsChannelWhileRecalculating() {
+        var device = devices.remove(0);
+        var savedData = new CompoundTag();
+        device.saveToNBT("node", savedData);
+        device.destroy();
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(3);
+        clearInvocations(listener);
+
+        var restoredDevice = makeNode(GridFlags.REQUIRE_CHANNEL);
+        restoredDevice.loadFromNBT("node", savedData);
+        restoredDevice.markReady();
+        assertThat(restoredDevice.getInternalGrid()).isSameAs(grid);
+        GridHelper.createConnection(cable, restoredDevice);
+        runTick(grid);
+
+        assertGridBooted(false);
+        assertThat(restoredDevice.meetsChannelRequirements()).isTrue();
+        assertThat(devices).allMatch(GridNode::meetsChannelRequirements);
+
+        runTicksUntilPathingCompletes();
+        assertGridBooted(false);
+        assertThat(restoredDevice.getUsedChannels()).isEqualTo(1);
+        assertThat(pathingService.getUsedChannels()).isEqualTo(4);
+    }
+
+    /**
+     * Leaves that are added while a full calculation runs in the background don't boot the grid.
+     */
+    @Test
+    void testLeafAddedWhileRecalculatingDoesNotBootTheGrid() {
+        var otherCable = makeReadyNode(GridFlags.PREFERRED);
+        GridHelper.createConnection(cable, otherCable);
+        GridHelper.createConnection(devices.get(0), otherCable);
+        runTicksUntilPathingCompletes();
+        clearInvocations(listener);
+
+        // Connecting two nodes of the grid starts a full calculation in the background
+        GridHelper.createConnection(devices.get(1), otherCable);
+        runTick(grid);
+        assertGridBooted(false);
+
+        var device = makeDevice(cable);
+        runTick(grid);
+
+        assertGridBooted(false);
+        assertThat(device.getUsedChannels()).isEqualTo(1);
+        runTicksUntilPathingCompletes();
+        assertThat(pathingService.getUsedChannels()).isEqualTo(5);
+    }
+
+    private void assertGridBooted(boolean booted) {
+        verify(listener, booted ? atLeastOnce() : never()).onStateChanged(any(), any(),
+                eq(IGridNodeListener.State.GRID_BOOT));
+    }
+
+    private GridNode makeDevice(GridNode parent) {
+        var device = makeReadyNode(GridFlags.REQUIRE_CHANNEL);
+        GridHelper.createConnection(parent, device);
+        return device;
+    }
+
+    /**
+     * Recalculates all channels of the grid and checks that nothing changed.
+     */
+    private void assertMatchesFullCalculation() {
+        var channels = new ArrayList<Integer>();
+        for (var node : grid.getNodes()) {
+            channels.add(node.getUsedChannels());
+        }
+        var usedChannels = pathingService.getUsedChannels();
+
+        pathingService.repath();
+        runTicksUntilPathingCompletes();
+
+        var recalculatedChannels = new ArrayList<Integer>();
+        for (var node : grid.getNodes()) {
+            recalculatedChannels.add(node.getUsedChannels());
+        }
+        assertThat(recalculatedChannels).isEqualTo(channels);
+        assertThat(pathingService.getUsedChannels()).isEqualTo(usedChannels);
+    }
+
+    /**
+     * The calculation runs on another thread, so keep ticking until it completes.
+     */
+    private void runTicksUntilPathingCompletes() {
+        var deadline = System.currentTimeMillis() + 10000;
+        do {
+            runTick(grid);
+            if (System.currentTimeMillis() > deadline) {
+                fail("Pathing did not complete");
+            }
+        } while (pathingService.isNetworkBooting() || pathingService.isRepathing());
+    }
+}
@@ -0,0 +1,146 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IStackWatcher;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageWatcherNode;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.api.storage.StorageCells;
+import appeng.core.AEConfig;
+import appeng.core.definitions.AEItems;
+import appeng.me.helpers.BaseActionSource;
+import appeng.me.storage.DelegatingMEInventory;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class StorageServiceTest {
+    private static final IActionSource SRC = new BaseActionSource();
+
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+
+    @Test
+    void testChangesBypassingTheNetworkAreJournaled() {
+        var service = new StorageService();
+        var cell = Objects.requireNonNull(StorageCells.getCellInventory(new ItemStack(AEItems.ITEM_CELL_1K), null));
+        var storage = new CountingStorage(cell);
+        service.addGlobalStorageProvider(mounts -> mounts.mount(storage, 0));
+
+        assertThat(service.getCachedInventory().get(stick)).isZero();
+        assertThat(storage.enumerations).isEqualTo(1);
+
+        cell.insert(stick, 10, Actionable.MODULATE, SRC);
+        service.onServerEndTick();
+        assertThat(service.getCachedInventory().get(stick)).isEqualTo(10);
+
+        cell.extract(stick, 10, Actionable.MODULATE, SRC);
+        service.onServerEndTick();
+        assertThat(service.getCachedInventory().get(stick)).isZero();
+        assertThat(service.getCachedInventory().isEmpty()).isTrue();
+
+        // None of the updates should have re-enumerated the storage
+        assertThat(storage.enumerations).isEqualTo(1);
+    }
+
+    /**
+     * Watching a few keys of a fully tracked network keeps updating the cache from the journal, and only re-enumerates
+     * the storage once per consistency sweep.
+     */
+    @Test
+    void testWatchedKeysOfTrackedStorageAreSweptPeriodically() {
+        var service = new StorageService();
+        var cell = Objects.requireNonNull(StorageCells.getCellInventory(new ItemStack(AEItems.ITEM_CELL_1K), null));
+        var storage = new CountingStorage(cell);
+        service.addGlobalStorageProvider(mounts -> mounts.mount(storage, 0));
+        var watcher = new TestWatcher();
+        var node = mock(IGridNode.class);
+        when(node.getService(IStorageWatcherNode.class)).thenReturn(watcher);
+        service.addNode(node, null);
+        watcher.watcher.add(stick);
+
+        service.onServerEndTick();
+        assertThat(storage.enumerations).isEqualTo(1);
+
+        var sweepInterval = AEConfig.instance().getStorageConsistencySweepInterval();
+        for (var i = 1; i <= sweepInterval; i++) {
+            cell.insert(stick, 1, Actionable.MODULATE, SRC);
+            service.onServerEndTick();
+            assertThat(watcher.amount).isEqualTo(i);
+        }
+        assertThat(storage.enumerations).isEqualTo(2);
+
+        // After the sweep, changes are taken from the journal again
+        cell.insert(stick, 1, Actionable.MODULATE, SRC);
+        service.onServerEndTick();
+        assertThat(watcher.amount).isEqualTo(sweepInterval + 1);
+        assertThat(storage.enumerations).isEqualTo(2);
+    }
+
+    @Test
+    void testUntrackedStorageIsReenumerated() {
+        var service = new StorageService();
+        var content = new KeyCounter();
+        var storage = new MEStorage() {
+            @Override
+            public void getAvailableStacks(KeyCounter out) {
+                out.addAll(content);
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        };
+        service.addGlobalStorageProvider(mounts -> mounts.mount(storage, 0));
+
+        assertThat(service.getCachedInventory().get(stick)).isZero();
+
+        content.add(stick, 5);
+        service.onServerEndTick();
+        assertThat(service.getCachedInventory().get(stick)).isEqualTo(5);
+    }
+
+    private static class TestWatcher implements IStorageWatcherNode {
+        IStackWatcher watcher;
+        long amount;
+
+        @Override
+        public void updateWatcher(IStackWatcher newWatcher) {
+            this.watcher = newWatcher;
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long amount) {
+            this.amount = amount;
+        }
+    }
+
+    private static class CountingStorage extends DelegatingMEInventory {
+        int enumerations;
+
+        CountingStorage(MEStorage delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            enumerations++;
+            super.getAvailableStacks(out);
+        }
+    }
+}
@@ -146,4 +146,132 @@ public boolean isBusy() {
             assertThat(craftingProviders.getCraftingFor(andesite)).hasSize(TEST_COUNT - i - 1);
         }
     }
+
+    @Test
+    void testSnapshot() {
+        var craftingProviders = new NetworkCraftingProviders();
+        var andesite = AEItemKey.of(Items.ANDESITE);
+        var pattern = new ProcessingPatternBuilder(new GenericStack(andesite, 1)).build();
+        var diamond = AEItemKey.of(Items.DIAMOND);
+        var testProvider = new ICraftingProvider() {
+            @Override
+            public List<IPatternDetails> getAvailablePatterns() {
+                return List.of(pattern);
+            }
+
+            @Override
+            public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder) {
+                return false;
+            }
+
+            @Override
+            public boolean isBusy() {
+                return true;
+            }
+
+            @Override
+            public Set<AEKey> getEmitableItems() {
+                return Set.of(diamond);
+            }
+        };
+        var testNode = mock(IGridNode.class);
+        when(testNode.getService(ICraftingProvider.class)).thenReturn(testProvider);
+
+        var emptySnapshot = craftingProviders.getSnapshot();
+        assertThat(emptySnapshot.getCraftingFor(andesite)).isEmpty();
+        assertThat(emptySnapshot.canEmitFor(diamond)).isFalse();
+
+        craftingProviders.addProvider(testNode);
+
+        // The snapshot is shared until the providers change
+        var snapshot = craftingProviders.getSnapshot();
+        assertThat(snapshot).isNotSameAs(emptySnapshot);
+        assertThat(craftingProviders.getSnapshot()).isSameAs(snapshot);
+        assertThat(snapshot.getCraftingFor(andesite)).containsExactly(pattern);
+        assertThat(snapshot.getFuzzyCraftable(andesite, k -> true)).isEqualTo(andesite);
+        assertThat(snapshot.canEmitFor(diamond)).isTrue();
+
+        craftingProviders.removeProvider(testNode);
+
+        // Snapshots handed out earlier are not affected by the removal
+        assertThat(snapshot.getCraftingFor(andesite)).containsExactly(pattern);
+        assertThat(craftingProviders.getSnapshot().getCraftingFor(andesite)).isEmpty();
+        assertThat(craftingProviders.getSnapshot().canEmitFor(diamond)).isFalse();
+    }
+
+    @Test
+    void testBusyProvidersAreSkipped() {
+        var craftingProviders = new NetworkCraftingProviders();
+        var andesite = AEItemKey.of(Items.ANDESITE);
+        var pattern = new ProcessingPatternBuilder(new GenericStack(andesite, 1)).build();
+        var first = new TestProvider(pattern);
+        var second = new TestProvider(pattern);
+        var firstNode = first.createNode();
+        var secondNode = second.createNode();
+        craftingProviders.addProvider(firstNode);
+        craftingProviders.addProvider(secondNode);
+
+        // Round-robin over all ready providers
+        assertThat(craftingProviders.getMediums(pattern)).containsExactly(first, second);
+        craftingProviders.getMediums(pattern).iterator().next();
+        assertThat(craftingProviders.getMediums(pattern)).containsExactly(second, first);
+
+        first.busy = true;
+        craftingProviders.refreshBusyState(firstNode);
+        assertThat(craftingProviders.getMediums(pattern)).containsExactly(second);
+        assertThat(craftingProviders.recordSaturatedLookup(pattern)).isFalse();
+
+        second.busy = true;
+        craftingProviders.refreshBusyState(secondNode);
+        assertThat(craftingProviders.getMediums(pattern).iterator().hasNext()).isFalse();
+        assertThat(craftingProviders.hasMediums(pattern)).isTrue();
+        assertThat(craftingProviders.getSaturatedPatterns()).isEmpty();
+
+        // Only the lookups recorded by crafting CPUs are counted, not every iteration over the providers
+        assertThat(craftingProviders.recordSaturatedLookup(pattern)).isTrue();
+        craftingProviders.getMediums(pattern).iterator();
+        assertThat(craftingProviders.getSaturation(pattern))
+                .isEqualTo(new NetworkCraftingProviders.ProviderSaturation(2, 2, 1));
+        assertThat(craftingProviders.getSaturatedPatterns())
+                .containsOnlyKeys(pattern);
+
+        first.busy = false;
+        craftingProviders.refreshBusyState(firstNode);
+        assertThat(craftingProviders.getMediums(pattern)).containsExactly(first);
+
+        // Removing a busy provider forgets about it
+        craftingProviders.removeProvider(secondNode);
+        assertThat(craftingProviders.getSaturation(pattern))
+                .isEqualTo(new NetworkCraftingProviders.ProviderSaturation(1, 0, 1));
+    }
+
+    private static class TestProvider implements ICraftingProvider {
+        private final IPatternDetails pattern;
+        private boolean busy;
+
+        private TestProvider(IPatternDetails pattern) {
+            this.pattern = pattern;
+        }
+
+        private IGridNode createNode() {
+            var node = mock(IGridNode.class);
+            when(node.getService(ICraftingProvider.class)).thenReturn(this);
+            return node;
+        }
+
+        @Override
+        public List<IPatternDetails> getAvailablePatterns() {
+            return List.of(pattern);
+        }
+
+        @Override
+        public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder) {
+            return false;
+        }
+
+        @Override
+        public boolean isBusy() {
+            return busy;
+        }
+    }
 }
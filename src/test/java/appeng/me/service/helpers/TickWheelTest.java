@@ -0,0 +1,95 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+
+class TickWheelTest {
+    private final TickWheel wheel = new TickWheel(0);
+
+    @Test
+    void testTrackersAreDueAtTheirNextTick() {
+        var tt = createTracker(5, 0);
+        wheel.schedule(tt);
+
+        for (int tick = 0; tick < 5; tick++) {
+            assertThat(collect(tick)).isEmpty();
+        }
+        wheel.collectDue(5);
+        assertThat(wheel.readySize()).isEqualTo(1);
+        assertThat(wheel.pollDue()).isSameAs(tt);
+        assertThat(wheel.readySize()).isZero();
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testTrackersBeyondTheWheelWaitForTheirRound() {
+        var tt = createTracker(1000, 0);
+        wheel.schedule(tt);
+
+        for (int tick = 0; tick < 1000; tick++) {
+            assertThat(collect(tick)).isEmpty();
+        }
+        assertThat(collect(1000)).containsExactly(tt);
+    }
+
+    @Test
+    void testSkippedTicksAreCollected() {
+        var early = createTracker(3, 0);
+        var late = createTracker(300, 0);
+        wheel.schedule(early);
+        wheel.schedule(late);
+
+        assertThat(collect(10)).containsExactly(early);
+        assertThat(collect(500)).containsExactly(late);
+    }
+
+    @Test
+    void testOverdueTrackersAreReadyRightAway() {
+        assertThat(collect(10)).isEmpty();
+
+        var tt = createTracker(5, 0);
+        wheel.schedule(tt);
+        assertThat(wheel.pollDue()).isSameAs(tt);
+    }
+
+    @Test
+    void testRescheduleAndRemove() {
+        var tt = createTracker(5, 0);
+        var other = createTracker(5, 0);
+        wheel.schedule(tt);
+        wheel.schedule(other);
+
+        tt.setCurrentRate(10);
+        wheel.schedule(tt);
+        wheel.remove(other);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.contains(other)).isFalse();
+
+        assertThat(collect(5)).isEmpty();
+        assertThat(collect(10)).containsExactly(tt);
+    }
+
+    private List<TickTracker> collect(long tick) {
+        wheel.collectDue(tick);
+        var result = new ArrayList<TickTracker>();
+        TickTracker tt;
+        while ((tt = wheel.pollDue()) != null) {
+            result.add(tt);
+        }
+        return result;
+    }
+
+    private static TickTracker createTracker(int rate, long currentTick) {
+        var request = new TickingRequest(1, 1000, false, true, rate);
+        return new TickTracker(request, mock(IGridNode.class), mock(IGridTickable.class), currentTick);
+    }
+}
@@ -0,0 +1,43 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.ticking.TickRateModulation;
+
+class CompositeStorageTest {
+    private final CompositeStorage storage = new CompositeStorage(Map.of());
+
+    @Test
+    void testRareChangesSpeedUpGradually() {
+        assertThat(storage.onScanned(true)).isEqualTo(TickRateModulation.FASTER);
+    }
+
+    @Test
+    void testFrequentChangesPollAtFastestRate() {
+        storage.onScanned(true);
+        assertThat(storage.onScanned(true)).isEqualTo(TickRateModulation.URGENT);
+    }
+
+    @Test
+    void testBacksOffWhenChangesStop() {
+        for (int i = 0; i < 4; i++) {
+            storage.onScanned(true);
+        }
+
+        assertThat(storage.onScanned(false)).isEqualTo(TickRateModulation.SLOWER);
+        var ticksUntilIdle = 1;
+        while (storage.onScanned(false) != TickRateModulation.IDLE) {
+            ticksUntilIdle++;
+            assertThat(ticksUntilIdle).isLessThan(20);
+        }
+    }
+
+    @Test
+    void testUnchangedStorageIdles() {
+        assertThat(storage.onTick()).isEqualTo(TickRateModulation.IDLE);
+    }
+}
@@ -0,0 +1,62 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.neoforged.neoforge.items.ItemStackHandler;
+
+import appeng.api.config.Actionable;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.me.helpers.BaseActionSource;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ExternalStorageFacadeTest {
+    private final ItemStackHandler handler = new ItemStackHandler(100);
+    private final ExternalStorageFacade facade = ExternalStorageFacade.of(handler);
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey diamond = AEItemKey.of(Items.DIAMOND);
+
+    @Test
+    void testIndexedInsertTopsUpExistingSlotsFirst() {
+        handler.setStackInSlot(50, new ItemStack(Items.STICK, 10));
+        facade.setSlotIndexed(true);
+        facade.getAvailableStacks(new KeyCounter());
+
+        assertThat(facade.insert(stick, 20, Actionable.MODULATE, new BaseActionSource())).isEqualTo(20);
+        assertThat(handler.getStackInSlot(50).getCount()).isEqualTo(30);
+    }
+
+    @Test
+    void testIndexedExtractFallsBackWhenIndexIsOutdated() {
+        handler.setStackInSlot(10, new ItemStack(Items.STICK, 10));
+        facade.setSlotIndexed(true);
+        facade.getAvailableStacks(new KeyCounter());
+
+        // Change the inventory behind the index's back
+        handler.setStackInSlot(10, new ItemStack(Items.DIAMOND, 5));
+        handler.setStackInSlot(90, new ItemStack(Items.STICK, 10));
+
+        assertThat(facade.extract(stick, 15, Actionable.SIMULATE, new BaseActionSource())).isEqualTo(10);
+        assertThat(facade.extract(stick, 15, Actionable.MODULATE, new BaseActionSource())).isEqualTo(10);
+        assertThat(facade.extract(diamond, 5, Actionable.MODULATE, new BaseActionSource())).isEqualTo(5);
+        assertThat(handler.getStackInSlot(10).isEmpty()).isTrue();
+        assertThat(handler.getStackInSlot(90).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testIndexedSimulationDoesNotCountSlotsTwice() {
+        for (int i = 0; i < 99; i++) {
+            handler.setStackInSlot(i, new ItemStack(Items.DIAMOND, 64));
+        }
+        handler.setStackInSlot(99, new ItemStack(Items.STICK, 60));
+        facade.setSlotIndexed(true);
+        facade.getAvailableStacks(new KeyCounter());
+
+        assertThat(facade.insert(stick, 64, Actionable.SIMULATE, new BaseActionSource())).isEqualTo(4);
+    }
+}
@@ -0,0 +1,202 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.api.storage.StorageCells;
+import appeng.core.definitions.AEItems;
+import appeng.me.helpers.BaseActionSource;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class NetworkStorageTest {
+    private static final IActionSource SRC = new BaseActionSource();
+
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+
+    @Test
+    void testExtractOnlyVisitsHolders() {
+        var storage = new NetworkStorage();
+        var empty = new CountingStorage(createCell());
+        var holder = new CountingStorage(createCell());
+        holder.insert(stick, 10, Actionable.MODULATE, SRC);
+        storage.mount(0, empty);
+        storage.mount(0, holder);
+
+        assertThat(storage.extract(stick, 4, Actionable.MODULATE, SRC)).isEqualTo(4);
+        assertThat(holder.extractCalls).isEqualTo(1);
+        assertThat(empty.extractCalls).isZero();
+
+        // Nobody holds stone, so nobody should be asked for it
+        assertThat(storage.extract(stone, 4, Actionable.MODULATE, SRC)).isZero();
+        assertThat(holder.extractCalls).isEqualTo(1);
+        assertThat(empty.extractCalls).isZero();
+    }
+
+    @Test
+    void testExtractRespectsPriorityOrder() {
+        var storage = new NetworkStorage();
+        var lowPriority = createCell();
+        var highPriority = createCell();
+        lowPriority.insert(stick, 5, Actionable.MODULATE, SRC);
+        highPriority.insert(stick, 5, Actionable.MODULATE, SRC);
+        storage.mount(10, highPriority);
+        storage.mount(0, lowPriority);
+
+        // Extraction drains the lowest priority storage first
+        assertThat(storage.extract(stick, 6, Actionable.MODULATE, SRC)).isEqualTo(6);
+        assertThat(lowPriority.getAvailableStacks().get(stick)).isZero();
+        assertThat(highPriority.getAvailableStacks().get(stick)).isEqualTo(4);
+    }
+
+    @Test
+    void testUntrackedStorageIsStillVisited() {
+        var storage = new NetworkStorage();
+        storage.mount(0, createCell());
+        var untracked = new MEStorage() {
+            @Override
+            public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+                return what == stick ? amount : 0;
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        };
+        storage.mount(0, untracked);
+
+        assertThat(storage.isFullyTracked()).isFalse();
+        assertThat(storage.extract(stick, 3, Actionable.MODULATE, SRC)).isEqualTo(3);
+    }
+
+    @Test
+    void testHoldersUpdateWhenCellIsModifiedDirectly() {
+        var storage = new NetworkStorage();
+        var cell = createCell();
+        storage.mount(0, cell);
+        assertThat(storage.extract(stick, 1, Actionable.SIMULATE, SRC)).isZero();
+
+        cell.insert(stick, 2, Actionable.MODULATE, SRC);
+        assertThat(storage.extract(stick, 5, Actionable.MODULATE, SRC)).isEqualTo(2);
+    }
+
+    @Test
+    void testParallelEnumeration() {
+        var storage = new NetworkStorage();
+        // More cells than the default threshold
+        for (var i = 0; i < 40; i++) {
+            var cell = createCell();
+            cell.insert(stick, i + 1, Actionable.MODULATE, SRC);
+            storage.mount(i % 3, cell);
+        }
+        var untracked = new MEStorage() {
+            @Override
+            public void getAvailableStacks(KeyCounter out) {
+                out.add(stone, 5);
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        };
+        storage.mount(0, untracked);
+
+        var stacks = storage.getAvailableStacks();
+        assertThat(stacks.get(stick)).isEqualTo(820);
+        assertThat(stacks.get(stone)).isEqualTo(5);
+    }
+
+    @Test
+    void testLookUpAmountUsesListedAmountsOfExternalStorage() {
+        var storage = new NetworkStorage();
+        var cell = createCell();
+        cell.insert(stick, 10, Actionable.MODULATE, SRC);
+        storage.mount(0, cell);
+        var external = new MEStorage() {
+            private long sticks = 7;
+
+            @Override
+            public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+                throw new AssertionError("External storage should not be asked to extract");
+            }
+
+            @Override
+            public void getAvailableStacks(KeyCounter out) {
+                out.add(stick, sticks);
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        };
+        var composite = new CompositeStorage(Map.of(AEKeyType.items(), external));
+        storage.mount(0, new MEInventoryHandler(composite));
+
+        assertThat(storage.lookUpAmount(stick)).isEqualTo(17);
+        assertThat(storage.lookUpAmount(stone)).isZero();
+
+        // Changes of the external storage are only seen once its cache is updated, like when listing it
+        external.sticks = 3;
+        assertThat(storage.lookUpAmount(stick)).isEqualTo(17);
+        composite.onTick();
+        assertThat(storage.lookUpAmount(stick)).isEqualTo(13);
+        assertThat(storage.getAvailableStacks().get(stick)).isEqualTo(13);
+    }
+
+    @Test
+    void testLookUpAmountFailsForUntrackedStorage() {
+        var storage = new NetworkStorage();
+        storage.mount(0, createCell());
+        var untracked = new MEStorage() {
+            @Override
+            public void getAvailableStacks(KeyCounter out) {
+                out.add(stick, 5);
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        };
+        storage.mount(0, untracked);
+
+        assertThat(storage.lookUpAmount(stick)).isEqualTo(-1);
+    }
+
+    private static MEStorage createCell() {
+        return Objects.requireNonNull(StorageCells.getCellInventory(new ItemStack(AEItems.ITEM_CELL_1K), null));
+    }
+
+    private static class CountingStorage extends DelegatingMEInventory {
+        int extractCalls;
+
+        CountingStorage(MEStorage delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            extractCalls++;
+            return super.extract(what, amount, mode, source);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package appeng.menu.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ViewportUpdateFilterTest {
+    private final IncrementalUpdateHelper updateHelper = new IncrementalUpdateHelper();
+    private final ViewportUpdateFilter filter = new ViewportUpdateFilter();
+    private final KeyCounter stacks = new KeyCounter();
+    private final AEKey stick = AEItemKey.of(Items.STICK);
+    private final AEKey diamond = AEItemKey.of(Items.DIAMOND);
+    private final AEKey dirt = AEItemKey.of(Items.DIRT);
+
+    @Test
+    void testFullUpdateIsSentInPages() {
+        stacks.add(stick, 1);
+        stacks.add(diamond, 1);
+        stacks.add(dirt, 1);
+        stacks.keySet().forEach(updateHelper::addChange);
+
+        filter.apply(updateHelper, stacks, Set.of(), 2, 0, 0);
+        assertThat(updateHelper.isFullUpdate()).isTrue();
+        assertThat(updateHelper).hasSize(2);
+        sendChanges();
+
+        filter.apply(updateHelper, stacks, Set.of(), 2, 0, 1);
+        assertThat(updateHelper.isFullUpdate()).isFalse();
+        assertThat(updateHelper).hasSize(1);
+        sendChanges();
+
+        assertThat(stacks.keySet()).allMatch(key -> updateHelper.getSerial(key) != null);
+    }
+
+    @Test
+    void testOffscreenChangesAreHeldBack() {
+        stacks.add(stick, 1);
+        stacks.add(diamond, 1);
+        stacks.keySet().forEach(updateHelper::addChange);
+        filter.apply(updateHelper, stacks, Set.of(), 0, 10, 0);
+        sendChanges();
+
+        var viewport = new LongOpenHashSet();
+        viewport.add(updateHelper.getSerial(stick).longValue());
+        filter.setViewport(viewport);
+
+        // The change to the off-screen diamond is held back, but new entries are always sent
+        stacks.add(stick, 1);
+        stacks.add(diamond, 1);
+        stacks.add(dirt, 1);
+        updateHelper.addChange(stick);
+        updateHelper.addChange(diamond);
+        updateHelper.addChange(dirt);
+        filter.apply(updateHelper, stacks, Set.of(), 0, 10, 1);
+        assertThat(updateHelper).containsExactlyInAnyOrder(stick, dirt);
+        sendChanges();
+
+        // Once the diamond scrolls into view, its change is sent
+        viewport.add(updateHelper.getSerial(diamond).longValue());
+        filter.apply(updateHelper, stacks, Set.of(), 0, 10, 2);
+        assertThat(updateHelper).containsExactly(diamond);
+        sendChanges();
+
+        // Changes to entries that stay off-screen are sent after the interval
+        viewport.clear();
+        updateHelper.addChange(stick);
+        filter.apply(updateHelper, stacks, Set.of(), 0, 10, 3);
+        assertThat(updateHelper).isEmpty();
+        filter.apply(updateHelper, stacks, Set.of(), 0, 10, 12);
+        assertThat(updateHelper).containsExactly(stick);
+    }
+
+    private void sendChanges() {
+        for (var key : updateHelper) {
+            updateHelper.getOrAssignSerial(key);
+        }
+        updateHelper.commitChanges();
+    }
+}